@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Builds the application and the benchmarks, then runs JMH with allocation profiling.
+#
+#   benchmarks/run.sh                      # every benchmark, -prof gc
+#   benchmarks/run.sh PasswordUtil -f 1    # JMH arguments are passed through
+#
+# Results are written to benchmarks/results/<commit>.json so runs on different commits
+# can be compared, e.g. with https://jmh.morethan.io.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+mvn -B -q -DskipTests install
+mvn -B -q -f benchmarks/pom.xml clean package
+
+commit=$(git rev-parse --short HEAD 2>/dev/null || echo local)
+if [ -n "$(git status --porcelain 2>/dev/null)" ]; then
+  commit="${commit}-dirty"
+fi
+mkdir -p benchmarks/results
+
+java -jar benchmarks/target/benchmarks.jar -prof gc -rf json -rff "benchmarks/results/${commit}.json" "$@"
@@ -0,0 +1,74 @@
+package com.petadoption.bench;
+
+import com.petadoption.exception.ValidationException;
+import com.petadoption.util.InputValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InputValidator} on valid and invalid input. Invalid input throws, so the
+ * "invalid" case shows what exception construction costs on bad form posts and imports.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InputValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private String email;
+    private String number;
+    private String password;
+
+    @Setup
+    public void setUp() {
+        boolean valid = "valid".equals(input);
+        email = valid ? "jane.doe@example.org" : "jane.doe-example.org";
+        number = valid ? "42" : "forty-two";
+        password = valid ? "correct horse" : "short";
+    }
+
+    @Benchmark
+    public boolean requireEmail() {
+        try {
+            InputValidator.requireEmail(email);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public int parsePositiveInt() {
+        try {
+            return InputValidator.parsePositiveInt(number, "Age", 0);
+        } catch (ValidationException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public boolean requireMinLength() {
+        try {
+            InputValidator.requireMinLength(password, "Password", 6);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.petadoption.bench;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * DataSource whose statements ignore their SQL and binds and always return the same
+ * {@link MockResultSet}, rewound. Connection and statement are dynamic proxies; their
+ * per-call overhead is the same for every benchmark parameter, so comparisons between
+ * parameters and between commits remain meaningful.
+ */
+public final class MockDataSource implements DataSource {
+
+    private final Connection connection;
+
+    public MockDataSource(MockResultSet resultSet) {
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                MockDataSource.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeQuery":
+                            return resultSet.reset();
+                        case "executeUpdate":
+                            return 1;
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+        this.connection = (Connection) Proxy.newProxyInstance(
+                MockDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> method.getName().startsWith("prepareStatement")
+                        ? statement : defaultValue(method.getReturnType()));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return connection;
+    }
+
+    @Override public PrintWriter getLogWriter() { return null; }
+    @Override public void setLogWriter(PrintWriter out) { }
+    @Override public void setLoginTimeout(int seconds) { }
+    @Override public int getLoginTimeout() { return 0; }
+    @Override public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+    @Override public <T> T unwrap(Class<T> iface) { return null; }
+    @Override public boolean isWrapperFor(Class<?> iface) { return false; }
+}
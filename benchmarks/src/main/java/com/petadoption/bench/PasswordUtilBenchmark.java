@@ -0,0 +1,48 @@
+package com.petadoption.bench;
+
+import com.petadoption.util.PasswordUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link PasswordUtil}: digest plus hex encoding, on the login and registration paths. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PasswordUtilBenchmark {
+
+    @Param({"8", "32"})
+    public int length;
+
+    private String password;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        password = "p@ssw0rd-0123456789abcdefghijklmnopqrstuvwxyz".substring(0, length);
+        hash = PasswordUtil.hashPassword(password);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtil.hashPassword(password);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return PasswordUtil.matches(password, hash);
+    }
+}
@@ -0,0 +1,50 @@
+package com.petadoption.bench;
+
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/** Realistic {@code pets} rows for the mock JDBC objects. */
+public final class PetRows {
+
+    public static final String[] COLUMNS = {
+            "id", "name", "type", "breed", "age_years", "description", "image_path", "image_thumb_path",
+            "image_medium_path", "status", "created_at", "updated_at"
+    };
+
+    private static final String[] NAMES = {"Bella", "Max", "Luna", "Charlie", "Daisy", "Rocky", "Milo", "Coco"};
+    private static final String[] BREEDS = {"Labrador Retriever", "Siamese", "Beagle", null, "Maine Coon", "Poodle"};
+
+    private PetRows() {
+    }
+
+    /** {@code count} rows; {@code type} fixes the pet type, or {@code null} to cycle through all. */
+    public static Object[][] rows(int count, PetType type) {
+        PetType[] types = PetType.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[]{
+                    (long) (1000 + i),
+                    NAMES[i % NAMES.length],
+                    (type != null ? type : types[i % types.length]).name(),
+                    BREEDS[i % BREEDS.length],
+                    i % 15,
+                    "Friendly and house-trained. Loves walks, naps in the sun and meeting new people.",
+                    i % 3 == 0 ? null : "3f1c9a2e-" + i + ".jpg",
+                    i % 3 == 0 ? null : "3f1c9a2e-" + i + "-thumb.jpg",
+                    i % 3 == 0 ? null : "3f1c9a2e-" + i + "-medium.jpg",
+                    PetStatus.AVAILABLE.name(),
+                    Timestamp.valueOf(base.minusHours(i)),
+                    Timestamp.valueOf(base.minusHours(i).plusMinutes(i % 60))
+            };
+        }
+        return rows;
+    }
+
+    public static MockResultSet resultSet(int count, PetType type) {
+        return new MockResultSet(COLUMNS, rows(count, type));
+    }
+}
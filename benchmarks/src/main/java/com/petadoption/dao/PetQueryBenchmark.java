@@ -0,0 +1,69 @@
+package com.petadoption.dao;
+
+import com.petadoption.bench.MockDataSource;
+import com.petadoption.bench.PetRows;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Client-side cost of {@link JdbcPetDAO#findPageFiltered}: SQL building for each filter
+ * combination, parameter binding, row mapping and metrics, against a mock DataSource
+ * that returns one page of rows without touching a database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PetQueryBenchmark {
+
+    @Param({"none", "type", "type+age", "breed", "name", "all"})
+    public String filters;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private JdbcPetDAO dao;
+    private PetType type;
+    private Integer ageMin;
+    private Integer ageMax;
+    private String breed;
+    private String name;
+
+    @Setup
+    public void setUp() {
+        // The DAO logs each query at INFO; keep the console quiet but still pay for building the message.
+        Logger.getLogger("com.petadoption").setLevel(Level.WARNING);
+        dao = new JdbcPetDAO(new MockDataSource(PetRows.resultSet(pageSize, null)));
+
+        boolean all = "all".equals(filters);
+        type = all || filters.startsWith("type") ? PetType.DOG : null;
+        ageMin = all || "type+age".equals(filters) ? 1 : null;
+        ageMax = all || "type+age".equals(filters) ? 8 : null;
+        breed = all || "breed".equals(filters) ? "retriever" : null;
+        name = all || "name".equals(filters) ? "bella" : null;
+    }
+
+    @Benchmark
+    public List<Pet> findPageFiltered() {
+        return dao.findPageFiltered(PetStatus.AVAILABLE, type, ageMin, ageMax, breed, name, 0, pageSize);
+    }
+}
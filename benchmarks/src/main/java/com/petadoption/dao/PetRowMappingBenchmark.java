@@ -0,0 +1,57 @@
+package com.petadoption.dao;
+
+import com.petadoption.bench.MockDataSource;
+import com.petadoption.bench.MockResultSet;
+import com.petadoption.bench.PetRows;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/** {@link JdbcPetDAO#mapRowToPet} over one page of in-memory rows. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PetRowMappingBenchmark {
+
+    /** DOG and CAT map to their own classes; OTHER goes through the anonymous subclass. */
+    @Param({"DOG", "CAT", "OTHER", "MIXED"})
+    public String type;
+
+    @Param({"20"})
+    public int rows;
+
+    private JdbcPetDAO dao;
+    private MockResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        resultSet = PetRows.resultSet(rows, "MIXED".equals(type) ? null : PetType.valueOf(type));
+        dao = new JdbcPetDAO(new MockDataSource(resultSet));
+    }
+
+    @Benchmark
+    public void mapPage(Blackhole bh) throws SQLException {
+        resultSet.reset();
+        while (resultSet.next()) {
+            Pet pet = dao.mapRowToPet(resultSet);
+            bh.consume(pet);
+        }
+    }
+}
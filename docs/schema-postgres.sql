@@ -2,6 +2,9 @@
 CREATE DATABASE pet_adoption;
 \c pet_adoption;
 
+-- Trigram indexes back the substring (ILIKE '%x%') filters on name and breed.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 CREATE TABLE users (
   id            BIGSERIAL PRIMARY KEY,
   email         VARCHAR(255) NOT NULL UNIQUE,
@@ -19,10 +22,27 @@ CREATE TABLE pets (
   age_years    INT,
   description  TEXT,
   image_path   VARCHAR(512),
+  image_thumb_path  VARCHAR(512),
+  image_medium_path VARCHAR(512),
   status       VARCHAR(20) NOT NULL,
-  created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+  created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  search_vector tsvector GENERATED ALWAYS AS (
+      setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+      setweight(to_tsvector('english', coalesce(breed, '')), 'B') ||
+      setweight(to_tsvector('english', coalesce(description, '')), 'C')
+  ) STORED
 );
 
+-- Keyset pagination on /pets seeks on (created_at, id) within a status.
+CREATE INDEX idx_pets_status_created_id ON pets (status, created_at DESC, id DESC);
+
+-- Search on /pets: full-text match and ranking over name/breed/description,
+-- plus trigram matching for partial names and breeds.
+CREATE INDEX idx_pets_search_vector ON pets USING GIN (search_vector);
+CREATE INDEX idx_pets_name_trgm ON pets USING GIN (name gin_trgm_ops);
+CREATE INDEX idx_pets_breed_trgm ON pets USING GIN (breed gin_trgm_ops);
+
 CREATE TABLE adoption_requests (
   id            BIGSERIAL PRIMARY KEY,
   pet_id        BIGINT NOT NULL REFERENCES pets(id) ON DELETE CASCADE,
@@ -32,3 +52,57 @@ CREATE TABLE adoption_requests (
   requested_at  TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   processed_at  TIMESTAMP NULL
 );
+
+-- Admin dashboard: pending requests, newest first.
+CREATE INDEX idx_adoption_requests_status_requested ON adoption_requests (status, requested_at DESC);
+
+-- Other pending requests for a pet (auto-reject on approval, releasing a pet on rejection).
+CREATE INDEX idx_adoption_requests_pet_status ON adoption_requests (pet_id, status);
+
+-- Added by migration V2 (src/main/resources/db/migration), which the application applies
+-- on startup together with the rest of this schema.
+CREATE INDEX idx_pets_available_type_created_id ON pets (type, created_at DESC, id DESC) WHERE status = 'AVAILABLE';
+CREATE INDEX idx_pets_created_id ON pets (created_at, id);
+CREATE INDEX idx_adoption_requests_adopter ON adoption_requests (adopter_id);
+
+-- Added by migration V4: how many pets use each stored image, kept by a trigger on
+-- pets.image_path. ImageSweeper deletes files whose count has been zero for a grace period
+-- and marks their rows deleted_at (V8), so a later reference fails instead of dangling.
+CREATE TABLE image_refs (
+  image_path         VARCHAR(512) PRIMARY KEY,
+  ref_count          INT NOT NULL,
+  unreferenced_since TIMESTAMP,
+  deleted_at         TIMESTAMP
+);
+CREATE INDEX idx_image_refs_unreferenced ON image_refs (unreferenced_since) WHERE ref_count = 0;
+
+CREATE FUNCTION pets_image_refs() RETURNS trigger AS $$
+DECLARE
+  deleted TIMESTAMP;
+BEGIN
+  IF TG_OP = 'UPDATE' AND OLD.image_path IS NOT DISTINCT FROM NEW.image_path THEN
+    RETURN NULL;
+  END IF;
+  IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.image_path IS NOT NULL THEN
+    UPDATE image_refs
+       SET ref_count = ref_count - 1,
+           unreferenced_since = CASE WHEN ref_count = 1 THEN now()::timestamp END
+     WHERE image_path = OLD.image_path;
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.image_path IS NOT NULL THEN
+    INSERT INTO image_refs (image_path, ref_count) VALUES (NEW.image_path, 1)
+    ON CONFLICT (image_path) DO UPDATE
+      SET ref_count = image_refs.ref_count + 1, unreferenced_since = NULL
+    RETURNING deleted_at INTO deleted;
+    IF deleted IS NOT NULL THEN
+      RAISE EXCEPTION 'Image % was deleted at %; upload it again', NEW.image_path, deleted
+        USING ERRCODE = 'foreign_key_violation';
+    END IF;
+  END IF;
+  RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER pets_image_refs
+  AFTER INSERT OR DELETE OR UPDATE OF image_path ON pets
+  FOR EACH ROW EXECUTE FUNCTION pets_image_refs();
@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Builds the tooling and generates a synthetic dataset into the configured database.
+#
+#   loadtest/datagen.sh --truncate                          # 2M pets, 200k users, 1M requests
+#   loadtest/datagen.sh --pets=100000 --out=/tmp/dataset    # CSV files only, no database
+#   JAVA_OPTS="-Dpetadoption.db.url=jdbc:postgresql://db:5432/pet_adoption -Dpetadoption.db.password=secret" \
+#     loadtest/datagen.sh --truncate --images=/path/to/webapp/uploads/pets
+#
+# Options are described in DataGenerator.java. The same options and --seed reproduce the
+# same data.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+mvn -B -q -o -DskipTests install 2>/dev/null || mvn -B -q -DskipTests install
+mvn -B -q -o -f loadtest/pom.xml clean package 2>/dev/null || mvn -B -q -f loadtest/pom.xml clean package
+
+exec java ${JAVA_OPTS:-} -cp loadtest/target/loadtest.jar com.petadoption.loadtest.datagen.DataGenerator "$@"
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Builds the application and the load-test harness, then runs it against the WAR in
+# embedded Tomcat. Works offline once the Maven dependencies are in the local repository.
+#
+#   loadtest/run.sh                                   # in-memory DAOs, default mix
+#   loadtest/run.sh --clients=128 --duration=60
+#   JAVA_OPTS="-Dpetadoption.db.url=jdbc:postgresql://localhost:5432/pet_adoption" \
+#     loadtest/run.sh --dao=jdbc --pet-ids=1-5000      # local PostgreSQL
+#
+# Options are described in LoadTest.java. JAVA_OPTS is passed to the JVM that hosts both
+# Tomcat and the clients; pin them to separate CPUs with taskset for cleaner numbers.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+mvn -B -q -o -DskipTests install 2>/dev/null || mvn -B -q -DskipTests install
+# clean: the shaded jar replaces the module jar, and re-shading a stale one keeps the
+# application classes from the previous build.
+mvn -B -q -o -f loadtest/pom.xml clean package 2>/dev/null || mvn -B -q -f loadtest/pom.xml clean package
+
+exec java ${JAVA_OPTS:-} -jar loadtest/target/loadtest.jar --war=target/pet-adoption-java.war "$@"
@@ -0,0 +1,63 @@
+package com.petadoption.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Every latency of one operation as seen by one client, in nanoseconds. Each client owns
+ * its recorders, so recording is a plain array store; {@link #merge} combines them once
+ * the run is over, and percentiles are exact rather than bucketed.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    static LatencyRecorder merge(Iterable<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        int total = 0;
+        for (LatencyRecorder r : recorders) {
+            total += r.size;
+        }
+        merged.samples = new long[Math.max(1, total)];
+        for (LatencyRecorder r : recorders) {
+            System.arraycopy(r.samples, 0, merged.samples, merged.size, r.size);
+            merged.size += r.size;
+            merged.errors += r.errors;
+        }
+        Arrays.sort(merged.samples, 0, merged.size);
+        return merged;
+    }
+
+    /** Nearest-rank percentile; only valid on a {@link #merge merged} (sorted) recorder. */
+    long percentile(double p) {
+        if (size == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * size);
+        return samples[Math.max(0, Math.min(size - 1, rank - 1))];
+    }
+
+    long max() {
+        return size == 0 ? 0 : samples[size - 1];
+    }
+}
@@ -0,0 +1,202 @@
+package com.petadoption.loadtest;
+
+import com.petadoption.loadtest.memory.InMemoryDAOProvider;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drives PetListServlet, PetDetailsServlet, LoginServlet and SubmitAdoptionRequestServlet
+ * over HTTP from many concurrent clients and reports throughput and p50/p99/p99.9 latency.
+ *
+ * <p>By default the WAR is booted in embedded Tomcat with the in-memory DAOs, so a run
+ * needs nothing but a JDK. {@code --dao=jdbc} uses PostgreSQL instead, configured with the
+ * usual {@code petadoption.db.*} properties; {@code --url} targets a server that is already
+ * running. Options ({@code --name=value}):
+ * <pre>
+ *   --war=target/pet-adoption-java.war   WAR or exploded webapp to deploy
+ *   --dao=memory|jdbc                    DAOs behind the embedded server (memory)
+ *   --url=http://host:port/context       use a running server instead of the embedded one
+ *   --clients=64                         concurrent clients, each with its own session
+ *   --warmup=10  --duration=30           seconds; requests during warm-up are not recorded
+ *   --mix=pets:60,pet:25,login:10,adopt:5
+ *   --pets=10000                         in-memory pets to seed (ids 1..n)
+ *   --pet-ids=1-10000                    id range for /pet and /adopt (default 1..pets)
+ *   --server-threads=200                 Tomcat maxThreads
+ *   --execution=container|async          petadoption.web.execution of the embedded server
+ *   --db-latency-micros=0                in-memory DAOs: simulated round trip per call
+ *   --db-connections=0                   in-memory DAOs: concurrent round trips (0 = unlimited)
+ *   --app-log-level=WARNING              level for com.petadoption loggers
+ * </pre>
+ * Clients are closed-loop: each sends its next request when the previous one completes,
+ * so the run finds the saturation throughput. Latencies under saturation include queueing
+ * in Tomcat; compare runs with the same client count.
+ */
+public final class LoadTest {
+
+    private static final Set<String> OPTIONS = Set.of("war", "dao", "url", "clients", "warmup", "duration", "mix",
+            "pets", "pet-ids", "server-threads", "app-log-level", "seed", "execution", "db-latency-micros",
+            "db-connections");
+
+    /** Held so the configured level is not lost when the logger is garbage collected. */
+    private static final Logger APP_LOGGER = Logger.getLogger("com.petadoption");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "pets:60,pet:25,login:10,adopt:5"));
+        int pets = Integer.parseInt(options.getOrDefault("pets", "10000"));
+        String[] petIds = options.getOrDefault("pet-ids", "1-" + pets).split("-");
+        long minPetId = Long.parseLong(petIds[0].trim());
+        long maxPetId = Long.parseLong(petIds[petIds.length - 1].trim());
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        APP_LOGGER.setLevel(Level.parse(options.getOrDefault("app-log-level", "WARNING")));
+
+        LoadTestServer server = null;
+        URI base;
+        if (options.containsKey("url")) {
+            base = URI.create(options.get("url"));
+        } else {
+            String dao = options.getOrDefault("dao", "memory");
+            if ("memory".equals(dao)) {
+                // No database behind the in-memory DAOs, so nothing to migrate.
+                System.setProperty("petadoption.db.migrate", "false");
+                System.setProperty("petadoption.dao.provider", InMemoryDAOProvider.class.getName());
+                System.setProperty("loadtest.pets", Integer.toString(pets));
+                System.setProperty("loadtest.users", Integer.toString(clients));
+                System.setProperty("loadtest.seed", Long.toString(seed));
+                setIfPresent(options, "db-latency-micros", "loadtest.memory.latencyMicros");
+                setIfPresent(options, "db-connections", "loadtest.memory.connections");
+            } else if (!"jdbc".equals(dao)) {
+                throw new IllegalArgumentException("--dao must be memory or jdbc");
+            }
+            setIfPresent(options, "execution", "petadoption.web.execution");
+            server = LoadTestServer.start(Path.of(options.getOrDefault("war", "target/pet-adoption-java.war")),
+                    0, Integer.parseInt(options.getOrDefault("server-threads", "200")));
+            base = server.baseUri();
+        }
+
+        awaitReady(base);
+        System.out.printf("Target %s, %d clients, mix %s, %ds warm-up + %ds measured, %d CPUs, Java %s%n",
+                base, clients, mix, warmup, duration, Runtime.getRuntime().availableProcessors(),
+                Runtime.version());
+        if (server != null) {
+            System.out.println("Request execution: " + System.getProperty("petadoption.web.execution", "container"));
+        }
+        try {
+            long errors = run(base, clients, mix, minPetId, maxPetId, seed, warmup, duration);
+            if (errors > 0) {
+                System.exit(1);
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static long run(URI base, int clients, Mix mix, long minPetId, long maxPetId, long seed,
+                            int warmupSeconds, int durationSeconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        CountDownLatch signedIn = new CountDownLatch(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<VirtualUser> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i <= clients; i++) {
+            VirtualUser user = new VirtualUser(i, base, client, mix, minPetId, maxPetId, seed, signedIn, start);
+            Thread thread = new Thread(user, "loadtest-client-" + i);
+            thread.setDaemon(true);
+            users.add(user);
+            threads.add(thread);
+            thread.start();
+        }
+
+        if (!signedIn.await(2, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Clients did not sign in within two minutes");
+        }
+        for (VirtualUser user : users) {
+            if (user.failure() != null) {
+                throw new IllegalStateException("Client sign-in failed", user.failure());
+            }
+        }
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (VirtualUser user : users) {
+            user.schedule(measureFrom, measureUntil);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Report report = new Report(users, durationSeconds);
+        report.print(System.out);
+        return report.errors();
+    }
+
+    /**
+     * Waits for the application's /ready probe, so the run starts against a warmed-up node
+     * just as a load balancer would. Servers without the probe (404) count as ready.
+     */
+    private static void awaitReady(URI base) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/ready")).timeout(Duration.ofSeconds(10)).build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        long start = System.nanoTime();
+        while (true) {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 200 || status == 404) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(base + "/ready still returns " + status + " after five minutes");
+            }
+            Thread.sleep(200);
+        }
+        System.out.printf("Server ready after %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /** Options left out keep whatever JAVA_OPTS set. */
+    private static void setIfPresent(Map<String, String> options, String option, String property) {
+        if (options.containsKey(option)) {
+            System.setProperty(property, options.get(option));
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0 || !OPTIONS.contains(arg.substring(2, eq))) {
+                throw new IllegalArgumentException("Unknown option " + arg + "; expected --name=value with name in "
+                        + OPTIONS);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,72 @@
+package com.petadoption.loadtest;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.loader.WebappLoader;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/** The application's WAR deployed in an embedded Tomcat on a local port. */
+final class LoadTestServer implements AutoCloseable {
+
+    static final String CONTEXT_PATH = "/pet-adoption-java";
+
+    private final Tomcat tomcat;
+    private final Path baseDir;
+
+    private LoadTestServer(Tomcat tomcat, Path baseDir) {
+        this.tomcat = tomcat;
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * @param war          the built WAR (or an exploded webapp directory)
+     * @param port         0 for any free port
+     * @param maxThreads   Tomcat request-processing threads
+     */
+    static LoadTestServer start(Path war, int port, int maxThreads) throws IOException, LifecycleException {
+        if (!Files.exists(war)) {
+            throw new IOException("WAR not found: " + war + " (run mvn package in the project root)");
+        }
+        Path baseDir = Files.createTempDirectory("petadoption-loadtest");
+        Files.createDirectories(baseDir.resolve("webapps"));
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(port);
+        Connector connector = tomcat.getConnector();
+        connector.setProperty("maxThreads", Integer.toString(maxThreads));
+
+        Context context = tomcat.addWebapp(CONTEXT_PATH, war.toAbsolutePath().toString());
+        // Load application classes from the harness class path, parent first, so the
+        // in-memory DAO provider and the application share one copy of the DAO interfaces.
+        WebappLoader loader = new WebappLoader();
+        loader.setDelegate(true);
+        context.setLoader(loader);
+        context.setParentClassLoader(LoadTestServer.class.getClassLoader());
+
+        tomcat.start();
+        return new LoadTestServer(tomcat, baseDir);
+    }
+
+    URI baseUri() {
+        return URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + CONTEXT_PATH);
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+        try (Stream<Path> files = Files.walk(baseDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException ignored) {
+            // Temporary directory only; the OS cleans it up eventually.
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.petadoption.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/** Weighted choice of {@link Operation}s, parsed from e.g. {@code pets:60,pet:25,login:10,adopt:5}. */
+final class Mix {
+
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+    private final Map<Operation, Integer> weights;
+
+    private Mix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    static Mix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected name:weight");
+            }
+            Operation op = Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight must not be negative: " + part);
+            }
+            if (weight > 0) {
+                weights.put(op, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix must give at least one operation a positive weight");
+        }
+        return new Mix(weights);
+    }
+
+    Operation next(Random random) {
+        int roll = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    boolean includes(Operation op) {
+        return weights.containsKey(op);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((op, w) -> sb.append(sb.length() == 0 ? "" : ",")
+                .append(op.name().toLowerCase(Locale.ROOT)).append(':').append(w));
+        return sb.toString();
+    }
+}
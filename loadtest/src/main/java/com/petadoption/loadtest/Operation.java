@@ -0,0 +1,13 @@
+package com.petadoption.loadtest;
+
+/** Request types the harness can mix, each served by one of the application's servlets. */
+enum Operation {
+    /** {@code GET /pets}, PetListServlet. */
+    PETS,
+    /** {@code GET /pet?id=}, PetDetailsServlet. */
+    PET,
+    /** {@code POST /login}, LoginServlet. */
+    LOGIN,
+    /** {@code POST /adopt}, SubmitAdoptionRequestServlet. */
+    ADOPT
+}
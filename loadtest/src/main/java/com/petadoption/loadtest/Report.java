@@ -0,0 +1,54 @@
+package com.petadoption.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Throughput and latency percentiles per operation over the measurement window. */
+final class Report {
+
+    private final Map<Operation, LatencyRecorder> byOperation = new EnumMap<>(Operation.class);
+    private final LatencyRecorder total;
+    private final double seconds;
+
+    Report(List<VirtualUser> users, double seconds) {
+        this.seconds = seconds;
+        List<LatencyRecorder> all = new ArrayList<>();
+        for (Operation op : Operation.values()) {
+            List<LatencyRecorder> recorders = new ArrayList<>();
+            for (VirtualUser user : users) {
+                recorders.add(user.recorders().get(op));
+            }
+            all.addAll(recorders);
+            LatencyRecorder merged = LatencyRecorder.merge(recorders);
+            if (merged.count() > 0) {
+                byOperation.put(op, merged);
+            }
+        }
+        this.total = LatencyRecorder.merge(all);
+    }
+
+    long errors() {
+        return total.errors();
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%-8s %10s %8s %10s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        byOperation.forEach((op, r) -> row(out, op.name().toLowerCase(Locale.ROOT), r));
+        row(out, "total", total);
+    }
+
+    private void row(PrintStream out, String name, LatencyRecorder r) {
+        out.printf(Locale.ROOT, "%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, r.count(), r.errors(), r.count() / seconds,
+                millis(r.percentile(50)), millis(r.percentile(99)), millis(r.percentile(99.9)), millis(r.max()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,187 @@
+package com.petadoption.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * One simulated adopter: its own session cookie, signed in as
+ * {@code loadtest-<id>@example.test}, sending requests back to back (closed loop) until
+ * the run ends. Only requests started inside the measurement window are recorded.
+ */
+final class VirtualUser implements Runnable {
+
+    static final String PASSWORD = "loadtest-password";
+
+    /** Listing requests cycle through these, roughly what the filter form produces. */
+    private static final String[] LISTING_QUERIES = {
+            "", "?type=DOG", "?type=CAT&ageMax=5", "?q=bella", "?breed=retriever", "?type=DOG&ageMin=2&ageMax=8"
+    };
+
+    private final int id;
+    private final URI base;
+    private final HttpClient client;
+    private final Mix mix;
+    private final long minPetId;
+    private final long maxPetId;
+    private final CountDownLatch signedIn;
+    private final CountDownLatch start;
+    private final Random random;
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+
+    private volatile long measureFrom;
+    private volatile long measureUntil;
+    private volatile Throwable failure;
+    private String sessionCookie;
+
+    VirtualUser(int id, URI base, HttpClient client, Mix mix, long minPetId, long maxPetId, long seed,
+                CountDownLatch signedIn, CountDownLatch start) {
+        this.id = id;
+        this.base = base;
+        this.client = client;
+        this.mix = mix;
+        this.minPetId = minPetId;
+        this.maxPetId = maxPetId;
+        this.signedIn = signedIn;
+        this.start = start;
+        this.random = new Random(seed + id);
+        for (Operation op : Operation.values()) {
+            recorders.put(op, new LatencyRecorder());
+        }
+    }
+
+    /** Called by the driver before it releases the start latch. */
+    void schedule(long measureFromNanos, long measureUntilNanos) {
+        this.measureFrom = measureFromNanos;
+        this.measureUntil = measureUntilNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            signIn();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            signedIn.countDown();
+        }
+
+        try {
+            start.await();
+            while (true) {
+                Operation op = mix.next(random);
+                long started = System.nanoTime();
+                if (started >= measureUntil) {
+                    break;
+                }
+                boolean ok;
+                try {
+                    ok = execute(op);
+                } catch (IOException e) {
+                    ok = false;
+                }
+                long elapsed = System.nanoTime() - started;
+                if (started >= measureFrom) {
+                    LatencyRecorder recorder = recorders.get(op);
+                    recorder.record(elapsed);
+                    if (!ok) {
+                        recorder.error();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Map<Operation, LatencyRecorder> recorders() {
+        return recorders;
+    }
+
+    Throwable failure() {
+        return failure;
+    }
+
+    private boolean execute(Operation op) throws IOException, InterruptedException {
+        switch (op) {
+            case PETS:
+                return send(get("/pets" + LISTING_QUERIES[random.nextInt(LISTING_QUERIES.length)])).statusCode() < 400;
+            case PET:
+                return send(get("/pet?id=" + randomPetId())).statusCode() < 400;
+            case LOGIN:
+                return send(post("/login", "email=" + encode(email()) + "&password=" + encode(PASSWORD)))
+                        .statusCode() == 302;
+            case ADOPT:
+                // 302 back to /pets when the request was accepted, 200 with an error when the
+                // pet was already taken; a redirect to /login means the session was lost.
+                HttpResponse<Void> response = send(post("/adopt",
+                        "petId=" + randomPetId() + "&message=" + encode("Load test request from user " + id)));
+                Optional<String> location = response.headers().firstValue("Location");
+                return response.statusCode() == 200
+                        || response.statusCode() == 302 && location.map(l -> !l.contains("/login")).orElse(true);
+            default:
+                throw new IllegalStateException("Unknown operation " + op);
+        }
+    }
+
+    /** Logs in, registering the account first if this database has not seen it yet. */
+    private void signIn() throws IOException, InterruptedException {
+        String credentials = "email=" + encode(email()) + "&password=" + encode(PASSWORD);
+        if (send(post("/login", credentials)).statusCode() == 302) {
+            return;
+        }
+        int status = send(post("/register", "fullName=" + encode("Load Test " + id) + "&" + credentials)).statusCode();
+        if (status != 302) {
+            throw new IllegalStateException("Cannot sign in or register " + email() + " (HTTP " + status + ")");
+        }
+    }
+
+    private HttpResponse<Void> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            if (header.startsWith("JSESSIONID=")) {
+                int end = header.indexOf(';');
+                sessionCookie = end < 0 ? header : header.substring(0, end);
+            }
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(base.resolve(base.getPath() + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String form) {
+        return HttpRequest.newBuilder(base.resolve(base.getPath() + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+    }
+
+    private long randomPetId() {
+        return minPetId + (long) (random.nextDouble() * (maxPetId - minPetId + 1));
+    }
+
+    private String email() {
+        return "loadtest-" + id + "@example.test";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
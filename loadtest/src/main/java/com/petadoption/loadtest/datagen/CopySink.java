@@ -0,0 +1,155 @@
+package com.petadoption.loadtest.datagen;
+
+import com.petadoption.util.ExportWriter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Loads every table with {@code COPY ... FROM STDIN} inside one transaction, so a failed
+ * run leaves the database as it was. The tables are locked up front so ids can be
+ * assigned client-side without racing other writers; sequences are moved past the new
+ * rows and the tables analyzed before returning.
+ *
+ * <p>When the tables are truncated first, secondary indexes (everything not backing a
+ * constraint) are dropped for the load and rebuilt at the end: one sorted build is much
+ * cheaper than millions of GIN and trigram insertions.
+ */
+final class CopySink implements TableSink {
+
+    private static final Logger LOGGER = Logger.getLogger(CopySink.class.getName());
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Connection connection;
+    private final List<String> loaded = new ArrayList<>();
+    private final List<String> deferredIndexes = new ArrayList<>();
+
+    CopySink(Connection connection, boolean truncate) throws IOException {
+        this.connection = connection;
+        try {
+            connection.setAutoCommit(false);
+            try (Statement st = connection.createStatement()) {
+                // One commit at the end; nothing is lost by not waiting for each WAL flush before it.
+                st.execute("SET LOCAL synchronous_commit = off");
+                if (truncate) {
+                    LOGGER.warning("Truncating users, pets and adoption_requests");
+                    st.execute("TRUNCATE adoption_requests, pets, users RESTART IDENTITY");
+                }
+                st.execute("LOCK TABLE users, pets, adoption_requests IN SHARE ROW EXCLUSIVE MODE");
+                if (truncate) {
+                    dropSecondaryIndexes(st);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Cannot prepare the database for loading", e);
+        }
+    }
+
+    @Override
+    public long maxId(String table) throws IOException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new IOException("Cannot read the highest id of " + table, e);
+        }
+    }
+
+    @Override
+    public long load(String table, String[] columns, Rows rows) throws IOException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv, HEADER true)";
+        PGCopyOutputStream copy;
+        try {
+            copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+        } catch (SQLException e) {
+            throw new IOException("Cannot start " + sql, e);
+        }
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+            ExportWriter out = ExportWriter.csv(writer);
+            out.begin(columns);
+            rows.writeTo(out);
+            out.flush();
+            long count = copy.endCopy();
+            loaded.add(table);
+            return count;
+        } catch (IOException | SQLException | RuntimeException e) {
+            try {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e instanceof IOException ? (IOException) e : new IOException("COPY into " + table + " failed", e);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try (Statement st = connection.createStatement()) {
+            if (!deferredIndexes.isEmpty()) {
+                st.execute("SET LOCAL maintenance_work_mem = '256MB'");
+            }
+            for (String definition : deferredIndexes) {
+                long start = System.nanoTime();
+                st.execute(definition);
+                LOGGER.info(String.format(Locale.ROOT, "Rebuilt in %.1fs: %s", (System.nanoTime() - start) / 1e9, definition));
+            }
+            for (String table : loaded) {
+                st.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "COALESCE(MAX(id), 1), MAX(id) IS NOT NULL) FROM " + table);
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            LOGGER.info("Committed; analyzing " + loaded);
+            st.execute("ANALYZE " + String.join(", ", loaded));
+        } catch (SQLException e) {
+            throw new IOException("Cannot commit the generated data", e);
+        }
+    }
+
+    private void dropSecondaryIndexes(Statement st) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (ResultSet rs = st.executeQuery("SELECT i.indexrelid::regclass::text, pg_get_indexdef(i.indexrelid)"
+                + " FROM pg_index i WHERE i.indrelid IN ('users'::regclass, 'pets'::regclass, 'adoption_requests'::regclass)"
+                + " AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+                deferredIndexes.add(rs.getString(2));
+            }
+        }
+        for (String name : names) {
+            st.execute("DROP INDEX " + name);
+        }
+        if (!deferredIndexes.isEmpty()) {
+            LOGGER.info("Deferring " + deferredIndexes.size() + " secondary indexes until after the load");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Cannot close the database connection", e);
+        }
+    }
+}
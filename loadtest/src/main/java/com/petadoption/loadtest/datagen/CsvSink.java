@@ -0,0 +1,47 @@
+package com.petadoption.loadtest.datagen;
+
+import com.petadoption.util.ExportWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes {@code <table>.csv} files with a header row, for loading elsewhere with
+ * {@code \copy <table> (<columns>) FROM '<table>.csv' WITH (FORMAT csv, HEADER true)} or
+ * for inspecting a generated dataset without a database. Ids start at 1.
+ */
+final class CsvSink implements TableSink {
+
+    private final Path directory;
+
+    CsvSink(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public long maxId(String table) {
+        return 0;
+    }
+
+    @Override
+    public long load(String table, String[] columns, Rows rows) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(table + ".csv"), StandardCharsets.UTF_8)) {
+            ExportWriter out = ExportWriter.csv(writer);
+            out.begin(columns);
+            long count = rows.writeTo(out);
+            out.flush();
+            return count;
+        }
+    }
+
+    @Override
+    public void finish() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
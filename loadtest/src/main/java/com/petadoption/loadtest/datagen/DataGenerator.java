@@ -0,0 +1,338 @@
+package com.petadoption.loadtest.datagen;
+
+import com.petadoption.model.AdoptionStatus;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.ExportWriter;
+import com.petadoption.util.PasswordUtil;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Generates a large, reproducible dataset for {@code docs/schema-postgres.sql} and loads
+ * it with COPY. The same options and seed always produce the same rows (and, with
+ * {@code --truncate}, the same ids), so query plans and benchmark results can be compared
+ * between runs.
+ *
+ * <p>Distributions: pet types 55% dogs, 35% cats, 10% other; breeds, names and pet
+ * popularity are Zipf-skewed, ages are exponential (most pets are young), and creation
+ * times accelerate towards {@code --until}, with occasional bulk imports that share a
+ * timestamp. Every pet that is PENDING or ADOPTED has a matching PENDING or APPROVED
+ * request; the rest of the requests are spread over popular pets and active adopters
+ * and are PENDING (pet still pending) or REJECTED. The first generated user is an admin.
+ * All users have the password {@value #PASSWORD}.
+ *
+ * <p>Options ({@code --name=value}; the database comes from the application's
+ * {@code petadoption.db.*} properties):
+ * <pre>
+ *   --pets=2000000  --users=200000  --requests=1000000
+ *   --seed=42  --until=2025-01-01     data spans the three years before --until
+ *   --truncate                        empty users, pets and adoption_requests first
+ *   --out=DIR                         write DIR/&lt;table&gt;.csv instead of loading
+ *   --images=DIR                      write placeholder JPEGs to DIR (the webapp's uploads/pets)
+ *   --image-count=200  --image-fraction=0.3
+ * </pre>
+ */
+public final class DataGenerator {
+
+    static final String PASSWORD = "password";
+
+    private static final Logger LOGGER = Logger.getLogger(DataGenerator.class.getName());
+    private static final Set<String> OPTIONS = Set.of("pets", "users", "requests", "seed", "until", "truncate",
+            "out", "images", "image-count", "image-fraction");
+
+    private static final String[] USER_COLUMNS = {"id", "email", "password_hash", "full_name", "role", "created_at"};
+    private static final String[] PET_COLUMNS = {"id", "name", "type", "breed", "age_years", "description",
+            "image_path", "status", "created_at"};
+    private static final String[] REQUEST_COLUMNS = {"id", "pet_id", "adopter_id", "message", "status",
+            "requested_at", "processed_at"};
+
+    private static final long SPAN_SECONDS = TimeUnit.DAYS.toSeconds(3 * 365);
+    private static final long HOUR = 3_600;
+    private static final long DAY = 86_400;
+    private static final double ADOPTED_FRACTION = 0.20;
+    private static final double PENDING_FRACTION = 0.05;
+
+    private final int petCount;
+    private final int userCount;
+    private final long requestCount;
+    private final long untilEpoch;
+    private final int imageCount;
+    private final double imageFraction;
+    private final SplittableRandom userRandom;
+    private final SplittableRandom petRandom;
+    private final SplittableRandom requestRandom;
+
+    /** Per pet, indexed from 0: status ordinal and creation time, for generating its requests. */
+    private byte[] petStatus;
+    private long[] petCreated;
+
+    DataGenerator(int petCount, int userCount, long requestCount, long seed, LocalDate until,
+                  int imageCount, double imageFraction) {
+        if (requestCount > 0 && (petCount < 1 || userCount < 2)) {
+            throw new IllegalArgumentException("Requests need at least one pet and two users (one is the admin)");
+        }
+        this.petCount = petCount;
+        this.userCount = userCount;
+        this.requestCount = requestCount;
+        this.untilEpoch = until.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        this.imageCount = imageCount;
+        this.imageFraction = imageFraction;
+        // Independent streams, so changing one table's size does not reshuffle the others.
+        SplittableRandom root = new SplittableRandom(seed);
+        this.userRandom = root.split();
+        this.petRandom = root.split();
+        this.requestRandom = root.split();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int imageCount = options.containsKey("images") ? Integer.parseInt(options.getOrDefault("image-count", "200")) : 0;
+        DataGenerator generator = new DataGenerator(
+                Integer.parseInt(options.getOrDefault("pets", "2000000")),
+                Integer.parseInt(options.getOrDefault("users", "200000")),
+                Long.parseLong(options.getOrDefault("requests", "1000000")),
+                seed,
+                LocalDate.parse(options.getOrDefault("until", "2025-01-01")),
+                imageCount,
+                Double.parseDouble(options.getOrDefault("image-fraction", "0.3")));
+
+        if (imageCount > 0) {
+            Path dir = Path.of(options.get("images"));
+            LOGGER.info("Writing " + imageCount + " placeholder images to " + dir.toAbsolutePath());
+            PlaceholderImages.write(dir, imageCount, seed);
+        }
+        try (TableSink sink = openSink(options)) {
+            generator.generate(sink);
+        }
+    }
+
+    private static TableSink openSink(Map<String, String> options) throws IOException {
+        if (options.containsKey("out")) {
+            return new CsvSink(Path.of(options.get("out")));
+        }
+        String url = AppConfig.get("petadoption.db.url", "jdbc:postgresql://localhost:5432/pet_adoption");
+        try {
+            return new CopySink(DriverManager.getConnection(url,
+                    AppConfig.get("petadoption.db.username", "postgres"),
+                    AppConfig.get("petadoption.db.password", "password")),
+                    options.containsKey("truncate"));
+        } catch (SQLException e) {
+            throw new IOException("Cannot connect to " + url, e);
+        }
+    }
+
+    void generate(TableSink sink) throws IOException {
+        long userBase = sink.maxId("users");
+        long petBase = sink.maxId("pets");
+        long requestBase = sink.maxId("adoption_requests");
+        timed(sink, "users", USER_COLUMNS, out -> writeUsers(out, userBase));
+        timed(sink, "pets", PET_COLUMNS, out -> writePets(out, petBase));
+        timed(sink, "adoption_requests", REQUEST_COLUMNS, out -> writeRequests(out, requestBase, petBase, userBase));
+        long start = System.nanoTime();
+        sink.finish();
+        LOGGER.info(String.format(Locale.ROOT, "Finished in %.1fs", (System.nanoTime() - start) / 1e9));
+    }
+
+    private static void timed(TableSink sink, String table, String[] columns, TableSink.Rows rows) throws IOException {
+        long start = System.nanoTime();
+        long count = sink.load(table, columns, rows);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        LOGGER.info(String.format(Locale.ROOT, "%s: %,d rows in %.1fs (%,.0f rows/s)",
+                table, count, seconds, count / Math.max(seconds, 1e-9)));
+    }
+
+    private long writeUsers(ExportWriter out, long base) throws IOException {
+        ZipfSampler first = new ZipfSampler(Vocabulary.FIRST_NAMES.length, 0.7);
+        ZipfSampler last = new ZipfSampler(Vocabulary.LAST_NAMES.length, 0.7);
+        // Same hash for everyone: hashing is not what a dataset should spend its time on.
+        String hash = PasswordUtil.hashPassword(PASSWORD);
+        for (int i = 0; i < userCount; i++) {
+            long id = base + i + 1;
+            boolean admin = i == 0;
+            String name = Vocabulary.FIRST_NAMES[first.sample(userRandom)] + " "
+                    + Vocabulary.LAST_NAMES[last.sample(userRandom)];
+            out.row(id, (admin ? "admin" : "user") + id + "@datagen.example.com", hash, name,
+                    admin ? "ADMIN" : "ADOPTER", timestamp(timeline(i, userCount, userRandom)));
+        }
+        return userCount;
+    }
+
+    private long writePets(ExportWriter out, long base) throws IOException {
+        ZipfSampler dogBreeds = new ZipfSampler(Vocabulary.DOG_BREEDS.length, 1.0);
+        ZipfSampler catBreeds = new ZipfSampler(Vocabulary.CAT_BREEDS.length, 1.1);
+        ZipfSampler otherBreeds = new ZipfSampler(Vocabulary.OTHER_BREEDS.length, 1.2);
+        ZipfSampler names = new ZipfSampler(Vocabulary.PET_NAMES.length, 0.9);
+        // With few requests, fewer pets can be spoken for, since each needs its own request.
+        double claimed = Math.min(1.0, requestCount / Math.max(1.0, petCount * (ADOPTED_FRACTION + PENDING_FRACTION)));
+        double adopted = ADOPTED_FRACTION * claimed;
+        double pending = PENDING_FRACTION * claimed;
+
+        petStatus = new byte[petCount];
+        petCreated = new long[petCount];
+        long batchCreated = 0;
+        int batchLeft = 0;
+        for (int i = 0; i < petCount; i++) {
+            double roll = petRandom.nextDouble();
+            PetType type = roll < 0.55 ? PetType.DOG : roll < 0.90 ? PetType.CAT : PetType.OTHER;
+            String breed;
+            double meanAge;
+            int maxAge;
+            switch (type) {
+                case DOG:
+                    breed = Vocabulary.DOG_BREEDS[dogBreeds.sample(petRandom)];
+                    meanAge = 3.5;
+                    maxAge = 16;
+                    break;
+                case CAT:
+                    breed = Vocabulary.CAT_BREEDS[catBreeds.sample(petRandom)];
+                    meanAge = 4.0;
+                    maxAge = 20;
+                    break;
+                default:
+                    breed = Vocabulary.OTHER_BREEDS[otherBreeds.sample(petRandom)];
+                    meanAge = 1.5;
+                    maxAge = 10;
+            }
+            if (type != PetType.OTHER && petRandom.nextDouble() < 0.03) {
+                breed = null;
+            }
+            int age = (int) Math.min(maxAge, -Math.log(1.0 - petRandom.nextDouble()) * meanAge);
+
+            String description = Vocabulary.TEMPERAMENTS[petRandom.nextInt(Vocabulary.TEMPERAMENTS.length)]
+                    + (breed == null ? " companion" : " " + breed.toLowerCase(Locale.ROOT))
+                    + " who " + Vocabulary.HABITS[petRandom.nextInt(Vocabulary.HABITS.length)]
+                    + " and " + Vocabulary.HABITS[petRandom.nextInt(Vocabulary.HABITS.length)] + ". "
+                    + Vocabulary.HOMES[petRandom.nextInt(Vocabulary.HOMES.length)];
+            String image = imageCount > 0 && petRandom.nextDouble() < imageFraction
+                    ? PlaceholderImages.fileName(petRandom.nextInt(imageCount)) : null;
+
+            double statusRoll = petRandom.nextDouble();
+            PetStatus status = statusRoll < adopted ? PetStatus.ADOPTED
+                    : statusRoll < adopted + pending ? PetStatus.PENDING : PetStatus.AVAILABLE;
+
+            // Now and then a bulk import: a run of pets with the same created_at, which is
+            // what the id tie-breaker in keyset pagination exists for.
+            long created;
+            if (batchLeft > 0) {
+                created = batchCreated;
+                batchLeft--;
+            } else {
+                created = timeline(i, petCount, petRandom);
+                if (petRandom.nextDouble() < 0.0005) {
+                    batchCreated = created;
+                    batchLeft = 20 + petRandom.nextInt(200);
+                }
+            }
+            petStatus[i] = (byte) status.ordinal();
+            petCreated[i] = created;
+
+            out.row(base + i + 1, Vocabulary.PET_NAMES[names.sample(petRandom)], type, breed, age, description,
+                    image, status, timestamp(created));
+            if ((i + 1) % 1_000_000 == 0) {
+                LOGGER.info(String.format(Locale.ROOT, "pets: %,d of %,d", i + 1, petCount));
+            }
+        }
+        return petCount;
+    }
+
+    private long writeRequests(ExportWriter out, long base, long petBase, long userBase)
+            throws IOException {
+        if (requestCount == 0) {
+            return 0;
+        }
+        ZipfSampler petPopularity = new ZipfSampler(petCount, 0.8);
+        ZipfSampler adopterActivity = new ZipfSampler(userCount - 1, 0.6);
+        // Popularity ranks are scattered over ids, so popular pets are not all the oldest ones.
+        long petStride = coprimeStride(petCount);
+        long userStride = coprimeStride(userCount - 1);
+        long id = base;
+
+        // Every spoken-for pet gets the request that claimed it.
+        for (int i = 0; i < petCount && id - base < requestCount; i++) {
+            PetStatus status = PetStatus.values()[petStatus[i]];
+            if (status != PetStatus.AVAILABLE) {
+                long adopter = userBase + 2 + (adopterActivity.sample(requestRandom) * userStride) % (userCount - 1);
+                writeRequest(out, ++id, i, petBase, adopter,
+                        status == PetStatus.ADOPTED ? AdoptionStatus.APPROVED : AdoptionStatus.PENDING);
+            }
+        }
+        while (id - base < requestCount) {
+            int pet = (int) ((petPopularity.sample(requestRandom) * petStride) % petCount);
+            long adopter = userBase + 2 + (adopterActivity.sample(requestRandom) * userStride) % (userCount - 1);
+            AdoptionStatus status = petStatus[pet] == PetStatus.PENDING.ordinal()
+                    ? AdoptionStatus.PENDING : AdoptionStatus.REJECTED;
+            writeRequest(out, ++id, pet, petBase, adopter, status);
+            if ((id - base) % 1_000_000 == 0) {
+                LOGGER.info(String.format(Locale.ROOT, "adoption_requests: %,d of %,d", id - base, requestCount));
+            }
+        }
+        return id - base;
+    }
+
+    private void writeRequest(ExportWriter out, long id, int pet, long petBase, long adopter,
+                              AdoptionStatus status) throws IOException {
+        long window = Math.max(1, Math.min(90 * DAY, untilEpoch - petCreated[pet]));
+        long requested = petCreated[pet] + 1 + requestRandom.nextLong(window);
+        Long processed = null;
+        if (status != AdoptionStatus.PENDING) {
+            processed = Math.min(untilEpoch, requested + HOUR + requestRandom.nextLong(14 * DAY));
+        }
+        out.row(id, petBase + pet + 1, adopter,
+                Vocabulary.MESSAGES[requestRandom.nextInt(Vocabulary.MESSAGES.length)], status,
+                timestamp(requested), processed == null ? null : timestamp(processed));
+    }
+
+    /**
+     * Creation time of row {@code i} of {@code n}, in epoch seconds. Rows are spread over
+     * the span with density growing towards the end (the catalogue grows over time), in
+     * id order with a little jitter.
+     */
+    private long timeline(int i, int n, SplittableRandom random) {
+        double fraction = Math.pow((i + random.nextDouble()) / n, 0.6);
+        return untilEpoch - SPAN_SECONDS + (long) (fraction * SPAN_SECONDS);
+    }
+
+    private static LocalDateTime timestamp(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /** A large multiplier coprime with {@code n}, so {@code k * stride mod n} permutes {@code [0, n)}. */
+    private static long coprimeStride(int n) {
+        long stride = 1_000_003;
+        while (BigInteger.valueOf(stride).gcd(BigInteger.valueOf(n)).intValue() != 1) {
+            stride += 2;
+        }
+        return stride;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.startsWith("--") ? arg.substring(2, eq < 0 ? arg.length() : eq) : "";
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option " + arg + "; expected --name=value with name in "
+                        + OPTIONS);
+            }
+            options.put(name, eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
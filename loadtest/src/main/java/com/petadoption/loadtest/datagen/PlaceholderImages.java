@@ -0,0 +1,62 @@
+package com.petadoption.loadtest.datagen;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a pool of placeholder JPEG photos. Generated pets share the pool, so a few
+ * hundred files stand in for millions of uploads while still giving the image paths
+ * realistic sizes and cache behaviour.
+ */
+final class PlaceholderImages {
+
+    static final int WIDTH = 800;
+    static final int HEIGHT = 600;
+
+    private PlaceholderImages() {
+    }
+
+    static String fileName(int index) {
+        return "datagen-" + index + ".jpg";
+    }
+
+    static void write(Path directory, int count, long seed) throws IOException {
+        Files.createDirectories(directory);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < count; i++) {
+            BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                float hue = (float) random.nextDouble();
+                g.setPaint(new GradientPaint(0, 0, Color.getHSBColor(hue, 0.45f, 0.95f),
+                        WIDTH, HEIGHT, Color.getHSBColor(hue, 0.7f, 0.6f)));
+                g.fillRect(0, 0, WIDTH, HEIGHT);
+                // Some shapes and noise so the JPEG encoder has detail to work on, like a real photo.
+                for (int s = 0; s < 40; s++) {
+                    g.setColor(Color.getHSBColor((float) random.nextDouble(), 0.5f, 0.9f));
+                    int size = 20 + random.nextInt(160);
+                    g.fillOval(random.nextInt(WIDTH), random.nextInt(HEIGHT), size, size);
+                }
+                for (int p = 0; p < WIDTH * HEIGHT / 20; p++) {
+                    image.setRGB(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextInt(0xFFFFFF));
+                }
+                g.setColor(Color.WHITE);
+                g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 48));
+                g.drawString("Pet photo #" + i, 40, HEIGHT - 60);
+            } finally {
+                g.dispose();
+            }
+            ImageIO.write(image, "jpg", directory.resolve(fileName(i)).toFile());
+        }
+    }
+}
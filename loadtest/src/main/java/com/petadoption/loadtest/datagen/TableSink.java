@@ -0,0 +1,27 @@
+package com.petadoption.loadtest.datagen;
+
+import com.petadoption.util.ExportWriter;
+
+import java.io.IOException;
+
+/** Destination for generated rows: PostgreSQL through COPY, or a CSV file per table. */
+interface TableSink extends AutoCloseable {
+
+    /** Writes one table's rows, in column order, to the writer it is given. */
+    interface Rows {
+        /** @return the number of rows written */
+        long writeTo(ExportWriter out) throws IOException;
+    }
+
+    /** Highest id already in {@code table}; generated ids continue after it. */
+    long maxId(String table) throws IOException;
+
+    /** @return the number of rows loaded */
+    long load(String table, String[] columns, Rows rows) throws IOException;
+
+    /** Makes the load durable and visible; called once after every table is loaded. */
+    void finish() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,89 @@
+package com.petadoption.loadtest.datagen;
+
+/**
+ * Word lists for generated rows, each ordered from most to least common so that a
+ * {@link ZipfSampler} over the index gives a realistically skewed distribution (a few
+ * breeds and names dominate, with a long tail).
+ */
+final class Vocabulary {
+
+    static final String[] DOG_BREEDS = {
+            "Labrador Retriever", "Mixed", "German Shepherd", "Golden Retriever", "French Bulldog", "Beagle",
+            "Pit Bull Terrier", "Poodle", "Chihuahua", "Dachshund", "Boxer", "Rottweiler", "Yorkshire Terrier",
+            "Siberian Husky", "Shih Tzu", "Border Collie", "Australian Shepherd", "Cocker Spaniel", "Pug",
+            "Great Dane", "Jack Russell Terrier", "Doberman Pinscher", "Maltese", "Bichon Frise", "Greyhound",
+            "Whippet", "Bernese Mountain Dog", "Cavalier King Charles Spaniel", "Shiba Inu", "Akita",
+            "Basset Hound", "Bloodhound", "Dalmatian", "Newfoundland", "Samoyed", "Weimaraner", "Vizsla",
+            "Saint Bernard", "Irish Setter", "Staffordshire Bull Terrier"
+    };
+
+    static final String[] CAT_BREEDS = {
+            "Domestic Shorthair", "Domestic Longhair", "Mixed", "Siamese", "Maine Coon", "Persian", "Ragdoll",
+            "Bengal", "British Shorthair", "Russian Blue", "Abyssinian", "Sphynx", "Scottish Fold", "Burmese",
+            "Norwegian Forest Cat", "Tonkinese", "Birman", "Devon Rex", "Oriental Shorthair", "Turkish Angora"
+    };
+
+    static final String[] OTHER_BREEDS = {
+            "Rabbit", "Guinea Pig", "Hamster", "Budgerigar", "Cockatiel", "Ferret", "Rat", "Gerbil", "Tortoise",
+            "Bearded Dragon", "Chinchilla", "Canary"
+    };
+
+    static final String[] PET_NAMES = {
+            "Bella", "Max", "Luna", "Charlie", "Lucy", "Cooper", "Daisy", "Milo", "Bailey", "Buddy", "Lily",
+            "Rocky", "Nala", "Bear", "Molly", "Tucker", "Sadie", "Duke", "Coco", "Oliver", "Stella", "Leo",
+            "Chloe", "Zeus", "Penny", "Jack", "Zoe", "Toby", "Rosie", "Bentley", "Ruby", "Winston", "Maggie",
+            "Teddy", "Sophie", "Murphy", "Roxy", "Oscar", "Gracie", "Loki", "Willow", "Simba", "Pepper", "Finn",
+            "Ginger", "Gus", "Olive", "Apollo", "Piper", "Ziggy", "Hazel", "Bruno", "Mia", "Jasper", "Honey",
+            "Ollie", "Cleo", "Diesel", "Lola", "Rex", "Maple", "Thor", "Nova", "Archie", "Kiki", "Biscuit",
+            "Peanut", "Shadow", "Smokey", "Tiger", "Mittens", "Whiskers", "Pumpkin", "Marley", "Koda", "Juniper",
+            "Pickles", "Nugget", "Waffles", "Clover", "Pebbles", "Mochi", "Sushi", "Tofu", "Bagel", "Noodle",
+            "Dumpling", "Sprout", "Fig", "Acorn", "Boots", "Socks", "Patches", "Domino", "Oreo", "Bandit",
+            "Ranger", "Scout", "Sunny", "Storm", "Blaze", "Misty", "Frost", "Ember", "Aspen", "Cedar"
+    };
+
+    static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Chris", "Karen",
+            "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Betty", "Mark", "Sandra", "Priya", "Aisha", "Wei",
+            "Mohammed", "Sofia", "Mateo", "Yuki", "Olga", "Kwame", "Ines", "Arjun", "Fatima", "Noah", "Emma",
+            "Liam", "Olivia", "Ethan", "Ava", "Lucas", "Mia", "Amir", "Chloe", "Hiro", "Zara"
+    };
+
+    static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson",
+            "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis",
+            "Robinson", "Patel", "Kim", "Nguyen", "Chen", "Singh", "Okafor", "Kowalski", "Rossi", "Müller",
+            "Dubois", "Tanaka", "Silva", "Novak", "Haddad", "O'Brien", "Ivanova", "Andersen", "Costa"
+    };
+
+    static final String[] TEMPERAMENTS = {
+            "Friendly", "Playful", "Gentle", "Shy at first but very affectionate", "Energetic", "Calm",
+            "Curious", "Loyal", "Cuddly", "Independent", "Goofy", "Quiet", "Confident", "Sweet-natured"
+    };
+
+    static final String[] HABITS = {
+            "loves long walks", "enjoys napping in the sun", "is house-trained", "knows basic commands",
+            "gets along with other pets", "is great with children", "likes car rides", "enjoys puzzle toys",
+            "prefers a quiet home", "loves playing fetch", "is crate-trained", "walks well on a leash",
+            "enjoys being brushed", "is litter-trained", "likes to chat", "is learning to sit and stay"
+    };
+
+    static final String[] HOMES = {
+            "Would suit an active family.", "Best as the only pet.", "Ideal for a first-time owner.",
+            "Needs a home with a garden.", "Happy in an apartment.", "Looking for a patient, experienced owner.",
+            "Would love a home with another companion.", "Up to date on vaccinations and microchipped.",
+            "Has been neutered.", "Needs a special diet."
+    };
+
+    static final String[] MESSAGES = {
+            "We have a big garden and work from home.", "I grew up with pets and would love to adopt.",
+            "Our kids have been asking for a companion for months.", "I'm retired and have plenty of time.",
+            "We recently lost our old dog and are ready for a new friend.",
+            "I live alone in a quiet apartment.", "We already have a cat who is very sociable.",
+            "Can we arrange a visit this weekend?", null
+    };
+
+    private Vocabulary() {
+    }
+}
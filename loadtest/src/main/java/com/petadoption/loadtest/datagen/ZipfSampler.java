@@ -0,0 +1,69 @@
+package com.petadoption.loadtest.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf-distributed ranks in {@code [0, n)}: rank 0 is the most frequent, and rank k is
+ * drawn with probability proportional to {@code 1 / (k + 1)^exponent}. Uses rejection-inversion
+ * sampling (Hörmann and Derflinger), which needs constant memory and time per sample, so it
+ * works for millions of ranks.
+ */
+final class ZipfSampler {
+
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("Zipf needs n >= 1 and exponent > 0");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    int sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k - 1;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1.0 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1.0, x * (1.0 - exponent));
+        return Math.exp(helper1(t) * x);
+    }
+
+    /** {@code log1p(x) / x}, accurate near zero. */
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    /** {@code expm1(x) / x}, accurate near zero. */
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+    }
+}
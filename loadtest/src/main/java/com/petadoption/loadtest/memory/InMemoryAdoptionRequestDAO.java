@@ -0,0 +1,285 @@
+package com.petadoption.loadtest.memory;
+
+import com.petadoption.dao.AdoptionRequestDAO;
+import com.petadoption.dao.CatalogVersion;
+import com.petadoption.dao.RowHandler;
+import com.petadoption.model.AdoptionRequest;
+import com.petadoption.model.AdoptionRequestDetails;
+import com.petadoption.model.AdoptionStatus;
+import com.petadoption.model.BulkDecision;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.User;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link AdoptionRequestDAO} over {@link InMemoryStore}. Each multi-row operation runs
+ * under the write lock, which gives it the same all-or-nothing outcome as the
+ * transactions in the JDBC DAO.
+ */
+class InMemoryAdoptionRequestDAO implements AdoptionRequestDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryAdoptionRequestDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void save(AdoptionRequest request) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            insert(request);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<AdoptionRequest> findById(Long id) {
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            AdoptionRequest request = store.requests.get(id);
+            return request == null ? Optional.empty() : Optional.of(InMemoryStore.copy(request));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateStatus(Long id, AdoptionStatus status) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            AdoptionRequest request = store.requests.get(id);
+            if (request != null) {
+                request.setStatus(status);
+                request.setProcessedAt(LocalDateTime.now());
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AdoptionRequest> findByStatus(AdoptionStatus status) {
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            List<AdoptionRequest> result = new ArrayList<>();
+            for (AdoptionRequest request : store.requests.descendingMap().values()) {
+                if (request.getStatus() == status) {
+                    result.add(InMemoryStore.copy(request));
+                }
+            }
+            return result;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void streamRequests(AdoptionStatus status, LocalDateTime from, LocalDateTime to,
+                               RowHandler<AdoptionRequest> handler) throws IOException {
+        List<AdoptionRequest> rows = new ArrayList<>();
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            for (AdoptionRequest request : store.requests.values()) {
+                if ((status == null || request.getStatus() == status)
+                        && (from == null || !request.getRequestedAt().isBefore(from))
+                        && (to == null || request.getRequestedAt().isBefore(to))) {
+                    rows.add(InMemoryStore.copy(request));
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        for (AdoptionRequest request : rows) {
+            handler.handle(request);
+        }
+    }
+
+    @Override
+    public List<AdoptionRequestDetails> findPendingWithDetails(int limit) {
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            List<AdoptionRequestDetails> result = new ArrayList<>();
+            for (AdoptionRequest request : store.requests.descendingMap().values()) {
+                if (result.size() == limit) {
+                    break;
+                }
+                if (request.getStatus() != AdoptionStatus.PENDING) {
+                    continue;
+                }
+                AdoptionRequestDetails details = new AdoptionRequestDetails();
+                details.setId(request.getId());
+                details.setPetId(request.getPetId());
+                details.setAdopterId(request.getAdopterId());
+                details.setMessage(request.getMessage());
+                details.setStatus(request.getStatus());
+                details.setRequestedAt(request.getRequestedAt());
+                Pet pet = store.pets.get(request.getPetId());
+                if (pet != null) {
+                    details.setPetName(pet.getName());
+                    details.setPetType(pet.getType());
+                    details.setPetStatus(pet.getStatus());
+                }
+                User adopter = store.users.get(request.getAdopterId());
+                if (adopter != null) {
+                    details.setAdopterName(adopter.getFullName());
+                    details.setAdopterEmail(adopter.getEmail());
+                }
+                result.add(details);
+            }
+            return result;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean submitIfPetAvailable(AdoptionRequest request) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            Pet pet = store.pets.get(request.getPetId());
+            if (pet == null || pet.getStatus() != PetStatus.AVAILABLE) {
+                return false;
+            }
+            pet.setStatus(PetStatus.PENDING);
+            pet.setUpdatedAt(LocalDateTime.now());
+            request.setStatus(AdoptionStatus.PENDING);
+            insert(request);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        CatalogVersion.petChanged(request.getPetId());
+        return true;
+    }
+
+    @Override
+    public Optional<Long> approvePending(Long requestId) {
+        BulkDecision decision = approvePendingAll(List.of(requestId));
+        return decision.getDecided().isEmpty() ? Optional.empty() : Optional.of(petOf(requestId));
+    }
+
+    @Override
+    public Optional<Long> rejectPending(Long requestId) {
+        BulkDecision decision = rejectPendingAll(List.of(requestId));
+        return decision.getDecided().isEmpty() ? Optional.empty() : Optional.of(petOf(requestId));
+    }
+
+    @Override
+    public BulkDecision approvePendingAll(Collection<Long> requestIds) {
+        List<Long> approved = new ArrayList<>();
+        List<Long> autoRejected = new ArrayList<>();
+        Set<Long> petIds = new HashSet<>();
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            // Oldest selected request per pet wins, as in the JDBC DAO.
+            List<AdoptionRequest> selected = pendingIn(requestIds);
+            selected.sort(Comparator.comparing(AdoptionRequest::getPetId)
+                    .thenComparing(AdoptionRequest::getRequestedAt)
+                    .thenComparing(AdoptionRequest::getId));
+            LocalDateTime now = LocalDateTime.now();
+            for (AdoptionRequest request : selected) {
+                if (petIds.add(request.getPetId())) {
+                    decide(request, AdoptionStatus.APPROVED, now);
+                    approved.add(request.getId());
+                    Pet pet = store.pets.get(request.getPetId());
+                    if (pet != null) {
+                        pet.setStatus(PetStatus.ADOPTED);
+                        pet.setUpdatedAt(LocalDateTime.now());
+                    }
+                }
+            }
+            for (AdoptionRequest request : store.requests.values()) {
+                if (request.getStatus() == AdoptionStatus.PENDING && petIds.contains(request.getPetId())) {
+                    decide(request, AdoptionStatus.REJECTED, now);
+                    autoRejected.add(request.getId());
+                }
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        petIds.forEach(CatalogVersion::petChanged);
+        return new BulkDecision(approved, autoRejected);
+    }
+
+    @Override
+    public BulkDecision rejectPendingAll(Collection<Long> requestIds) {
+        List<Long> rejected = new ArrayList<>();
+        Set<Long> petIds = new HashSet<>();
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (AdoptionRequest request : pendingIn(requestIds)) {
+                decide(request, AdoptionStatus.REJECTED, now);
+                rejected.add(request.getId());
+                petIds.add(request.getPetId());
+            }
+            for (AdoptionRequest request : store.requests.values()) {
+                if (request.getStatus() == AdoptionStatus.PENDING) {
+                    petIds.remove(request.getPetId());
+                }
+            }
+            for (Long petId : petIds) {
+                Pet pet = store.pets.get(petId);
+                if (pet != null && pet.getStatus() == PetStatus.PENDING) {
+                    pet.setStatus(PetStatus.AVAILABLE);
+                    pet.setUpdatedAt(LocalDateTime.now());
+                }
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        petIds.forEach(CatalogVersion::petChanged);
+        return new BulkDecision(rejected, List.of());
+    }
+
+    private void insert(AdoptionRequest request) {
+        request.setId(store.nextRequestId++);
+        request.setRequestedAt(LocalDateTime.now());
+        store.requests.put(request.getId(), InMemoryStore.copy(request));
+    }
+
+    private List<AdoptionRequest> pendingIn(Collection<Long> requestIds) {
+        List<AdoptionRequest> result = new ArrayList<>();
+        for (Long id : new HashSet<>(requestIds)) {
+            AdoptionRequest request = store.requests.get(id);
+            if (request != null && request.getStatus() == AdoptionStatus.PENDING) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+
+    private static void decide(AdoptionRequest request, AdoptionStatus status, LocalDateTime now) {
+        request.setStatus(status);
+        request.setProcessedAt(now);
+    }
+
+    private Long petOf(Long requestId) {
+        store.lock.readLock().lock();
+        try {
+            return store.requests.get(requestId).getPetId();
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.petadoption.loadtest.memory;
+
+import com.petadoption.dao.AdoptionRequestDAO;
+import com.petadoption.dao.DAOProvider;
+import com.petadoption.dao.PetDAO;
+import com.petadoption.dao.UserDAO;
+
+/**
+ * In-memory stand-in for PostgreSQL, selected with
+ * {@code -Dpetadoption.dao.provider=com.petadoption.loadtest.memory.InMemoryDAOProvider}.
+ * The DAOs share one {@link InMemoryStore}, seeded as described there.
+ */
+public class InMemoryDAOProvider implements DAOProvider {
+
+    private final InMemoryStore store = new InMemoryStore();
+
+    @Override
+    public PetDAO createPetDAO() {
+        return new InMemoryPetDAO(store);
+    }
+
+    @Override
+    public UserDAO createUserDAO() {
+        return new InMemoryUserDAO(store);
+    }
+
+    @Override
+    public AdoptionRequestDAO createAdoptionRequestDAO() {
+        return new InMemoryAdoptionRequestDAO(store);
+    }
+}
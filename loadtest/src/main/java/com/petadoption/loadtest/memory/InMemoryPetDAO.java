@@ -0,0 +1,318 @@
+package com.petadoption.loadtest.memory;
+
+import com.petadoption.dao.CatalogVersion;
+import com.petadoption.dao.PetDAO;
+import com.petadoption.dao.RowHandler;
+import com.petadoption.model.Dog;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetSort;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PetDAO} over {@link InMemoryStore}. Filters follow the SQL ones: breed and the
+ * search term are case-insensitive substring matches (the search term against name,
+ * breed and description, standing in for full-text search), ages are inclusive.
+ */
+class InMemoryPetDAO implements PetDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryPetDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Pet> findPageFiltered(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                      String breed, String nameQuery, int offset, int limit) {
+        Predicate<Pet> filter = filter(status, type, ageMin, ageMax, breed, nameQuery);
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            List<Pet> page = new ArrayList<>();
+            int skipped = 0;
+            for (Pet pet : store.listing) {
+                if (!filter.test(pet)) {
+                    continue;
+                }
+                if (skipped++ < offset) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(InMemoryStore.copy(pet));
+            }
+            return page;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Pet> findPageAfter(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                   String breed, String nameQuery, PetCursor cursor, boolean backward, int limit) {
+        Predicate<Pet> filter = filter(status, type, ageMin, ageMax, breed, nameQuery);
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            NavigableSet<Pet> ordered = store.listing;
+            if (cursor != null) {
+                ordered = backward ? ordered.headSet(cursorPet(cursor), false) : ordered.tailSet(cursorPet(cursor), false);
+            }
+            if (backward) {
+                ordered = ordered.descendingSet();
+            }
+            List<Pet> page = new ArrayList<>();
+            for (Pet pet : ordered) {
+                if (page.size() == limit) {
+                    break;
+                }
+                if (filter.test(pet)) {
+                    page.add(InMemoryStore.copy(pet));
+                }
+            }
+            if (backward) {
+                Collections.reverse(page);
+            }
+            return page;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Pet> searchRanked(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                  String breed, String query, int offset, int limit) {
+        // No relevance model here; recency order is what the JDBC DAO falls back to as well.
+        return findPageFiltered(status, type, ageMin, ageMax, breed, query, offset, limit);
+    }
+
+    @Override
+    public List<Pet> findAdminPage(PetStatus status, PetSort sort, boolean ascending, int offset, int limit) {
+        Comparator<Pet> order = adminOrder(sort);
+        if (!ascending) {
+            order = order.reversed();
+        }
+        order = order.thenComparing(Pet::getId);
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            return store.pets.values().stream()
+                    .filter(p -> status == null || p.getStatus() == status)
+                    .sorted(order)
+                    .skip(offset)
+                    .limit(limit)
+                    .map(InMemoryStore::copy)
+                    .collect(Collectors.toList());
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void streamPets(PetStatus status, LocalDateTime from, LocalDateTime to, RowHandler<Pet> handler)
+            throws IOException {
+        List<Pet> rows = new ArrayList<>();
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            for (Pet pet : store.pets.values()) {
+                if ((status == null || pet.getStatus() == status)
+                        && (from == null || !pet.getCreatedAt().isBefore(from))
+                        && (to == null || pet.getCreatedAt().isBefore(to))) {
+                    rows.add(InMemoryStore.copy(pet));
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        for (Pet pet : rows) {
+            handler.handle(pet);
+        }
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            Pet pet = store.pets.get(id);
+            return pet == null ? Optional.empty() : Optional.of(InMemoryStore.copy(pet));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(Pet pet) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            pet.setId(null);
+            store.putPet(pet);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        CatalogVersion.petChanged(pet.getId());
+    }
+
+    @Override
+    public void insertAll(List<Pet> pets) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            for (Pet pet : pets) {
+                pet.setId(null);
+                store.putPet(pet);
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        CatalogVersion.bump();
+    }
+
+    @Override
+    public void update(Pet pet) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            Pet existing = store.pets.get(pet.getId());
+            if (existing == null) {
+                return;
+            }
+            pet.setCreatedAt(existing.getCreatedAt());
+            if (Objects.equals(existing.getImagePath(), pet.getImagePath())) {
+                pet.setImageThumbPath(existing.getImageThumbPath());
+                pet.setImageMediumPath(existing.getImageMediumPath());
+            } else {
+                pet.setImageThumbPath(null);
+                pet.setImageMediumPath(null);
+            }
+            store.putPet(pet);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        CatalogVersion.petChanged(pet.getId());
+    }
+
+    @Override
+    public boolean updateImageVariants(Long id, String imagePath, String thumbPath, String mediumPath) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            Pet existing = store.pets.get(id);
+            if (existing == null || !Objects.equals(existing.getImagePath(), imagePath)) {
+                return false;
+            }
+            existing.setImageThumbPath(thumbPath);
+            existing.setImageMediumPath(mediumPath);
+            existing.setUpdatedAt(LocalDateTime.now());
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        CatalogVersion.petChanged(id);
+        return true;
+    }
+
+    @Override
+    public void delete(Long id) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            store.removePet(id);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        CatalogVersion.petChanged(id);
+    }
+
+    @Override
+    public void updateStatus(Long id, PetStatus status) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            Pet pet = store.pets.get(id);
+            if (pet != null) {
+                pet.setStatus(status);
+                pet.setUpdatedAt(LocalDateTime.now());
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        CatalogVersion.petChanged(id);
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            List<Pet> all = new ArrayList<>();
+            for (Pet pet : store.listing) {
+                all.add(InMemoryStore.copy(pet));
+            }
+            return all;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    private static Predicate<Pet> filter(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                         String breed, String query) {
+        String breedNeedle = needle(breed);
+        String queryNeedle = needle(query);
+        return pet -> (status == null || pet.getStatus() == status)
+                && (type == null || pet.getType() == type)
+                && (ageMin == null || pet.getAgeYears() >= ageMin)
+                && (ageMax == null || pet.getAgeYears() <= ageMax)
+                && (breedNeedle == null || contains(pet.getBreed(), breedNeedle))
+                && (queryNeedle == null || contains(pet.getName(), queryNeedle)
+                        || contains(pet.getBreed(), queryNeedle) || contains(pet.getDescription(), queryNeedle));
+    }
+
+    private static String needle(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean contains(String haystack, String needle) {
+        return haystack != null && haystack.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private static Pet cursorPet(PetCursor cursor) {
+        Pet probe = new Dog(cursor.getId(), null, null, 0, null, null, null);
+        probe.setCreatedAt(cursor.getCreatedAt());
+        return probe;
+    }
+
+    private static Comparator<Pet> adminOrder(PetSort sort) {
+        switch (sort) {
+            case NAME:
+                return Comparator.comparing(Pet::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+            case TYPE:
+                return Comparator.comparing(p -> p.getType().name());
+            case BREED:
+                return Comparator.comparing(Pet::getBreed, Comparator.nullsLast(Comparator.naturalOrder()));
+            case AGE:
+                return Comparator.comparingInt(Pet::getAgeYears);
+            case STATUS:
+                return Comparator.comparing(p -> p.getStatus().name());
+            default:
+                return Comparator.comparing(Pet::getCreatedAt);
+        }
+    }
+}
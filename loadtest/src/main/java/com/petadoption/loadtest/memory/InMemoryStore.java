@@ -0,0 +1,187 @@
+package com.petadoption.loadtest.memory;
+
+import com.petadoption.model.Adopter;
+import com.petadoption.model.AdoptionRequest;
+import com.petadoption.model.Cat;
+import com.petadoption.model.Dog;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+import com.petadoption.model.User;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.PasswordUtil;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tables shared by the in-memory DAOs. Reads take the read lock and writes the write lock,
+ * so concurrent requests contend roughly the way row locks would rather than serialising.
+ * Pets handed out are copies, as they would be when mapped from a result set.
+ *
+ * <p>Seeded on creation from these properties:
+ * <ul>
+ *   <li>{@code loadtest.pets} (10000): pets, all AVAILABLE, ids from 1</li>
+ *   <li>{@code loadtest.users} (256): adopters {@code loadtest-<n>@example.test} with
+ *       password {@link #USER_PASSWORD}, n from 1</li>
+ *   <li>{@code loadtest.seed} (42): random seed for names, breeds and ages</li>
+ *   <li>{@code loadtest.memory.latencyMicros} (0): simulated database round trip added
+ *       to every DAO call, outside any lock</li>
+ *   <li>{@code loadtest.memory.connections} (0 = unlimited): round trips in progress at
+ *       once, as a connection pool of that size would allow</li>
+ * </ul>
+ */
+final class InMemoryStore {
+
+    static final String USER_PASSWORD = "loadtest-password";
+
+    /** Listing order: newest first, id as the tie-breaker. */
+    static final Comparator<Pet> NEWEST_FIRST = Comparator.comparing(Pet::getCreatedAt)
+            .thenComparing(Pet::getId).reversed();
+
+    private static final String[] NAMES = {"Bella", "Max", "Luna", "Charlie", "Daisy", "Rocky", "Milo", "Coco",
+            "Bailey", "Lucy", "Oscar", "Nala", "Simba", "Rosie", "Teddy", "Willow"};
+    private static final String[] DOG_BREEDS = {"Labrador Retriever", "Beagle", "German Shepherd", "Poodle",
+            "Golden Retriever", "Mixed"};
+    private static final String[] CAT_BREEDS = {"Siamese", "Maine Coon", "Persian", "Domestic Shorthair", "Mixed"};
+
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    final TreeMap<Long, Pet> pets = new TreeMap<>();
+    /** The same pets in listing order, standing in for the (created_at, id) index. */
+    final NavigableSet<Pet> listing = new TreeSet<>(NEWEST_FIRST);
+    final Map<Long, User> users = new HashMap<>();
+    final Map<String, User> usersByEmail = new HashMap<>();
+    final TreeMap<Long, AdoptionRequest> requests = new TreeMap<>();
+    long nextPetId = 1;
+    long nextUserId = 1;
+    long nextRequestId = 1;
+
+    private final long latencyNanos;
+    private final Semaphore connections;
+
+    InMemoryStore() {
+        this.latencyNanos = AppConfig.getLong("loadtest.memory.latencyMicros", 0) * 1_000;
+        int maxConnections = AppConfig.getInt("loadtest.memory.connections", 0);
+        this.connections = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        seed(AppConfig.getInt("loadtest.pets", 10_000), AppConfig.getInt("loadtest.users", 256),
+                AppConfig.getLong("loadtest.seed", 42));
+    }
+
+    /** Simulated database round trip; call outside the lock. */
+    void roundTrip() {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        if (connections == null) {
+            LockSupport.parkNanos(latencyNanos);
+            return;
+        }
+        connections.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(latencyNanos);
+        } finally {
+            connections.release();
+        }
+    }
+
+    void putPet(Pet pet) {
+        if (pet.getId() == null) {
+            pet.setId(nextPetId++);
+        } else {
+            nextPetId = Math.max(nextPetId, pet.getId() + 1);
+        }
+        if (pet.getCreatedAt() == null) {
+            pet.setCreatedAt(LocalDateTime.now());
+        }
+        pet.setUpdatedAt(LocalDateTime.now());
+        Pet stored = copy(pet);
+        removePet(pet.getId());
+        pets.put(stored.getId(), stored);
+        listing.add(stored);
+    }
+
+    void removePet(Long id) {
+        Pet removed = pets.remove(id);
+        if (removed != null) {
+            listing.remove(removed);
+        }
+    }
+
+    void putUser(User user) {
+        if (user.getId() == null) {
+            user.setId(nextUserId++);
+        }
+        users.put(user.getId(), user);
+        usersByEmail.put(user.getEmail(), user);
+    }
+
+    static Pet copy(Pet pet) {
+        Pet copy;
+        switch (pet.getType()) {
+            case DOG:
+                copy = new Dog(pet.getId(), pet.getName(), pet.getBreed(), pet.getAgeYears(),
+                        pet.getDescription(), pet.getImagePath(), pet.getStatus());
+                break;
+            case CAT:
+                copy = new Cat(pet.getId(), pet.getName(), pet.getBreed(), pet.getAgeYears(),
+                        pet.getDescription(), pet.getImagePath(), pet.getStatus());
+                break;
+            default:
+                copy = new Pet(pet.getId(), pet.getName(), pet.getType(), pet.getBreed(), pet.getAgeYears(),
+                        pet.getDescription(), pet.getImagePath(), pet.getStatus()) {
+                    @Override
+                    public double getAdoptionFee() {
+                        return 1500.0;
+                    }
+                };
+        }
+        copy.setImageThumbPath(pet.getImageThumbPath());
+        copy.setImageMediumPath(pet.getImageMediumPath());
+        copy.setCreatedAt(pet.getCreatedAt());
+        copy.setUpdatedAt(pet.getUpdatedAt());
+        return copy;
+    }
+
+    static AdoptionRequest copy(AdoptionRequest request) {
+        AdoptionRequest copy = new AdoptionRequest();
+        copy.setId(request.getId());
+        copy.setPetId(request.getPetId());
+        copy.setAdopterId(request.getAdopterId());
+        copy.setMessage(request.getMessage());
+        copy.setStatus(request.getStatus());
+        copy.setRequestedAt(request.getRequestedAt());
+        copy.setProcessedAt(request.getProcessedAt());
+        return copy;
+    }
+
+    private void seed(int petCount, int userCount, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime base = LocalDateTime.now();
+        for (int i = 0; i < petCount; i++) {
+            int roll = random.nextInt(10);
+            PetType type = roll < 5 ? PetType.DOG : roll < 9 ? PetType.CAT : PetType.OTHER;
+            String breed = type == PetType.DOG ? DOG_BREEDS[random.nextInt(DOG_BREEDS.length)]
+                    : type == PetType.CAT ? CAT_BREEDS[random.nextInt(CAT_BREEDS.length)] : null;
+            Pet pet = new Dog(null, NAMES[random.nextInt(NAMES.length)], breed, random.nextInt(16),
+                    "Friendly, house-trained and good with children. Loves walks and naps in the sun.",
+                    null, PetStatus.AVAILABLE);
+            pet.setType(type); // putPet stores a copy of the class matching the type
+            pet.setCreatedAt(base.minusMinutes(i));
+            putPet(pet);
+        }
+        // Same hash for every seeded adopter; hashing thousands of passwords would only slow startup.
+        String hash = PasswordUtil.hashPassword(USER_PASSWORD);
+        for (int i = 1; i <= userCount; i++) {
+            putUser(new Adopter(null, "loadtest-" + i + "@example.test", hash, "Load Test " + i));
+        }
+    }
+}
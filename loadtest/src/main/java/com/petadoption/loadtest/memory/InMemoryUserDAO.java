@@ -0,0 +1,60 @@
+package com.petadoption.loadtest.memory;
+
+import com.petadoption.dao.UserDAO;
+import com.petadoption.model.User;
+import com.petadoption.util.PasswordUtil;
+
+import java.util.Optional;
+
+/** {@link UserDAO} over {@link InMemoryStore}. */
+class InMemoryUserDAO implements UserDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryUserDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            return Optional.ofNullable(store.usersByEmail.get(email));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        store.roundTrip();
+        store.lock.readLock().lock();
+        try {
+            return Optional.ofNullable(store.users.get(id));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(User user) {
+        store.roundTrip();
+        store.lock.writeLock().lock();
+        try {
+            if (store.usersByEmail.containsKey(user.getEmail())) {
+                // The unique index on users.email would reject this insert too.
+                throw new RuntimeException("Error saving user: duplicate email " + user.getEmail());
+            }
+            user.setId(null);
+            store.putUser(user);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean verifyPassword(User user, String rawPassword) {
+        return PasswordUtil.matches(rawPassword, user.getPasswordHash());
+    }
+}
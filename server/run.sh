@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Builds the application and the executable server jar (with its AppCDS archive), then
+# serves the application from it. Works offline once the Maven dependencies are in the
+# local repository.
+#
+#   server/run.sh
+#   JAVA_OPTS="-Dpetadoption.db.url=jdbc:postgresql://localhost:5432/pet_adoption" server/run.sh
+#
+# The archive only matches the jar it was recorded with, so both paths are absolute and
+# must not change between the build and the run.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+mvn -B -q -o -DskipTests install 2>/dev/null || mvn -B -q -DskipTests install
+# clean: the shaded jar replaces the module jar, and re-shading a stale one keeps the
+# application classes from the previous build.
+mvn -B -q -o -f server/pom.xml clean package 2>/dev/null || mvn -B -q -f server/pom.xml clean package
+
+exec java -XX:SharedArchiveFile="$(pwd)/server/target/pet-adoption-server.jsa" ${JAVA_OPTS:-} \
+    -jar "$(pwd)/server/target/pet-adoption-server.jar" "$@"
@@ -0,0 +1,334 @@
+package com.petadoption.server;
+
+import com.petadoption.util.AppConfig;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.core.StandardThreadExecutor;
+import org.apache.catalina.loader.WebappLoader;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.jasper.compiler.JspUtil;
+import org.apache.tomcat.util.scan.StandardJarScanFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Runs the application in embedded Tomcat from this jar, without a separately installed
+ * container. Web resources are unpacked from {@code webapp/} in the jar at startup; classes
+ * load from the jar's class path, so the JVM can map them from a CDS archive.
+ *
+ * <p>Settings ({@link AppConfig}, so system properties or environment variables):
+ * <pre>
+ *   petadoption.server.port (8080), petadoption.server.contextPath ("" = root)
+ *   petadoption.server.maxThreads (200)        request threads
+ *   petadoption.server.minSpareThreads (25)    started with the server, kept when idle
+ *   petadoption.server.acceptCount (100)       accept backlog once maxConnections is reached
+ *   petadoption.server.maxConnections (8192), petadoption.server.connectionTimeoutMillis (20000)
+ *   petadoption.server.workDir                 kept between runs (reuses compiled JSPs);
+ *                                              a temporary directory when unset
+ * </pre>
+ * JSPs compiled by the build are mapped directly to their servlet classes.
+ * Arguments: none to serve until stopped; {@code --train} to start, send a few requests and
+ * exit (the build runs this under {@code -XX:ArchiveClassesAtExit}); {@code --measure} to
+ * print the time from JVM start to the first served request and to readiness, with
+ * optional {@code --label=}, {@code --report=<file>} and {@code --budget-millis=}.
+ */
+public final class EmbeddedServer implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(EmbeddedServer.class.getName());
+    private static final String WEBAPP = "webapp/";
+    // Jasper's default base package for generated JSP servlets, which JspC uses as well.
+    private static final String JSP_PACKAGE = "org.apache.jsp";
+    private static final Set<String> OPTIONS = Set.of("train", "measure", "label", "report", "budget-millis");
+    private static final List<String> TRAINING_PATHS = List.of("/login", "/register", "/pets", "/pets?type=DOG",
+            "/pets?q=friendly&sort=relevance", "/pet?id=1", "/admin", "/assets/css/styles.css", "/ready", "/missing");
+    private static final long READY_TIMEOUT_MILLIS = 120_000;
+
+    private final Tomcat tomcat;
+    private final Path baseDir;
+    private final boolean temporary;
+    private final String contextPath;
+
+    private EmbeddedServer(Tomcat tomcat, Path baseDir, boolean temporary, String contextPath) {
+        this.tomcat = tomcat;
+        this.baseDir = baseDir;
+        this.temporary = temporary;
+        this.contextPath = contextPath;
+    }
+
+    public static EmbeddedServer start() throws Exception {
+        String workDir = AppConfig.get("petadoption.server.workDir", null);
+        Path baseDir = workDir == null ? Files.createTempDirectory("pet-adoption-server") : Path.of(workDir);
+        Path docBase = baseDir.resolve("webapp");
+        unpackWebapp(docBase);
+        Files.createDirectories(baseDir.resolve("webapps"));
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.getHost().setAutoDeploy(false);
+
+        // One explicitly sized pool for request processing. The executor starts its spare
+        // threads up front, so the first requests do not pay for creating them.
+        StandardThreadExecutor executor = new StandardThreadExecutor();
+        executor.setName("http-executor");
+        executor.setNamePrefix("http-exec-");
+        executor.setMaxThreads(AppConfig.getInt("petadoption.server.maxThreads", 200));
+        executor.setMinSpareThreads(AppConfig.getInt("petadoption.server.minSpareThreads", 25));
+        tomcat.getService().addExecutor(executor);
+
+        Connector connector = new Connector("org.apache.coyote.http11.Http11NioProtocol");
+        connector.setPort(AppConfig.getInt("petadoption.server.port", 8080));
+        AbstractProtocol<?> protocol = (AbstractProtocol<?>) connector.getProtocolHandler();
+        protocol.setExecutor(executor);
+        protocol.setAcceptCount(AppConfig.getInt("petadoption.server.acceptCount", 100));
+        protocol.setMaxConnections(AppConfig.getInt("petadoption.server.maxConnections", 8192));
+        protocol.setConnectionTimeout(AppConfig.getInt("petadoption.server.connectionTimeoutMillis", 20_000));
+        tomcat.setConnector(connector);
+
+        String contextPath = AppConfig.get("petadoption.server.contextPath", "");
+        Context context = tomcat.addWebapp(contextPath, docBase.toString());
+        // Application classes and libraries are on this jar's class path, not in WEB-INF.
+        WebappLoader loader = new WebappLoader();
+        loader.setDelegate(true);
+        context.setLoader(loader);
+        context.setParentClassLoader(EmbeddedServer.class.getClassLoader());
+        // JSPs ship with the jar and never change while it runs: skip per-request staleness checks.
+        Wrapper jsp = (Wrapper) context.findChild("jsp");
+        if (jsp != null) {
+            jsp.addInitParameter("development", "false");
+        }
+        if (registerPrecompiledJsps(context, docBase) > 0) {
+            // Nothing left for the warm-up to compile.
+            System.setProperty("petadoption.warmup.precompileJsp", "false");
+        }
+        // The application has no web fragments or container initializers of its own; scanning
+        // every class in this jar for them is most of a cold context start.
+        ((StandardJarScanFilter) context.getJarScanner().getJarScanFilter()).setPluggabilitySkip("*");
+
+        tomcat.start();
+        EmbeddedServer server = new EmbeddedServer(tomcat, baseDir, workDir == null, contextPath);
+        LOGGER.info("Serving on port " + server.port() + " after "
+                + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+        return server;
+    }
+
+    /**
+     * Maps each JSP the build compiled with JspC straight to its generated servlet class, so the
+     * JSP compiler never runs for it. JSPs without a class still go through the JSP servlet.
+     */
+    private static int registerPrecompiledJsps(Context context, Path docBase) throws IOException {
+        ClassLoader classLoader = EmbeddedServer.class.getClassLoader();
+        List<Path> jspFiles;
+        try (Stream<Path> files = Files.walk(docBase)) {
+            jspFiles = files.filter(file -> file.toString().endsWith(".jsp")).sorted().toList();
+        }
+        int count = 0;
+        for (Path file : jspFiles) {
+            String uri = "/" + docBase.relativize(file).toString().replace('\\', '/');
+            // Same naming as JspCompilationContext, which JspC used to generate the class.
+            int slash = uri.lastIndexOf('/');
+            String packageName = slash > 0 ? "." + JspUtil.makeJavaPackage(uri.substring(1, slash)) : "";
+            String className = JSP_PACKAGE + packageName + "."
+                    + JspUtil.makeJavaIdentifier(uri.substring(slash + 1));
+            if (classLoader.getResource(className.replace('.', '/') + ".class") == null) {
+                continue;
+            }
+            String name = "jspc-" + className;
+            Tomcat.addServlet(context, name, className);
+            context.addServletMappingDecoded(uri, name);
+            count++;
+        }
+        LOGGER.info("Mapped " + count + " precompiled JSP(s)");
+        return count;
+    }
+
+    public int port() {
+        return tomcat.getConnector().getLocalPort();
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            tomcat.stop();
+            tomcat.destroy();
+        } finally {
+            if (temporary) {
+                deleteRecursively(baseDir);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        EmbeddedServer server = start();
+        if (options.containsKey("train")) {
+            train(server);
+        } else if (options.containsKey("measure")) {
+            measure(server, options);
+        } else {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "Error stopping server", e);
+                }
+            }, "server-shutdown"));
+            server.tomcat.getServer().await();
+        }
+    }
+
+    /** Loads the classes a normal start and the common pages need, for the CDS archive. */
+    private static void train(EmbeddedServer server) throws Exception {
+        awaitReady(server);
+        for (int round = 0; round < 3; round++) {
+            for (String path : TRAINING_PATHS) {
+                server.get(path);
+            }
+        }
+        server.close();
+        System.exit(0);
+    }
+
+    private static void measure(EmbeddedServer server, Map<String, String> options) throws Exception {
+        int status = server.get("/login");
+        long firstRequestMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        awaitReady(server);
+        long readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        server.close();
+
+        String line = String.format("%s: first request (HTTP %d) %d ms, ready %d ms after JVM start; Java %s",
+                options.getOrDefault("label", "startup"), status, firstRequestMillis, readyMillis,
+                Runtime.version());
+        System.out.println(line);
+        if (options.containsKey("report")) {
+            Path report = Path.of(options.get("report"));
+            Files.writeString(report, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        long budget = Long.parseLong(options.getOrDefault("budget-millis", "0"));
+        if (status != 200 || (budget > 0 && firstRequestMillis > budget)) {
+            System.err.println("Startup check failed: expected HTTP 200 within " + budget + " ms");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static void awaitReady(EmbeddedServer server) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MILLIS;
+        while (server.get("/ready") != 200) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Not ready after " + READY_TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * Minimal HTTP/1.1 GET returning the status code. A raw socket keeps the measurement from
+     * paying for loading an HTTP client.
+     */
+    private int get(String path) throws IOException {
+        try (Socket socket = new Socket("localhost", port())) {
+            socket.setSoTimeout(30_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + contextPath + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+            String statusLine = reader.readLine();
+            char[] buffer = new char[8192];
+            while (reader.read(buffer) >= 0) {
+                // drain the response so the server never sees a reset connection
+            }
+            if (statusLine == null || statusLine.split(" ").length < 2) {
+                throw new IOException("No HTTP response for " + path);
+            }
+            return Integer.parseInt(statusLine.split(" ")[1]);
+        }
+    }
+
+    /** Copies {@code webapp/} from this jar (or class directory, when run from an IDE) to {@code target}. */
+    private static void unpackWebapp(Path target) throws IOException, URISyntaxException {
+        Path source = Path.of(EmbeddedServer.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Files.createDirectories(target);
+        if (Files.isDirectory(source)) {
+            Path root = source.resolve(WEBAPP);
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(Files::isRegularFile).forEach(file -> copy(file, target.resolve(root.relativize(file).toString())));
+            }
+            return;
+        }
+        try (JarFile jar = new JarFile(source.toFile())) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.isDirectory() || !entry.getName().startsWith(WEBAPP)) {
+                    continue;
+                }
+                Path file = target.resolve(entry.getName().substring(WEBAPP.length()));
+                Files.createDirectories(file.getParent());
+                try (InputStream in = jar.getInputStream(entry)) {
+                    Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static void copy(Path from, Path to) {
+        try {
+            Files.createDirectories(to.getParent());
+            Files.copy(from, to, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            if (!arg.startsWith("--") || !OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option " + arg + "; expected one of " + OPTIONS);
+            }
+            options.put(name, eq < 0 ? "" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,48 @@
+package com.petadoption.cache;
+
+/**
+ * Point-in-time counters for a {@link TinyLfuCache}.
+ */
+public class CacheStats {
+
+    private final String name;
+    private final long size;
+    private final long maximumSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+
+    CacheStats(String name, long size, long maximumSize, long hits, long misses,
+               long evictions, long expirations, long invalidations) {
+        this.name = name;
+        this.size = size;
+        this.maximumSize = maximumSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    public String getName() { return name; }
+    public long getSize() { return size; }
+    public long getMaximumSize() { return maximumSize; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getExpirations() { return expirations; }
+    public long getInvalidations() { return invalidations; }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: size=%d/%d hits=%d misses=%d hitRate=%.3f evictions=%d expirations=%d invalidations=%d",
+                name, size, maximumSize, hits, misses, getHitRate(), evictions, expirations, invalidations);
+    }
+}
@@ -0,0 +1,78 @@
+package com.petadoption.cache;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch of 4-bit counters used by {@link TinyLfuCache} to estimate
+ * how often a key has been requested recently. Once the number of recorded
+ * events reaches ten times the cache capacity every counter is halved, so the
+ * estimate follows changes in popularity instead of accumulating forever.
+ *
+ * <p>Not thread-safe; the owning cache serialises access.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0xc3a5c85c, 0x9ae16a3b, 0x2c1b3c6d};
+
+    private final int[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int width = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 1;
+        this.table = new int[width * DEPTH];
+        this.mask = width - 1;
+        this.sampleSize = Math.max(10 * maximumSize, 160);
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table[index(hash, i)]);
+        }
+        return min;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int idx = index(hash, i);
+            if (table[idx] < MAX_COUNT) {
+                table[idx]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(table, 0);
+        additions = 0;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions >>>= 1;
+    }
+
+    private int index(int hash, int row) {
+        int h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 17;
+        return row * (mask + 1) + (h & mask);
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,295 @@
+package com.petadoption.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory cache with W-TinyLFU eviction and expire-after-write.
+ *
+ * <p>New entries land in a small LRU "window" (1% of capacity). Entries leaving
+ * the window compete with the LRU victim of the main segmented-LRU region, and
+ * whichever key the {@link FrequencySketch} says was requested more often
+ * stays. This keeps one-off lookups (crawlers walking every id) from flushing
+ * the genuinely popular entries, which plain LRU would do.
+ *
+ * <p>All operations take the cache's monitor; critical sections are a few
+ * pointer swaps, which is cheap next to the database round trip a hit saves.
+ */
+public class TinyLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final String name;
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final long ttlNanos;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final FrequencySketch sketch;
+    private long invalidationStamp;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param ttl maximum time an entry is served after it was written; {@code null} or zero disables expiry
+     */
+    public TinyLfuCache(String name, int maximumSize, Duration ttl) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache maximumSize must be at least 1");
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (int) ((maximumSize - windowMaximum) * 0.8);
+        this.ttlNanos = ttl == null || ttl.isZero() ? 0 : ttl.toNanos();
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public synchronized V getIfPresent(K key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(node, System.nanoTime())) {
+            remove(node);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        onAccess(node);
+        hits.increment();
+        return node.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            node.value = value;
+            node.writeTime = System.nanoTime();
+            onAccess(node);
+            return;
+        }
+
+        node = new Node<>(key, value, System.nanoTime());
+        data.put(key, node);
+        sketch.increment(key);
+        window.addLast(node);
+        node.queue = WINDOW;
+
+        if (window.size > windowMaximum) {
+            Node<K, V> candidate = window.removeFirst();
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+            if (data.size() > maximumSize) {
+                evict(candidate);
+            }
+        }
+        while (data.size() > maximumSize) {
+            evict(null);
+        }
+    }
+
+    /**
+     * Stamp to pass to {@link #putIfNotInvalidatedSince}. Read it before loading a value
+     * from the source of truth.
+     */
+    public synchronized long invalidationStamp() {
+        return invalidationStamp;
+    }
+
+    /**
+     * Stores {@code value} unless an invalidation happened after {@code stamp} was taken, so a
+     * load that raced with a write cannot put the pre-write value back into the cache.
+     */
+    public synchronized boolean putIfNotInvalidatedSince(K key, V value, long stamp) {
+        if (invalidationStamp != stamp) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidationStamp++;
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            remove(node);
+            invalidations.increment();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidationStamp++;
+        invalidations.add(data.size());
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+        // Frequencies of the dropped keys would otherwise bias admission for a while.
+        sketch.clear();
+    }
+
+    public synchronized int size() {
+        return data.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, size(), maximumSize, hits.sum(), misses.sum(),
+                evictions.sum(), expirations.sum(), invalidations.sum());
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return ttlNanos > 0 && now - node.writeTime >= ttlNanos;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                if (protectedQueue.size > protectedMaximum) {
+                    Node<K, V> demoted = protectedQueue.removeFirst();
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            default:
+                protectedQueue.moveToLast(node);
+                break;
+        }
+    }
+
+    /**
+     * Evicts either the window candidate or the main region's LRU victim, keeping whichever
+     * the sketch estimates to be more popular. Expired entries go first when present.
+     */
+    private void evict(Node<K, V> candidate) {
+        Node<K, V> victim = probation.head;
+        if (victim == candidate) {
+            victim = victim.next;
+        }
+        if (victim == null) {
+            victim = protectedQueue.head;
+        }
+        if (victim == null) {
+            victim = candidate != null ? candidate : window.head;
+        }
+
+        Node<K, V> evicted;
+        if (candidate == null || victim == candidate) {
+            evicted = victim;
+        } else if (isExpired(candidate, System.nanoTime())) {
+            evicted = candidate;
+        } else if (isExpired(victim, System.nanoTime())) {
+            evicted = victim;
+        } else {
+            evicted = sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+        }
+        remove(evicted);
+        evictions.increment();
+    }
+
+    private void remove(Node<K, V> node) {
+        data.remove(node.key);
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            default:
+                protectedQueue.remove(node);
+                break;
+        }
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        long writeTime;
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /** Intrusive doubly-linked LRU list; head is least recently used. */
+    private static final class AccessQueue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node<K, V> removeFirst() {
+            Node<K, V> node = head;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
@@ -2,8 +2,13 @@
 package com.petadoption.dao;
 
 import com.petadoption.model.AdoptionRequest;
+import com.petadoption.model.AdoptionRequestDetails;
 import com.petadoption.model.AdoptionStatus;
+import com.petadoption.model.BulkDecision;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +17,53 @@ public interface AdoptionRequestDAO {
     Optional<AdoptionRequest> findById(Long id);
     void updateStatus(Long id, AdoptionStatus status);
     List<AdoptionRequest> findByStatus(AdoptionStatus status);
+
+    /**
+     * Streams every request matching the optional filters to {@code handler} in id order
+     * without holding the result in memory. {@code from} is inclusive and {@code to}
+     * exclusive, both on {@code requested_at}.
+     */
+    void streamRequests(AdoptionStatus status, LocalDateTime from, LocalDateTime to,
+                        RowHandler<AdoptionRequest> handler) throws IOException;
+
+    /**
+     * Up to {@code limit} PENDING requests, newest first, each with its pet's name, type and
+     * status and its adopter's name and email, fetched in a single round trip.
+     */
+    List<AdoptionRequestDetails> findPendingWithDetails(int limit);
+
+    /**
+     * Atomically moves the pet from AVAILABLE to PENDING and records {@code request} as a
+     * PENDING request for it. Returns {@code false}, writing nothing, if the pet does not
+     * exist or has already been claimed; on success the generated id is set on {@code request}.
+     */
+    boolean submitIfPetAvailable(AdoptionRequest request);
+
+    /**
+     * Atomically approves a PENDING request and marks its pet ADOPTED.
+     *
+     * @return the pet id, or empty if the request does not exist or is no longer pending
+     */
+    Optional<Long> approvePending(Long requestId);
+
+    /**
+     * Atomically rejects a PENDING request and, unless another request for the pet is still
+     * pending, makes the pet AVAILABLE again.
+     *
+     * @return the pet id, or empty if the request does not exist or is no longer pending
+     */
+    Optional<Long> rejectPending(Long requestId);
+
+    /**
+     * Approves the given requests that are still PENDING, in one transaction. Only the
+     * oldest selected request per pet is approved; the pets become ADOPTED and every other
+     * pending request for them is rejected.
+     */
+    BulkDecision approvePendingAll(Collection<Long> requestIds);
+
+    /**
+     * Rejects the given requests that are still PENDING, in one transaction, and makes each
+     * affected pet AVAILABLE again unless it still has another pending request.
+     */
+    BulkDecision rejectPendingAll(Collection<Long> requestIds);
 }
@@ -0,0 +1,147 @@
+package com.petadoption.dao;
+
+import com.petadoption.cache.CacheStats;
+import com.petadoption.cache.TinyLfuCache;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetSort;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache for {@link PetDAO#findById} in front of another {@link PetDAO}.
+ * Writes go straight to the delegate and then drop the cached entry; listings are
+ * never cached here.
+ *
+ * <p>Cached {@link Pet} instances are shared between requests, so callers must
+ * treat them as read-only and go through {@link #update} to change a pet.
+ */
+public class CachingPetDAO implements PetDAO {
+
+    private final PetDAO delegate;
+    private final TinyLfuCache<Long, Pet> cache;
+
+    public CachingPetDAO(PetDAO delegate, int maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new TinyLfuCache<>("pets", maximumSize, ttl);
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        Pet cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = cache.invalidationStamp();
+        Optional<Pet> loaded = delegate.findById(id);
+        loaded.ifPresent(pet -> cache.putIfNotInvalidatedSince(id, pet, stamp));
+        return loaded;
+    }
+
+    @Override
+    public List<Pet> findPageFiltered(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                      String breed, String nameQuery, int offset, int limit) {
+        return delegate.findPageFiltered(status, type, ageMin, ageMax, breed, nameQuery, offset, limit);
+    }
+
+    @Override
+    public List<Pet> findPageAfter(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                   String breed, String nameQuery, PetCursor cursor, boolean backward, int limit) {
+        return delegate.findPageAfter(status, type, ageMin, ageMax, breed, nameQuery, cursor, backward, limit);
+    }
+
+    @Override
+    public List<Pet> searchRanked(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                  String breed, String query, int offset, int limit) {
+        return delegate.searchRanked(status, type, ageMin, ageMax, breed, query, offset, limit);
+    }
+
+    @Override
+    public List<Pet> findAdminPage(PetStatus status, PetSort sort, boolean ascending, int offset, int limit) {
+        return delegate.findAdminPage(status, sort, ascending, offset, limit);
+    }
+
+    @Override
+    public void streamPets(PetStatus status, LocalDateTime from, LocalDateTime to, RowHandler<Pet> handler)
+            throws IOException {
+        delegate.streamPets(status, from, to, handler);
+    }
+
+    @Override
+    public void save(Pet pet) {
+        delegate.save(pet);
+        if (pet.getId() != null) {
+            cache.invalidate(pet.getId());
+        }
+    }
+
+    @Override
+    public void insertAll(List<Pet> pets) {
+        // New ids cannot be cached yet; the delegate bumps CatalogVersion for the listings.
+        delegate.insertAll(pets);
+    }
+
+    @Override
+    public void update(Pet pet) {
+        try {
+            delegate.update(pet);
+        } finally {
+            cache.invalidate(pet.getId());
+        }
+    }
+
+    @Override
+    public boolean updateImageVariants(Long id, String imagePath, String thumbPath, String mediumPath) {
+        try {
+            return delegate.updateImageVariants(id, imagePath, thumbPath, mediumPath);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        try {
+            delegate.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public void updateStatus(Long id, PetStatus status) {
+        try {
+            delegate.updateStatus(id, status);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Drops the cached copy of one pet, or of every pet when {@code id} is {@code null}.
+     * Registered as a {@link CatalogVersion.Listener} so writes made outside this DAO
+     * (e.g. adoption workflow statements that also touch {@code pets}) are seen too.
+     */
+    public void invalidate(Long id) {
+        if (id == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(id);
+        }
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+}
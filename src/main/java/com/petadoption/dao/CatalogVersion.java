@@ -0,0 +1,66 @@
+package com.petadoption.dao;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide version of the pet catalog. Every code path that writes to the
+ * {@code pets} table calls {@link #petChanged} (or {@link #bump()} when no
+ * single pet is involved) once the write has been issued, so anything derived
+ * from pet data (listing caches, page validators) can tag itself with
+ * {@link #current()} and notice when it has gone stale. Registered listeners
+ * are told which pet changed so per-pet caches can drop just that entry.
+ */
+public class CatalogVersion {
+
+    public interface Listener {
+        /**
+         * @param petId the pet that changed, or {@code null} when any pet may have changed
+         */
+        void petChanged(Long petId);
+    }
+
+    private static final AtomicLong VERSION = new AtomicLong();
+    private static final long STARTED = System.currentTimeMillis();
+    private static volatile long lastChanged = STARTED;
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    public static long current() {
+        return VERSION.get();
+    }
+
+    /**
+     * Millis at which this process started counting. Versions start over on restart, so
+     * anything handed to clients (page validators) pairs {@link #current()} with it.
+     */
+    public static long started() {
+        return STARTED;
+    }
+
+    /** Millis of the last change, or of process start when nothing has changed since. */
+    public static long lastChanged() {
+        return lastChanged;
+    }
+
+    public static long bump() {
+        return petChanged(null);
+    }
+
+    public static long petChanged(Long petId) {
+        lastChanged = System.currentTimeMillis();
+        long version = VERSION.incrementAndGet();
+        for (Listener listener : LISTENERS) {
+            listener.petChanged(petId);
+        }
+        return version;
+    }
+
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+}
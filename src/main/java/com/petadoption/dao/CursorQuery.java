@@ -0,0 +1,61 @@
+package com.petadoption.dao;
+
+import com.petadoption.util.AppConfig;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Runs a read-only query through a server-side cursor and hands each mapped row to a
+ * {@link RowHandler}. The PostgreSQL driver only uses a cursor when autocommit is off and
+ * a fetch size is set; otherwise it buffers the whole result in memory.
+ */
+final class CursorQuery {
+
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private static final int FETCH_SIZE = AppConfig.getInt("petadoption.export.fetchSize", 1000);
+
+    private CursorQuery() {
+    }
+
+    static <T> long stream(DataSource dataSource, String sql, List<Object> params,
+                           RowMapper<T> mapper, RowHandler<T> handler) throws SQLException, IOException {
+        long rows = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try (PreparedStatement ps = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(mapper.map(rs));
+                        rows++;
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                // The pool also rolls back on return; do it here so the cursor is released
+                // before the connection goes back.
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,85 @@
+package com.petadoption.dao;
+
+import com.petadoption.cache.CacheStats;
+import com.petadoption.util.AppConfig;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.logging.Logger;
+
+/**
+ * Shared DAO instances for the servlets. Caching decorators only work if every
+ * reader and writer goes through the same instance, so servlets must obtain
+ * their DAOs here rather than constructing them.
+ *
+ * <p>The implementations come from the {@link DAOProvider} named by
+ * {@code petadoption.dao.provider}, or the JDBC DAOs when it is not set.
+ */
+public class DAOFactory {
+
+    private static final Logger LOGGER = Logger.getLogger(DAOFactory.class.getName());
+    private static final DAOProvider PROVIDER = loadProvider();
+
+    private static final CachingPetDAO PET_DAO = new CachingPetDAO(PROVIDER.createPetDAO(),
+            AppConfig.getInt("petadoption.cache.pets.maxSize", 10_000),
+            Duration.ofSeconds(AppConfig.getLong("petadoption.cache.pets.ttlSeconds", 300)));
+    private static final UserDAO USER_DAO = PROVIDER.createUserDAO();
+    private static final AdoptionRequestDAO ADOPTION_REQUEST_DAO = PROVIDER.createAdoptionRequestDAO();
+
+    static {
+        CatalogVersion.addListener(PET_DAO::invalidate);
+    }
+
+    public static PetDAO getPetDAO() {
+        return PET_DAO;
+    }
+
+    public static UserDAO getUserDAO() {
+        return USER_DAO;
+    }
+
+    public static AdoptionRequestDAO getAdoptionRequestDAO() {
+        return ADOPTION_REQUEST_DAO;
+    }
+
+    /** Whether the DAOs are the JDBC ones, i.e. backed by the connection pool. */
+    public static boolean isJdbc() {
+        return PROVIDER instanceof JdbcDAOProvider;
+    }
+
+    public static CacheStats getPetCacheStats() {
+        return PET_DAO.getCacheStats();
+    }
+
+    private static DAOProvider loadProvider() {
+        String className = AppConfig.get("petadoption.dao.provider", null);
+        if (className == null) {
+            return new JdbcDAOProvider();
+        }
+        LOGGER.warning("Using DAO provider " + className);
+        try {
+            Class<?> type = Class.forName(className, true, DAOFactory.class.getClassLoader());
+            return (DAOProvider) type.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException
+                 | IllegalAccessException | InvocationTargetException | ClassCastException e) {
+            throw new IllegalStateException("Cannot create DAO provider " + className, e);
+        }
+    }
+
+    private static final class JdbcDAOProvider implements DAOProvider {
+        @Override
+        public PetDAO createPetDAO() {
+            return new JdbcPetDAO();
+        }
+
+        @Override
+        public UserDAO createUserDAO() {
+            return new JdbcUserDAO();
+        }
+
+        @Override
+        public AdoptionRequestDAO createAdoptionRequestDAO() {
+            return new JdbcAdoptionRequestDAO();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.petadoption.dao;
+
+/**
+ * Creates the DAO implementations behind {@link DAOFactory}. The default is backed by
+ * PostgreSQL; another implementation can be selected with the
+ * {@code petadoption.dao.provider} property (fully qualified class name with a public
+ * no-argument constructor), which the load-test harness uses to run the servlets
+ * against in-memory DAOs.
+ */
+public interface DAOProvider {
+
+    PetDAO createPetDAO();
+
+    UserDAO createUserDAO();
+
+    AdoptionRequestDAO createAdoptionRequestDAO();
+}
@@ -1,31 +1,65 @@
 
 package com.petadoption.dao;
 
+import com.petadoption.metrics.Metrics;
+import com.petadoption.metrics.OperationMetrics;
 import com.petadoption.model.AdoptionRequest;
+import com.petadoption.model.AdoptionRequestDetails;
 import com.petadoption.model.AdoptionStatus;
+import com.petadoption.model.BulkDecision;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
 import com.petadoption.util.DBConnectionUtil;
 
+import javax.sql.DataSource;
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
 public class JdbcAdoptionRequestDAO implements AdoptionRequestDAO {
 
     private static final Logger LOGGER = Logger.getLogger(JdbcAdoptionRequestDAO.class.getName());
+    private static final OperationMetrics SAVE = Metrics.dao("adoption_requests", "save");
+    private static final OperationMetrics FIND_BY_ID = Metrics.dao("adoption_requests", "findById");
+    private static final OperationMetrics UPDATE_STATUS = Metrics.dao("adoption_requests", "updateStatus");
+    private static final OperationMetrics FIND_BY_STATUS = Metrics.dao("adoption_requests", "findByStatus");
+    private static final OperationMetrics STREAM = Metrics.dao("adoption_requests", "streamRequests");
+    private static final OperationMetrics FIND_PENDING_WITH_DETAILS =
+            Metrics.dao("adoption_requests", "findPendingWithDetails");
+    private static final OperationMetrics SUBMIT = Metrics.dao("adoption_requests", "submitIfPetAvailable");
+    private static final OperationMetrics APPROVE = Metrics.dao("adoption_requests", "approvePending");
+    private static final OperationMetrics REJECT = Metrics.dao("adoption_requests", "rejectPending");
+    private static final OperationMetrics APPROVE_ALL = Metrics.dao("adoption_requests", "approvePendingAll");
+    private static final OperationMetrics REJECT_ALL = Metrics.dao("adoption_requests", "rejectPendingAll");
+    private final DataSource dataSource;
+
+    public JdbcAdoptionRequestDAO() {
+        this(DBConnectionUtil.getDataSource());
+    }
+
+    public JdbcAdoptionRequestDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
 
     @Override
     public void save(AdoptionRequest request) {
         String sql = "INSERT INTO adoption_requests(pet_id, adopter_id, message, status) VALUES (?,?,?,?)";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setLong(1, request.getPetId());
             ps.setLong(2, request.getAdopterId());
             ps.setString(3, request.getMessage());
             ps.setString(4, request.getStatus().name());
-            ps.executeUpdate();
+            rows = ps.executeUpdate();
             try (ResultSet keys = ps.getGeneratedKeys()) {
                 if (keys.next()) {
                     request.setId(keys.getLong(1));
@@ -34,38 +68,50 @@ public class JdbcAdoptionRequestDAO implements AdoptionRequestDAO {
         } catch (SQLException e) {
             LOGGER.severe("Error saving adoption request: " + e.getMessage());
             throw new RuntimeException("Error saving adoption request", e);
+        } finally {
+            SAVE.record(start, rows);
         }
     }
 
     @Override
     public Optional<AdoptionRequest> findById(Long id) {
         String sql = "SELECT * FROM adoption_requests WHERE id = ?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        AdoptionRequest request = null;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapRowToRequest(rs));
+                    request = mapRowToRequest(rs);
                 }
             }
+            rows = request == null ? 0 : 1;
         } catch (SQLException e) {
             LOGGER.severe("Error fetching adoption request: " + e.getMessage());
             throw new RuntimeException("Error fetching adoption request", e);
+        } finally {
+            FIND_BY_ID.record(start, rows);
         }
-        return Optional.empty();
+        return Optional.ofNullable(request);
     }
 
     @Override
     public void updateStatus(Long id, AdoptionStatus status) {
         String sql = "UPDATE adoption_requests SET status=?, processed_at=CURRENT_TIMESTAMP WHERE id=?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, status.name());
             ps.setLong(2, id);
-            ps.executeUpdate();
+            rows = ps.executeUpdate();
         } catch (SQLException e) {
             LOGGER.severe("Error updating adoption request status: " + e.getMessage());
             throw new RuntimeException("Error updating adoption request status", e);
+        } finally {
+            UPDATE_STATUS.record(start, rows);
         }
     }
 
@@ -73,7 +119,9 @@ public class JdbcAdoptionRequestDAO implements AdoptionRequestDAO {
     public List<AdoptionRequest> findByStatus(AdoptionStatus status) {
         List<AdoptionRequest> list = new ArrayList<>();
         String sql = "SELECT * FROM adoption_requests WHERE status=? ORDER BY requested_at DESC";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, status.name());
             try (ResultSet rs = ps.executeQuery()) {
@@ -81,15 +129,324 @@ public class JdbcAdoptionRequestDAO implements AdoptionRequestDAO {
                     list.add(mapRowToRequest(rs));
                 }
             }
+            rows = list.size();
         } catch (SQLException e) {
             LOGGER.severe("Error fetching adoption requests: " + e.getMessage());
             throw new RuntimeException("Error fetching adoption requests", e);
+        } finally {
+            FIND_BY_STATUS.record(start, rows);
         }
         return list;
     }
 
+    @Override
+    public void streamRequests(AdoptionStatus status, LocalDateTime from, LocalDateTime to,
+                               RowHandler<AdoptionRequest> handler) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM adoption_requests WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        if (status != null) {
+            sql.append(" AND status = ?");
+            params.add(status.name());
+        }
+        if (from != null) {
+            sql.append(" AND requested_at >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND requested_at < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY id");
+
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try {
+            rows = CursorQuery.stream(dataSource, sql.toString(), params, this::mapRowToRequest, handler);
+            LOGGER.info("Streamed " + rows + " adoption requests");
+        } catch (SQLException e) {
+            LOGGER.severe("Error streaming adoption requests: " + e.getMessage());
+            throw new RuntimeException("Error streaming adoption requests", e);
+        } finally {
+            STREAM.record(start, rows);
+        }
+    }
+
+    @Override
+    public List<AdoptionRequestDetails> findPendingWithDetails(int limit) {
+        List<AdoptionRequestDetails> list = new ArrayList<>();
+        // Served by idx_adoption_requests_status_requested: an index range scan in requested_at
+        // order stops after LIMIT rows, and the pet/user lookups are primary-key probes.
+        String sql = "SELECT r.id, r.pet_id, r.adopter_id, r.message, r.status, r.requested_at, r.processed_at, " +
+                     "p.name AS pet_name, p.type AS pet_type, p.status AS pet_status, " +
+                     "u.full_name AS adopter_name, u.email AS adopter_email " +
+                     "FROM adoption_requests r " +
+                     "JOIN pets p ON p.id = r.pet_id " +
+                     "JOIN users u ON u.id = r.adopter_id " +
+                     "WHERE r.status = ? " +
+                     "ORDER BY r.requested_at DESC LIMIT ?";
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, AdoptionStatus.PENDING.name());
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    AdoptionRequestDetails details = new AdoptionRequestDetails();
+                    mapRequestColumns(rs, details);
+                    details.setPetName(rs.getString("pet_name"));
+                    details.setPetType(PetType.valueOf(rs.getString("pet_type")));
+                    details.setPetStatus(PetStatus.valueOf(rs.getString("pet_status")));
+                    details.setAdopterName(rs.getString("adopter_name"));
+                    details.setAdopterEmail(rs.getString("adopter_email"));
+                    list.add(details);
+                }
+            }
+            rows = list.size();
+        } catch (SQLException e) {
+            LOGGER.severe("Error fetching pending adoption requests: " + e.getMessage());
+            throw new RuntimeException("Error fetching pending adoption requests", e);
+        } finally {
+            FIND_PENDING_WITH_DETAILS.record(start, rows);
+        }
+        return list;
+    }
+
+    @Override
+    public boolean submitIfPetAvailable(AdoptionRequest request) {
+        // The conditional UPDATE takes the pet's row lock, so of several concurrent claims
+        // exactly one sees status = 'AVAILABLE'; the INSERT only runs for that one.
+        String sql = "WITH claimed AS (" +
+                     "  UPDATE pets SET status = 'PENDING', updated_at = CURRENT_TIMESTAMP WHERE id = ? AND status = 'AVAILABLE' RETURNING id" +
+                     ") " +
+                     "INSERT INTO adoption_requests(pet_id, adopter_id, message, status) " +
+                     "SELECT id, ?, ?, 'PENDING' FROM claimed " +
+                     "RETURNING id";
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, request.getPetId());
+            ps.setLong(2, request.getAdopterId());
+            ps.setString(3, request.getMessage());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    rows = 0;
+                    return false;
+                }
+                request.setId(rs.getLong(1));
+                request.setStatus(AdoptionStatus.PENDING);
+                rows = 1;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error submitting adoption request: " + e.getMessage());
+            throw new RuntimeException("Error submitting adoption request", e);
+        } finally {
+            SUBMIT.record(start, rows);
+        }
+        CatalogVersion.petChanged(request.getPetId());
+        return true;
+    }
+
+    @Override
+    public Optional<Long> approvePending(Long requestId) {
+        String sql = "WITH req AS (" +
+                     "  UPDATE adoption_requests SET status = 'APPROVED', processed_at = CURRENT_TIMESTAMP" +
+                     "  WHERE id = ? AND status = 'PENDING' RETURNING pet_id" +
+                     "), pet AS (" +
+                     "  UPDATE pets SET status = 'ADOPTED', updated_at = CURRENT_TIMESTAMP FROM req WHERE pets.id = req.pet_id RETURNING pets.id" +
+                     ") " +
+                     "SELECT req.pet_id, (SELECT COUNT(*) FROM pet) FROM req";
+        return transition(sql, requestId, "approving", APPROVE);
+    }
+
+    @Override
+    public Optional<Long> rejectPending(Long requestId) {
+        // Sub-statements of one WITH share a snapshot, so the NOT EXISTS still sees this
+        // request as PENDING; it is excluded by id.
+        String sql = "WITH req AS (" +
+                     "  UPDATE adoption_requests SET status = 'REJECTED', processed_at = CURRENT_TIMESTAMP" +
+                     "  WHERE id = ? AND status = 'PENDING' RETURNING id, pet_id" +
+                     "), pet AS (" +
+                     "  UPDATE pets SET status = 'AVAILABLE', updated_at = CURRENT_TIMESTAMP FROM req" +
+                     "  WHERE pets.id = req.pet_id AND pets.status = 'PENDING'" +
+                     "  AND NOT EXISTS (SELECT 1 FROM adoption_requests o" +
+                     "                  WHERE o.pet_id = req.pet_id AND o.status = 'PENDING' AND o.id <> req.id)" +
+                     "  RETURNING pets.id" +
+                     ") " +
+                     "SELECT req.pet_id, (SELECT COUNT(*) FROM pet) FROM req";
+        return transition(sql, requestId, "rejecting", REJECT);
+    }
+
+    private Optional<Long> transition(String sql, Long requestId, String action, OperationMetrics metrics) {
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        Long petId = null;
+        boolean petUpdated = false;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, requestId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    petId = rs.getLong(1);
+                    petUpdated = rs.getLong(2) > 0;
+                }
+            }
+            rows = petId == null ? 0 : 1;
+        } catch (SQLException e) {
+            LOGGER.severe("Error " + action + " adoption request: " + e.getMessage());
+            throw new RuntimeException("Error " + action + " adoption request", e);
+        } finally {
+            metrics.record(start, rows);
+        }
+        if (petUpdated) {
+            CatalogVersion.petChanged(petId);
+        }
+        return Optional.ofNullable(petId);
+    }
+
+    @Override
+    public BulkDecision approvePendingAll(Collection<Long> requestIds) {
+        // Locks the selected requests and their pets up front, so a concurrent single
+        // approve or reject of the same rows waits for this transaction.
+        String lockSql = "SELECT r.id, r.pet_id FROM adoption_requests r JOIN pets p ON p.id = r.pet_id " +
+                         "WHERE r.id = ANY(?) AND r.status = 'PENDING' " +
+                         "ORDER BY r.pet_id, r.requested_at, r.id FOR UPDATE";
+        String approveSql = "UPDATE adoption_requests SET status = 'APPROVED', processed_at = CURRENT_TIMESTAMP " +
+                            "WHERE id = ANY(?)";
+        String adoptSql = "UPDATE pets SET status = 'ADOPTED', updated_at = CURRENT_TIMESTAMP WHERE id = ANY(?)";
+        String rejectOthersSql = "UPDATE adoption_requests SET status = 'REJECTED', processed_at = CURRENT_TIMESTAMP " +
+                                 "WHERE pet_id = ANY(?) AND status = 'PENDING' RETURNING id";
+
+        List<Long> approved = new ArrayList<>();
+        List<Long> autoRejected = new ArrayList<>();
+        Map<Long, Long> requestByPet = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Array ids = conn.createArrayOf("bigint", requestIds.toArray());
+                try (PreparedStatement ps = conn.prepareStatement(lockSql)) {
+                    ps.setArray(1, ids);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            // Rows arrive oldest first within each pet; keep the first.
+                            requestByPet.putIfAbsent(rs.getLong(2), rs.getLong(1));
+                        }
+                    }
+                }
+                if (!requestByPet.isEmpty()) {
+                    approved.addAll(requestByPet.values());
+                    Array approvedIds = conn.createArrayOf("bigint", approved.toArray());
+                    Array petIds = conn.createArrayOf("bigint", requestByPet.keySet().toArray());
+                    executeWithArray(conn, approveSql, approvedIds);
+                    executeWithArray(conn, adoptSql, petIds);
+                    try (PreparedStatement ps = conn.prepareStatement(rejectOthersSql)) {
+                        ps.setArray(1, petIds);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                autoRejected.add(rs.getLong(1));
+                            }
+                        }
+                    }
+                }
+                conn.commit();
+                rows = approved.size() + autoRejected.size();
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(conn, e);
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error bulk approving adoption requests: " + e.getMessage());
+            throw new RuntimeException("Error bulk approving adoption requests", e);
+        } finally {
+            APPROVE_ALL.record(start, rows);
+        }
+        for (Long petId : requestByPet.keySet()) {
+            CatalogVersion.petChanged(petId);
+        }
+        return new BulkDecision(approved, autoRejected);
+    }
+
+    @Override
+    public BulkDecision rejectPendingAll(Collection<Long> requestIds) {
+        String rejectSql = "UPDATE adoption_requests SET status = 'REJECTED', processed_at = CURRENT_TIMESTAMP " +
+                           "WHERE id = ANY(?) AND status = 'PENDING' RETURNING id, pet_id";
+        // A separate statement in the same transaction, so it already sees the rejections above.
+        String releaseSql = "UPDATE pets SET status = 'AVAILABLE', updated_at = CURRENT_TIMESTAMP " +
+                            "WHERE id = ANY(?) AND status = 'PENDING' " +
+                            "AND NOT EXISTS (SELECT 1 FROM adoption_requests o " +
+                            "                WHERE o.pet_id = pets.id AND o.status = 'PENDING') " +
+                            "RETURNING id";
+
+        List<Long> rejected = new ArrayList<>();
+        List<Long> petIds = new ArrayList<>();
+        List<Long> releasedPets = new ArrayList<>();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement ps = conn.prepareStatement(rejectSql)) {
+                    ps.setArray(1, conn.createArrayOf("bigint", requestIds.toArray()));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            rejected.add(rs.getLong(1));
+                            petIds.add(rs.getLong(2));
+                        }
+                    }
+                }
+                if (!petIds.isEmpty()) {
+                    try (PreparedStatement ps = conn.prepareStatement(releaseSql)) {
+                        ps.setArray(1, conn.createArrayOf("bigint", petIds.toArray()));
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                releasedPets.add(rs.getLong(1));
+                            }
+                        }
+                    }
+                }
+                conn.commit();
+                rows = rejected.size();
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(conn, e);
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe("Error bulk rejecting adoption requests: " + e.getMessage());
+            throw new RuntimeException("Error bulk rejecting adoption requests", e);
+        } finally {
+            REJECT_ALL.record(start, rows);
+        }
+        for (Long petId : releasedPets) {
+            CatalogVersion.petChanged(petId);
+        }
+        return new BulkDecision(rejected, List.of());
+    }
+
+    private static void executeWithArray(Connection conn, String sql, Array ids) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setArray(1, ids);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn, Exception cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
     private AdoptionRequest mapRowToRequest(ResultSet rs) throws SQLException {
         AdoptionRequest req = new AdoptionRequest();
+        mapRequestColumns(rs, req);
+        return req;
+    }
+
+    private void mapRequestColumns(ResultSet rs, AdoptionRequest req) throws SQLException {
         req.setId(rs.getLong("id"));
         req.setPetId(rs.getLong("pet_id"));
         req.setAdopterId(rs.getLong("adopter_id"));
@@ -99,6 +456,5 @@ public class JdbcAdoptionRequestDAO implements AdoptionRequestDAO {
         if (r != null) req.setRequestedAt(r.toLocalDateTime());
         Timestamp p = rs.getTimestamp("processed_at");
         if (p != null) req.setProcessedAt(p.toLocalDateTime());
-        return req;
     }
 }
@@ -1,10 +1,23 @@
 package com.petadoption.dao;
 
+import com.petadoption.metrics.Metrics;
+import com.petadoption.metrics.OperationMetrics;
 import com.petadoption.model.*;
+import com.petadoption.util.AppConfig;
 import com.petadoption.util.DBConnectionUtil;
+import com.petadoption.util.ExportWriter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -13,14 +26,142 @@ import java.util.logging.Logger;
 public class JdbcPetDAO implements PetDAO {
 
     private static final Logger LOGGER = Logger.getLogger(JdbcPetDAO.class.getName());
+    private static final OperationMetrics FIND_PAGE_FILTERED = Metrics.dao("pets", "findPageFiltered");
+    private static final OperationMetrics FIND_PAGE_AFTER = Metrics.dao("pets", "findPageAfter");
+    private static final OperationMetrics SEARCH_RANKED = Metrics.dao("pets", "searchRanked");
+    private static final OperationMetrics FIND_ADMIN_PAGE = Metrics.dao("pets", "findAdminPage");
+    private static final OperationMetrics STREAM = Metrics.dao("pets", "streamPets");
+    private static final OperationMetrics FIND_BY_ID = Metrics.dao("pets", "findById");
+    private static final OperationMetrics SAVE = Metrics.dao("pets", "save");
+    private static final OperationMetrics INSERT_ALL = Metrics.dao("pets", "insertAll");
+    private static final OperationMetrics UPDATE = Metrics.dao("pets", "update");
+    private static final OperationMetrics UPDATE_IMAGE_VARIANTS = Metrics.dao("pets", "updateImageVariants");
+    private static final OperationMetrics DELETE = Metrics.dao("pets", "delete");
+    private static final OperationMetrics UPDATE_STATUS = Metrics.dao("pets", "updateStatus");
+    private static final OperationMetrics FIND_ALL = Metrics.dao("pets", "findAll");
+
+    private static final boolean USE_COPY = AppConfig.getBoolean("petadoption.import.useCopy", true);
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private final DataSource dataSource;
+
+    public JdbcPetDAO() {
+        this(DBConnectionUtil.getDataSource());
+    }
+
+    public JdbcPetDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
 
     @Override
     public List<Pet> findPageFiltered(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
                                       String breed, String nameQuery, int offset, int limit) {
-        List<Pet> pets = new ArrayList<>();
         StringBuilder sql = new StringBuilder("SELECT * FROM pets WHERE 1=1");
         List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, status, type, ageMin, ageMax, breed, nameQuery);
+
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+
+        LOGGER.info("Executing filtered pet query: " + sql);
+        return queryPets(sql.toString(), params, FIND_PAGE_FILTERED);
+    }
+
+    @Override
+    public List<Pet> findPageAfter(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                   String breed, String nameQuery, PetCursor cursor, boolean backward, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM pets WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, status, type, ageMin, ageMax, breed, nameQuery);
+
+        if (cursor != null) {
+            // Row-value comparison lets Postgres seek straight into the (created_at, id) index.
+            sql.append(backward ? " AND (created_at, id) > (?, ?)" : " AND (created_at, id) < (?, ?)");
+            params.add(Timestamp.valueOf(cursor.getCreatedAt()));
+            params.add(cursor.getId());
+        }
+        sql.append(backward ? " ORDER BY created_at ASC, id ASC LIMIT ?" : " ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(limit);
+
+        LOGGER.info("Executing keyset pet query: " + sql);
+        List<Pet> pets = queryPets(sql.toString(), params, FIND_PAGE_AFTER);
+        if (backward) {
+            Collections.reverse(pets);
+        }
+        return pets;
+    }
+
+    @Override
+    public List<Pet> searchRanked(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                  String breed, String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return findPageFiltered(status, type, ageMin, ageMax, breed, query, offset, limit);
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM pets WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, status, type, ageMin, ageMax, breed, query);
+
+        // Full-text rank first (name outweighs breed outweighs description), then trigram
+        // similarity so that partial-name matches with no lexeme hit still order sensibly.
+        sql.append(" ORDER BY ts_rank_cd(search_vector, websearch_to_tsquery('english', ?)) DESC,")
+           .append(" similarity(name, ?) DESC, created_at DESC, id DESC LIMIT ? OFFSET ?");
+        params.add(query.trim());
+        params.add(query.trim());
+        params.add(limit);
+        params.add(offset);
+
+        LOGGER.info("Executing ranked pet search: " + sql);
+        return queryPets(sql.toString(), params, SEARCH_RANKED);
+    }
+
+    @Override
+    public List<Pet> findAdminPage(PetStatus status, PetSort sort, boolean ascending, int offset, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM pets WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, status, null, null, null, null, null);
+
+        String direction = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(sort.getColumn()).append(direction)
+           .append(", id").append(direction)
+           .append(" LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+
+        LOGGER.info("Executing admin pet page query: " + sql);
+        return queryPets(sql.toString(), params, FIND_ADMIN_PAGE);
+    }
+
+    @Override
+    public void streamPets(PetStatus status, LocalDateTime from, LocalDateTime to, RowHandler<Pet> handler)
+            throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM pets WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, status, null, null, null, null, null);
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY id");
 
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try {
+            rows = CursorQuery.stream(dataSource, sql.toString(), params, this::mapRowToPet, handler);
+            LOGGER.info("Streamed " + rows + " pets");
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error streaming pets", e);
+            throw new RuntimeException("Error streaming pets", e);
+        } finally {
+            STREAM.record(start, rows);
+        }
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> params, PetStatus status, PetType type,
+                               Integer ageMin, Integer ageMax, String breed, String nameQuery) {
         if (status != null) {
             sql.append(" AND status = ?");
             params.add(status.name());
@@ -37,23 +178,33 @@ public class JdbcPetDAO implements PetDAO {
             sql.append(" AND age_years <= ?");
             params.add(ageMax);
         }
+        // ILIKE '%x%' is served by the pg_trgm GIN indexes on name and breed, and the
+        // full-text match by the GIN index on the generated search_vector column.
         if (breed != null && !breed.isBlank()) {
-            sql.append(" AND LOWER(breed) LIKE ?");
-            params.add("%" + breed.toLowerCase() + "%");
+            sql.append(" AND breed ILIKE ?");
+            params.add(containsPattern(breed));
         }
         if (nameQuery != null && !nameQuery.isBlank()) {
-            sql.append(" AND LOWER(name) LIKE ?");
-            params.add("%" + nameQuery.toLowerCase() + "%");
+            sql.append(" AND (search_vector @@ websearch_to_tsquery('english', ?) OR name ILIKE ?)");
+            params.add(nameQuery.trim());
+            params.add(containsPattern(nameQuery));
         }
+    }
 
-        sql.append(" ORDER BY created_at DESC LIMIT ? OFFSET ?");
-        params.add(limit);
-        params.add(offset);
-
-        LOGGER.info("Executing filtered pet query: " + sql);
+    private static String containsPattern(String text) {
+        String escaped = text.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 
-        try (Connection conn = DBConnectionUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+    private List<Pet> queryPets(String sql, List<Object> params, OperationMetrics metrics) {
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        List<Pet> pets = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
 
             for (int i = 0; i < params.size(); i++) {
                 ps.setObject(i + 1, params.get(i));
@@ -64,9 +215,12 @@ public class JdbcPetDAO implements PetDAO {
                     pets.add(mapRowToPet(rs));
                 }
             }
+            rows = pets.size();
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error fetching filtered pets", e);
             throw new RuntimeException("Error fetching pets", e);
+        } finally {
+            metrics.record(start, rows);
         }
         return pets;
     }
@@ -74,26 +228,34 @@ public class JdbcPetDAO implements PetDAO {
     @Override
     public Optional<Pet> findById(Long id) {
         String sql = "SELECT * FROM pets WHERE id = ?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        Pet pet = null;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapRowToPet(rs));
+                    pet = mapRowToPet(rs);
                 }
             }
+            rows = pet == null ? 0 : 1;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error fetching pet by id " + id, e);
             throw new RuntimeException("Error fetching pet", e);
+        } finally {
+            FIND_BY_ID.record(start, rows);
         }
-        return Optional.empty();
+        return Optional.ofNullable(pet);
     }
 
     @Override
     public void save(Pet pet) {
         String sql = "INSERT INTO pets(name, type, breed, age_years, description, image_path, status) " +
                      "VALUES (?,?,?,?,?,?,?)";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, pet.getName());
             ps.setString(2, pet.getType().name());
@@ -102,24 +264,135 @@ public class JdbcPetDAO implements PetDAO {
             ps.setString(5, pet.getDescription());
             ps.setString(6, pet.getImagePath());
             ps.setString(7, pet.getStatus().name());
-            ps.executeUpdate();
+            rows = ps.executeUpdate();
 
             try (ResultSet keys = ps.getGeneratedKeys()) {
                 if (keys.next()) {
                     pet.setId(keys.getLong(1));
                 }
             }
+            CatalogVersion.petChanged(pet.getId());
             LOGGER.info("Inserted new pet with id=" + pet.getId());
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error saving pet", e);
             throw new RuntimeException("Error saving pet", e);
+        } finally {
+            SAVE.record(start, rows);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Pet> pets) {
+        if (pets.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long[] ids = allocateIds(conn, pets.size());
+                if (USE_COPY && conn.isWrapperFor(PGConnection.class)) {
+                    copyPets(conn.unwrap(PGConnection.class), pets, ids);
+                } else {
+                    batchInsertPets(conn, pets, ids);
+                }
+                conn.commit();
+                rows = ids.length;
+                for (int i = 0; i < ids.length; i++) {
+                    pets.get(i).setId(ids[i]);
+                }
+            } catch (SQLException | IOException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        } catch (SQLException | IOException e) {
+            LOGGER.log(Level.SEVERE, "Error importing pets", e);
+            throw new RuntimeException("Error importing pets", e);
+        } finally {
+            INSERT_ALL.record(start, rows);
+        }
+        CatalogVersion.bump();
+        LOGGER.info("Imported " + pets.size() + " pets");
+    }
+
+    /**
+     * Draws ids from the pets sequence in one round trip. COPY cannot return generated keys,
+     * so the ids are assigned here and written explicitly.
+     */
+    private long[] allocateIds(Connection conn, int count) throws SQLException {
+        String sql = "SELECT nextval(pg_get_serial_sequence('pets', 'id')) FROM generate_series(1, ?)";
+        long[] ids = new long[count];
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, count);
+            try (ResultSet rs = ps.executeQuery()) {
+                int i = 0;
+                while (rs.next()) {
+                    ids[i++] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void copyPets(PGConnection conn, List<Pet> pets, long[] ids) throws SQLException, IOException {
+        String sql = "COPY pets (id, name, type, breed, age_years, description, image_path, status) " +
+                     "FROM STDIN WITH (FORMAT csv)";
+        PGCopyOutputStream copy = new PGCopyOutputStream(conn, sql, 64 * 1024);
+        try {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8));
+            ExportWriter csv = ExportWriter.csv(writer);
+            for (int i = 0; i < ids.length; i++) {
+                Pet pet = pets.get(i);
+                csv.row(ids[i], pet.getName(), pet.getType(), pet.getBreed(), pet.getAgeYears(),
+                        pet.getDescription(), pet.getImagePath(), pet.getStatus());
+            }
+            // Closing flushes the last buffer and ends the COPY.
+            writer.close();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private void batchInsertPets(Connection conn, List<Pet> pets, long[] ids) throws SQLException {
+        String sql = "INSERT INTO pets(id, name, type, breed, age_years, description, image_path, status) " +
+                     "VALUES (?,?,?,?,?,?,?,?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.length; i++) {
+                Pet pet = pets.get(i);
+                ps.setLong(1, ids[i]);
+                ps.setString(2, pet.getName());
+                ps.setString(3, pet.getType().name());
+                ps.setString(4, pet.getBreed());
+                ps.setInt(5, pet.getAgeYears());
+                ps.setString(6, pet.getDescription());
+                ps.setString(7, pet.getImagePath());
+                ps.setString(8, pet.getStatus().name());
+                ps.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
         }
     }
 
     @Override
     public void update(Pet pet) {
-        String sql = "UPDATE pets SET name=?, type=?, breed=?, age_years=?, description=?, image_path=?, status=? WHERE id=?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        // SET expressions see the old row, so a new image_path clears the old image's variants.
+        String sql = "UPDATE pets SET name=?, type=?, breed=?, age_years=?, description=?, " +
+                "image_thumb_path = CASE WHEN image_path IS NOT DISTINCT FROM ? THEN image_thumb_path END, " +
+                "image_medium_path = CASE WHEN image_path IS NOT DISTINCT FROM ? THEN image_medium_path END, " +
+                "image_path=?, status=?, updated_at=CURRENT_TIMESTAMP WHERE id=?";
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, pet.getName());
             ps.setString(2, pet.getType().name());
@@ -127,63 +400,109 @@ public class JdbcPetDAO implements PetDAO {
             ps.setInt(4, pet.getAgeYears());
             ps.setString(5, pet.getDescription());
             ps.setString(6, pet.getImagePath());
-            ps.setString(7, pet.getStatus().name());
-            ps.setLong(8, pet.getId());
-            ps.executeUpdate();
+            ps.setString(7, pet.getImagePath());
+            ps.setString(8, pet.getImagePath());
+            ps.setString(9, pet.getStatus().name());
+            ps.setLong(10, pet.getId());
+            rows = ps.executeUpdate();
+            CatalogVersion.petChanged(pet.getId());
             LOGGER.info("Updated pet id=" + pet.getId());
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error updating pet", e);
             throw new RuntimeException("Error updating pet", e);
+        } finally {
+            UPDATE.record(start, rows);
+        }
+    }
+
+    @Override
+    public boolean updateImageVariants(Long id, String imagePath, String thumbPath, String mediumPath) {
+        String sql = "UPDATE pets SET image_thumb_path=?, image_medium_path=?, updated_at=CURRENT_TIMESTAMP " +
+                "WHERE id=? AND image_path=?";
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, thumbPath);
+            ps.setString(2, mediumPath);
+            ps.setLong(3, id);
+            ps.setString(4, imagePath);
+            rows = ps.executeUpdate();
+            if (rows > 0) {
+                CatalogVersion.petChanged(id);
+            }
+            return rows > 0;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error recording image variants", e);
+            throw new RuntimeException("Error recording image variants", e);
+        } finally {
+            UPDATE_IMAGE_VARIANTS.record(start, rows);
         }
     }
 
     @Override
     public void delete(Long id) {
         String sql = "DELETE FROM pets WHERE id=?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id);
-            ps.executeUpdate();
+            rows = ps.executeUpdate();
+            CatalogVersion.petChanged(id);
             LOGGER.info("Deleted pet id=" + id);
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error deleting pet", e);
             throw new RuntimeException("Error deleting pet", e);
+        } finally {
+            DELETE.record(start, rows);
         }
     }
 
     @Override
     public void updateStatus(Long id, PetStatus status) {
-        String sql = "UPDATE pets SET status=? WHERE id=?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        String sql = "UPDATE pets SET status=?, updated_at=CURRENT_TIMESTAMP WHERE id=?";
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, status.name());
             ps.setLong(2, id);
-            ps.executeUpdate();
+            rows = ps.executeUpdate();
+            CatalogVersion.petChanged(id);
             LOGGER.info("Updated pet status id=" + id + " -> " + status);
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error updating pet status", e);
             throw new RuntimeException("Error updating pet status", e);
+        } finally {
+            UPDATE_STATUS.record(start, rows);
         }
     }
 
     @Override
     public List<Pet> findAll() {
         List<Pet> pets = new ArrayList<>();
-        String sql = "SELECT * FROM pets ORDER BY created_at DESC";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        String sql = "SELECT * FROM pets ORDER BY created_at DESC, id DESC";
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 pets.add(mapRowToPet(rs));
             }
+            rows = pets.size();
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error fetching all pets", e);
             throw new RuntimeException("Error fetching pets", e);
+        } finally {
+            FIND_ALL.record(start, rows);
         }
         return pets;
     }
 
-    private Pet mapRowToPet(ResultSet rs) throws SQLException {
+    /** Package-private so the row-mapping benchmark can call it directly. */
+    Pet mapRowToPet(ResultSet rs) throws SQLException {
         Long id = rs.getLong("id");
         String name = rs.getString("name");
         PetType type = PetType.valueOf(rs.getString("type"));
@@ -192,19 +511,33 @@ public class JdbcPetDAO implements PetDAO {
         String description = rs.getString("description");
         String imagePath = rs.getString("image_path");
         PetStatus status = PetStatus.valueOf(rs.getString("status"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
 
+        Pet pet;
         switch (type) {
             case DOG:
-                return new Dog(id, name, breed, age, description, imagePath, status);
+                pet = new Dog(id, name, breed, age, description, imagePath, status);
+                break;
             case CAT:
-                return new Cat(id, name, breed, age, description, imagePath, status);
+                pet = new Cat(id, name, breed, age, description, imagePath, status);
+                break;
             default:
-                return new Pet(id, name, type, breed, age, description, imagePath, status) {
+                pet = new Pet(id, name, type, breed, age, description, imagePath, status) {
                     @Override
                     public double getAdoptionFee() {
                         return 1500.0;
                     }
                 };
         }
+        pet.setImageThumbPath(rs.getString("image_thumb_path"));
+        pet.setImageMediumPath(rs.getString("image_medium_path"));
+        if (createdAt != null) {
+            pet.setCreatedAt(createdAt.toLocalDateTime());
+        }
+        if (updatedAt != null) {
+            pet.setUpdatedAt(updatedAt.toLocalDateTime());
+        }
+        return pet;
     }
 }
@@ -1,12 +1,15 @@
 
 package com.petadoption.dao;
 
+import com.petadoption.metrics.Metrics;
+import com.petadoption.metrics.OperationMetrics;
 import com.petadoption.model.Admin;
 import com.petadoption.model.Adopter;
 import com.petadoption.model.User;
 import com.petadoption.util.DBConnectionUtil;
 import com.petadoption.util.PasswordUtil;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -14,53 +17,79 @@ import java.util.logging.Logger;
 public class JdbcUserDAO implements UserDAO {
 
     private static final Logger LOGGER = Logger.getLogger(JdbcUserDAO.class.getName());
+    private static final OperationMetrics FIND_BY_EMAIL = Metrics.dao("users", "findByEmail");
+    private static final OperationMetrics FIND_BY_ID = Metrics.dao("users", "findById");
+    private static final OperationMetrics SAVE = Metrics.dao("users", "save");
+    private final DataSource dataSource;
+
+    public JdbcUserDAO() {
+        this(DBConnectionUtil.getDataSource());
+    }
+
+    public JdbcUserDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
 
     @Override
     public Optional<User> findByEmail(String email) {
         String sql = "SELECT * FROM users WHERE email = ?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        User user = null;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, email);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapRowToUser(rs));
+                    user = mapRowToUser(rs);
                 }
             }
+            rows = user == null ? 0 : 1;
         } catch (SQLException e) {
             LOGGER.severe("Error fetching user by email: " + e.getMessage());
             throw new RuntimeException("Error fetching user", e);
+        } finally {
+            FIND_BY_EMAIL.record(start, rows);
         }
-        return Optional.empty();
+        return Optional.ofNullable(user);
     }
 
     @Override
     public Optional<User> findById(Long id) {
         String sql = "SELECT * FROM users WHERE id = ?";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        User user = null;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapRowToUser(rs));
+                    user = mapRowToUser(rs);
                 }
             }
+            rows = user == null ? 0 : 1;
         } catch (SQLException e) {
             LOGGER.severe("Error fetching user by id: " + e.getMessage());
             throw new RuntimeException("Error fetching user", e);
+        } finally {
+            FIND_BY_ID.record(start, rows);
         }
-        return Optional.empty();
+        return Optional.ofNullable(user);
     }
 
     @Override
     public void save(User user) {
         String sql = "INSERT INTO users(email, password_hash, full_name, role) VALUES (?,?,?,?)";
-        try (Connection conn = DBConnectionUtil.getConnection();
+        long start = System.nanoTime();
+        long rows = OperationMetrics.FAILED;
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, user.getEmail());
             ps.setString(2, user.getPasswordHash());
             ps.setString(3, user.getFullName());
             ps.setString(4, user.getRole());
-            ps.executeUpdate();
+            rows = ps.executeUpdate();
             try (ResultSet keys = ps.getGeneratedKeys()) {
                 if (keys.next()) {
                     user.setId(keys.getLong(1));
@@ -69,6 +98,8 @@ public class JdbcUserDAO implements UserDAO {
         } catch (SQLException e) {
             LOGGER.severe("Error saving user: " + e.getMessage());
             throw new RuntimeException("Error saving user", e);
+        } finally {
+            SAVE.record(start, rows);
         }
     }
 
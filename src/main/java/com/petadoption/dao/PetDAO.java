@@ -2,18 +2,66 @@
 package com.petadoption.dao;
 
 import com.petadoption.model.Pet;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetSort;
 import com.petadoption.model.PetStatus;
 import com.petadoption.model.PetType;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface PetDAO {
     List<Pet> findPageFiltered(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
                                String breed, String nameQuery, int offset, int limit);
+
+    /**
+     * Keyset page of pets ordered newest first. With {@code backward == false} returns up to
+     * {@code limit} pets strictly after {@code cursor}; with {@code backward == true} returns
+     * the pets strictly before it (still newest first). A {@code null} cursor starts at the
+     * newest (or, backward, the oldest) pet.
+     */
+    List<Pet> findPageAfter(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                            String breed, String nameQuery, PetCursor cursor, boolean backward, int limit);
+
+    /**
+     * Same filters as {@link #findPageFiltered}, ordered by full-text relevance to {@code query}
+     * instead of recency. Falls back to recency order when {@code query} is blank.
+     */
+    List<Pet> searchRanked(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                           String breed, String query, int offset, int limit);
+
+    /**
+     * Page of pets for the admin list, optionally restricted to one status, ordered by
+     * {@code sort} with id as the tie-breaker.
+     */
+    List<Pet> findAdminPage(PetStatus status, PetSort sort, boolean ascending, int offset, int limit);
+
+    /**
+     * Streams every pet matching the optional filters to {@code handler} in id order without
+     * holding the result in memory. {@code from} is inclusive and {@code to} exclusive, both
+     * on {@code created_at}.
+     */
+    void streamPets(PetStatus status, LocalDateTime from, LocalDateTime to, RowHandler<Pet> handler)
+            throws IOException;
+
     Optional<Pet> findById(Long id);
     void save(Pet pet);
+
+    /**
+     * Inserts all {@code pets} in one transaction and sets their generated ids, which are
+     * allocated up front so they line up with the list order.
+     */
+    void insertAll(List<Pet> pets);
+    /** Keeps the image variants unless {@code pet} has a different {@code imagePath}, which clears them. */
     void update(Pet pet);
+
+    /**
+     * Records the resized variants of {@code imagePath} on the pet. Does nothing and returns
+     * false when the pet is gone or its image has been replaced since.
+     */
+    boolean updateImageVariants(Long id, String imagePath, String thumbPath, String mediumPath);
     void delete(Long id);
     void updateStatus(Long id, PetStatus status);
     List<Pet> findAll();
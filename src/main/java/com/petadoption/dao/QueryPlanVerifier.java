@@ -0,0 +1,206 @@
+package com.petadoption.dao;
+
+import com.petadoption.model.AdoptionStatus;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetSort;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+import com.petadoption.util.DBConnectionUtil;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs every read query shape the JDBC DAOs issue and reports the ones PostgreSQL would
+ * answer with a sequential scan.
+ *
+ * <p>The DAOs are called as usual against a data source that, before each query, executes
+ * {@code EXPLAIN} of the same SQL with the same parameters. Sequential scans are discouraged
+ * with {@code enable_seqscan = off} while explaining, so on a small development database the
+ * planner still reports an index path wherever one exists and only truly unindexed shapes are
+ * flagged.
+ *
+ * <p>Run on startup with {@code -Dpetadoption.db.verifyPlans=true}, or standalone through
+ * {@link #main} (exits with status 1 when anything is flagged).
+ */
+public class QueryPlanVerifier {
+
+    private static final Logger LOGGER = Logger.getLogger(QueryPlanVerifier.class.getName());
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private final DataSource explaining;
+    private final List<String> findings = new ArrayList<>();
+    private String currentShape;
+
+    private QueryPlanVerifier(DataSource dataSource) {
+        this.explaining = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return "getConnection".equals(method.getName()) ? connection((Connection) result) : result;
+                });
+    }
+
+    /**
+     * Checks every query shape and returns one line per sequential scan found; empty when
+     * all of them are index-backed.
+     */
+    public static List<String> verify(DataSource dataSource) {
+        QueryPlanVerifier verifier = new QueryPlanVerifier(dataSource);
+        verifier.run();
+        return verifier.findings;
+    }
+
+    public static void main(String[] args) {
+        List<String> findings;
+        try {
+            findings = verify(DBConnectionUtil.getDataSource());
+        } finally {
+            DBConnectionUtil.shutdown();
+        }
+        PrintWriter out = new PrintWriter(System.out, true);
+        if (findings.isEmpty()) {
+            out.println("No sequential scans in any DAO query shape");
+        } else {
+            findings.forEach(out::println);
+        }
+        System.exit(findings.isEmpty() ? 0 : 1);
+    }
+
+    private void run() {
+        PetDAO pets = new JdbcPetDAO(explaining);
+        UserDAO users = new JdbcUserDAO(explaining);
+        AdoptionRequestDAO requests = new JdbcAdoptionRequestDAO(explaining);
+        PetCursor cursor = new PetCursor(LocalDateTime.now(), Long.MAX_VALUE);
+
+        shape("pets: listing", () -> pets.findPageFiltered(PetStatus.AVAILABLE, null, null, null, null, null, 0, 12));
+        shape("pets: listing by type", () ->
+                pets.findPageFiltered(PetStatus.AVAILABLE, PetType.DOG, null, null, null, null, 0, 12));
+        shape("pets: listing by type and age", () ->
+                pets.findPageFiltered(PetStatus.AVAILABLE, PetType.DOG, 1, 5, null, null, 0, 12));
+        shape("pets: listing by breed", () ->
+                pets.findPageFiltered(PetStatus.AVAILABLE, null, null, null, "retriever", null, 0, 12));
+        shape("pets: listing by name", () ->
+                pets.findPageFiltered(PetStatus.AVAILABLE, null, null, null, null, "bella", 0, 12));
+        shape("pets: keyset page", () ->
+                pets.findPageAfter(PetStatus.AVAILABLE, null, null, null, null, null, cursor, false, 12));
+        shape("pets: keyset page by type", () ->
+                pets.findPageAfter(PetStatus.AVAILABLE, PetType.CAT, null, null, null, null, cursor, false, 12));
+        shape("pets: keyset page backward", () ->
+                pets.findPageAfter(PetStatus.AVAILABLE, null, null, null, null, null, cursor, true, 12));
+        shape("pets: ranked search", () ->
+                pets.searchRanked(PetStatus.AVAILABLE, null, null, null, null, "friendly beagle", 0, 12));
+        shape("pets: admin page", () -> pets.findAdminPage(null, PetSort.CREATED, false, 0, 26));
+        shape("pets: admin page by status", () -> pets.findAdminPage(PetStatus.PENDING, PetSort.CREATED, false, 0, 26));
+        shape("pets: by id", () -> pets.findById(1L));
+        shape("users: by email", () -> users.findByEmail("nobody@example.com"));
+        shape("users: by id", () -> users.findById(1L));
+        shape("requests: by id", () -> requests.findById(1L));
+        shape("requests: by status", () -> requests.findByStatus(AdoptionStatus.PENDING));
+        shape("requests: pending with details", () -> requests.findPendingWithDetails(500));
+        // Foreign keys: deleting a pet or user cascades through these lookups.
+        shape("requests: by pet (foreign key)", () -> lookup("SELECT 1 FROM adoption_requests WHERE pet_id = ?"));
+        shape("requests: by adopter (foreign key)",
+                () -> lookup("SELECT 1 FROM adoption_requests WHERE adopter_id = ?"));
+    }
+
+    private void shape(String name, Supplier<?> query) {
+        currentShape = name;
+        try {
+            query.get();
+        } catch (RuntimeException e) {
+            findings.add(name + ": failed: " + e.getMessage());
+        } finally {
+            currentShape = null;
+        }
+    }
+
+    private Void lookup(String sql) {
+        try (Connection conn = explaining.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, 1L);
+            ps.executeQuery().close();
+            return null;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error running " + sql, e);
+        }
+    }
+
+    private void explain(Connection conn, String sql, List<Object[]> binds) throws Throwable {
+        List<String> plan = new ArrayList<>();
+        try (Statement st = conn.createStatement()) {
+            st.execute("SET enable_seqscan = off");
+        }
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (Object[] bind : binds) {
+                invoke(ps, (Method) bind[0], (Object[]) bind[1]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+        } finally {
+            try (Statement st = conn.createStatement()) {
+                st.execute("RESET enable_seqscan");
+            }
+        }
+        for (String line : plan) {
+            Matcher m = SEQ_SCAN.matcher(line);
+            if (m.find()) {
+                findings.add(currentShape + ": sequential scan on " + m.group(1) + " in: " + sql);
+                LOGGER.fine(() -> currentShape + " plan:\n" + String.join("\n", plan));
+            }
+        }
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if ("prepareStatement".equals(method.getName()) && currentShape != null) {
+                        return statement(target, (PreparedStatement) result, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private PreparedStatement statement(Connection conn, PreparedStatement target, String sql) {
+        List<Object[]> binds = new ArrayList<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            // Parameter setters take the 1-based index first; setFetchSize and friends do not.
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                binds.add(new Object[]{method, args});
+            } else if ("executeQuery".equals(name) && args == null) {
+                explain(conn, sql, binds);
+            }
+            return invoke(target, method, args);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.petadoption.dao;
+
+import java.io.IOException;
+
+/**
+ * Receives rows one at a time from the streaming DAO methods. Handlers usually write
+ * straight to a response, hence the {@link IOException}.
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+    void handle(T row) throws IOException;
+}
@@ -0,0 +1,209 @@
+package com.petadoption.image;
+
+import com.petadoption.dao.DAOFactory;
+import com.petadoption.dao.PetDAO;
+import com.petadoption.exception.ValidationException;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.DBConnectionUtil;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.Part;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Turns an uploaded pet photo into the sizes the pages show: a thumbnail for list items and
+ * a medium image for the details page, recorded on the pet once written. The work runs on a
+ * small bounded pool so uploads return as soon as the original is stored; until the variants
+ * exist (or if the queue is full or the format cannot be decoded) pages show the original.
+ *
+ * <p>Settings: petadoption.uploads.dir (the webapp's /uploads/pets), petadoption.images.workers
+ * (2), petadoption.images.queueSize (100), petadoption.images.thumbSize (160) and
+ * petadoption.images.mediumSize (640) as bounding-box pixels, petadoption.images.quality
+ * (0.85), petadoption.images.maxPixels (40000000) and petadoption.images.webp (true: write the
+ * variants as WebP when an ImageIO WebP writer is on the class path, JPEG otherwise).
+ * With the JDBC DAOs an {@link ImageSweeper} runs every petadoption.images.sweepIntervalSeconds
+ * (300), deleting at most petadoption.images.sweepMaxBatches (10) batches of
+ * petadoption.images.sweepBatchSize (100) images unreferenced for
+ * petadoption.images.sweepGraceSeconds (3600). Created by {@link ImagePipelineListener} and held in the servlet context under {@link #ATTRIBUTE}.
+ */
+public class ImagePipeline {
+
+    public static final String ATTRIBUTE = ImagePipeline.class.getName();
+
+    private static final Logger LOGGER = Logger.getLogger(ImagePipeline.class.getName());
+
+    private final ImageStore store;
+    private final PetDAO petDAO;
+    private final ThreadPoolExecutor workers;
+    private final int thumbSize;
+    private final int mediumSize;
+    private final float quality;
+    private final long maxPixels;
+    private final String format;
+    private final ImageSweeper sweeper;
+    private final ScheduledExecutorService sweeps;
+
+    ImagePipeline(ImageStore store, PetDAO petDAO, ImageSweeper sweeper) {
+        this.store = store;
+        this.petDAO = petDAO;
+        this.sweeper = sweeper;
+        int threads = AppConfig.getInt("petadoption.images.workers", 2);
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(AppConfig.getInt("petadoption.images.queueSize", 100)),
+                new WorkerFactory("image-worker"));
+        this.thumbSize = AppConfig.getInt("petadoption.images.thumbSize", 160);
+        this.mediumSize = AppConfig.getInt("petadoption.images.mediumSize", 640);
+        this.quality = Float.parseFloat(AppConfig.get("petadoption.images.quality", "0.85"));
+        this.maxPixels = AppConfig.getLong("petadoption.images.maxPixels", 40_000_000L);
+        this.format = AppConfig.getBoolean("petadoption.images.webp", true) && ImageResizer.canWrite("webp")
+                ? "webp" : "jpeg";
+        if (sweeper == null) {
+            this.sweeps = null;
+        } else {
+            long interval = AppConfig.getLong("petadoption.images.sweepIntervalSeconds", 300);
+            this.sweeps = Executors.newSingleThreadScheduledExecutor(new WorkerFactory("image-sweeper"));
+            sweeps.scheduleWithFixedDelay(sweeper::sweep, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    static ImagePipeline create(ServletContext context) throws IOException {
+        String configured = AppConfig.get("petadoption.uploads.dir", null);
+        String realPath = context.getRealPath("/uploads/pets");
+        Path directory;
+        if (configured != null) {
+            directory = Path.of(configured);
+        } else if (realPath != null) {
+            directory = Path.of(realPath);
+        } else {
+            directory = Path.of(System.getProperty("java.io.tmpdir"), "pet-adoption-uploads");
+            LOGGER.warning("Webapp is not unpacked and petadoption.uploads.dir is unset; storing uploads in "
+                    + directory);
+        }
+        ImageStore store = new ImageStore(directory);
+        // Reference counts are kept by a database trigger; the in-memory store has none.
+        ImageSweeper sweeper = DAOFactory.isJdbc()
+                ? new ImageSweeper(DBConnectionUtil.getDataSource(), store,
+                        Duration.ofSeconds(AppConfig.getLong("petadoption.images.sweepGraceSeconds", 3600)),
+                        AppConfig.getInt("petadoption.images.sweepBatchSize", 100),
+                        AppConfig.getInt("petadoption.images.sweepMaxBatches", 10))
+                : null;
+        return new ImagePipeline(store, DAOFactory.getPetDAO(), sweeper);
+    }
+
+    public static ImagePipeline from(ServletContext context) {
+        ImagePipeline pipeline = (ImagePipeline) context.getAttribute(ATTRIBUTE);
+        if (pipeline == null) {
+            throw new IllegalStateException("ImagePipelineListener is not registered in web.xml");
+        }
+        return pipeline;
+    }
+
+    public ImageStore getStore() {
+        return store;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Stores an uploaded photo (see {@link ImageStore#save}) and returns its name, to be set
+     * as a pet's image_path and passed to {@link #createVariants}.
+     *
+     * @throws ValidationException when the upload is not a JPEG, PNG, GIF or WebP image
+     */
+    public String save(Part part) throws IOException, ValidationException {
+        String name = store.save(part);
+        if (sweeper != null) {
+            sweeper.recordUpload(name);
+        }
+        return name;
+    }
+
+    /** Queues variant generation for the pet's newly stored {@code imagePath}. */
+    public void createVariants(Long petId, String imagePath) {
+        try {
+            workers.execute(() -> process(petId, imagePath));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("Image queue full; pet " + petId + " keeps its original image only");
+        }
+    }
+
+    private void process(Long petId, String imagePath) {
+        long start = System.nanoTime();
+        String extension = "webp".equals(format) ? ".webp" : ".jpg";
+        String thumbName = ImageStore.variantName(imagePath, "thumb", extension);
+        String mediumName = ImageStore.variantName(imagePath, "medium", extension);
+        try {
+            // Images are stored by content, so another pet may already have these variants.
+            boolean reused = store.touch(mediumName) && store.touch(thumbName);
+            if (!reused) {
+                BufferedImage original = ImageResizer.read(store.resolve(imagePath), maxPixels);
+                if (original == null) {
+                    LOGGER.info("No ImageIO reader for " + imagePath + "; pet " + petId
+                            + " keeps its original image only");
+                    return;
+                }
+                // Medium first, then the thumbnail from it: less to scale down.
+                BufferedImage medium = ImageResizer.fit(original, mediumSize);
+                ImageResizer.write(medium, format, quality, store.resolve(mediumName));
+                ImageResizer.write(ImageResizer.fit(medium, thumbSize), format, quality, store.resolve(thumbName));
+            }
+
+            // Variants left behind when the pet was deleted or given another image meanwhile
+            // are removed by the sweeper together with the original.
+            if (petDAO.updateImageVariants(petId, imagePath, thumbName, mediumName)) {
+                LOGGER.info("Image variants for pet " + petId + (reused ? " reused" : " written") + " in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not create image variants for pet " + petId + " from " + imagePath, e);
+        }
+    }
+
+    void shutdown() {
+        if (sweeps != null) {
+            sweeps.shutdownNow();
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        WorkerFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            // Below request threads: variants and sweeps can wait, page views cannot.
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.petadoption.image;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.logging.Logger;
+
+/** Creates the {@link ImagePipeline} the admin upload servlets use, and stops its workers on undeploy. */
+public class ImagePipelineListener implements ServletContextListener {
+
+    private static final Logger LOGGER = Logger.getLogger(ImagePipelineListener.class.getName());
+
+    private ImagePipeline pipeline;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        try {
+            pipeline = ImagePipeline.create(sce.getServletContext());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the uploads directory", e);
+        }
+        sce.getServletContext().setAttribute(ImagePipeline.ATTRIBUTE, pipeline);
+        LOGGER.info("Pet images in " + pipeline.getStore().getDirectory() + ", variants as " + pipeline.getFormat());
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.petadoption.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.UUID;
+
+/** Decodes, downsizes and encodes images with ImageIO. */
+final class ImageResizer {
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Decodes {@code file}, or returns null when ImageIO has no reader for its format.
+     * Dimensions are checked before decoding, so a small file that declares a huge image
+     * cannot exhaust the heap.
+     */
+    static BufferedImage read(Path file, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                throw new IOException("Cannot open " + file);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image has " + pixels + " pixels, more than the " + maxPixels + " allowed");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales {@code source} to fit a {@code box} x {@code box} square, keeping its aspect
+     * ratio; never enlarges. Halves repeatedly before the last step, which keeps bilinear
+     * filtering sharp without the cost of area averaging. The result is opaque RGB, as the
+     * JPEG encoder requires.
+     */
+    static BufferedImage fit(BufferedImage source, int box) {
+        double scale = Math.min(1.0, (double) box / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    static boolean canWrite(String format) {
+        return ImageIO.getImageWritersByFormatName(format).hasNext();
+    }
+
+    /** Encodes to a temporary file and moves it into place, so readers never see a partial image. */
+    static void write(BufferedImage image, String format, float quality, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        // Not createTempFile: its owner-only permissions would stick to the published file.
+        Path temp = target.resolveSibling(".tmp-" + UUID.randomUUID());
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (param.canWriteCompressed()) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    if (param.getCompressionType() == null && param.getCompressionTypes().length > 0) {
+                        param.setCompressionType(param.getCompressionTypes()[0]);
+                    }
+                    param.setCompressionQuality(quality);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
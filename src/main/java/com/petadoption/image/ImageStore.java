@@ -0,0 +1,201 @@
+package com.petadoption.image;
+
+import com.petadoption.exception.ValidationException;
+
+import jakarta.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Directory holding uploaded pet photos and their resized variants, served under
+ * {@code /uploads/pets/}. Photos are content-addressed: each is stored once, named after
+ * the SHA-256 of its bytes, however many pets use it. Which names are still referenced is
+ * tracked in the database (image_refs, V4 migration) and files nobody uses are removed by
+ * {@link ImageSweeper} through {@link #retire}.
+ */
+public class ImageStore {
+
+    /** Largest accepted upload, enforced by the container while it reads the request. */
+    public static final long MAX_UPLOAD_BYTES = 10L * 1024 * 1024;
+    /** Room for the form fields sent along with the image. */
+    public static final long MAX_REQUEST_BYTES = MAX_UPLOAD_BYTES + 64 * 1024;
+
+    private static final String RETIRED_PREFIX = ".reclaim-";
+
+    private final Path directory;
+
+    public ImageStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** The stored file for {@code name}; rejects names that would leave the directory. */
+    public Path resolve(String name) {
+        Path file = directory.resolve(name).normalize();
+        if (!file.getParent().equals(directory.normalize())) {
+            throw new IllegalArgumentException("Invalid image name: " + name);
+        }
+        return file;
+    }
+
+    /**
+     * Stores an uploaded image and returns its name, {@code <sha256><extension>}. The upload
+     * is hashed while it is copied into the directory in a single pass; when a file with that
+     * digest is already stored the copy is dropped and the existing file is reused. The
+     * format is taken from the file's leading bytes rather than from the name the browser sent.
+     *
+     * @throws ValidationException when the upload is not a JPEG, PNG, GIF or WebP image
+     */
+    public String save(Part part) throws IOException, ValidationException {
+        MessageDigest sha256 = sha256();
+        Path temp = directory.resolve(".upload-" + UUID.randomUUID());
+        try {
+            String extension;
+            try (InputStream in = new DigestInputStream(part.getInputStream(), sha256);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                byte[] header = in.readNBytes(12);
+                extension = extensionFor(header);
+                if (extension == null) {
+                    throw new ValidationException("Image must be a JPEG, PNG, GIF or WebP file.");
+                }
+                out.write(header);
+                in.transferTo(out);
+            }
+            String name = HexFormat.of().formatHex(sha256.digest()) + extension;
+            publish(temp, resolve(name));
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Moves {@code temp} to {@code target} unless the same bytes are already stored there,
+     * in which case the stored file is touched so the sweeper's grace period starts over.
+     */
+    private static void publish(Path temp, Path target) throws IOException {
+        if (touch(target)) {
+            return;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored by a concurrent upload of the same image between the two calls.
+            touch(target);
+        }
+    }
+
+    /**
+     * Marks a stored file as just used. Returns false when it does not exist, including
+     * when {@link #retire} has moved it aside, so the caller writes it again.
+     */
+    public boolean touch(String name) throws IOException {
+        return touch(resolve(name));
+    }
+
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    public void delete(String name) throws IOException {
+        Files.deleteIfExists(resolve(name));
+    }
+
+    /**
+     * Moves an unreferenced file aside, to be deleted with {@link #purge} or put back with
+     * {@link #restore} once the caller knows whether it is still unreferenced, unless it was
+     * stored or reused after {@code cutoff}. The file is renamed before it is checked, so an
+     * upload of the same bytes either touched it before the check (and it is kept) or finds
+     * it gone and stores a fresh copy.
+     *
+     * @param retired receives the moved file, if there was one
+     * @return false if the file was kept
+     */
+    public boolean retire(String name, Instant cutoff, List<Path> retired) throws IOException {
+        Path file = resolve(name);
+        Path trash = directory.resolve(RETIRED_PREFIX + UUID.randomUUID() + "-" + name);
+        try {
+            Files.move(file, trash, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+        if (Files.getLastModifiedTime(trash).toInstant().isAfter(cutoff)) {
+            restore(trash);
+            return false;
+        }
+        retired.add(trash);
+        return true;
+    }
+
+    /** Puts a file moved aside by {@link #retire} back under its name. */
+    public void restore(Path retired) throws IOException {
+        // RETIRED_PREFIX, a 36-character UUID and a dash precede the name.
+        Path file = resolve(retired.getFileName().toString().substring(RETIRED_PREFIX.length() + 37));
+        try {
+            Files.move(retired, file);
+        } catch (FileAlreadyExistsException e) {
+            // An upload already stored the same bytes again.
+            Files.delete(retired);
+        } catch (NoSuchFileException e) {
+            // Nothing to put back.
+        }
+    }
+
+    /** Deletes a file moved aside by {@link #retire}. */
+    public void purge(Path retired) throws IOException {
+        Files.deleteIfExists(retired);
+    }
+
+    /** Names of the resized variants {@link ImagePipeline} derives from {@code name}. */
+    static String variantName(String name, String variant, String extension) {
+        int dot = name.lastIndexOf('.');
+        return (dot < 0 ? name : name.substring(0, dot)) + "-" + variant + extension;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String extensionFor(byte[] header) {
+        if (header.length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return ".jpg";
+        }
+        if (header.length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return ".png";
+        }
+        if (header.length >= 4 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return ".gif";
+        }
+        if (header.length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return ".webp";
+        }
+        return null;
+    }
+}
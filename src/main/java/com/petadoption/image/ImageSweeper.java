@@ -0,0 +1,204 @@
+package com.petadoption.image;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deletes stored images no pet refers to any more. Reference counts live in image_refs and
+ * are kept by a trigger on pets.image_path (V4 migration), so deletes, image replacements
+ * and bulk imports are all counted; uploads are recorded here with a count of zero so that
+ * one whose form is never saved is reclaimed too.
+ *
+ * <p>Each {@link #sweep} handles at most {@code maxBatches} batches of {@code batchSize}
+ * images, one transaction per batch. Rows are claimed with {@code FOR UPDATE SKIP LOCKED},
+ * so several instances can share an uploads directory, and an image only goes once it has
+ * been unreferenced and untouched for the grace period. Files are moved aside while the
+ * rows are locked, the rows are marked deleted (V8 migration) and the files are removed
+ * once that commits; from then on a pet write referring to the image fails. Uploading the
+ * same bytes again stores a fresh copy and revives the row.
+ */
+class ImageSweeper {
+
+    private static final Logger LOGGER = Logger.getLogger(ImageSweeper.class.getName());
+    private static final String[] VARIANTS = {"thumb", "medium"};
+    private static final String[] VARIANT_EXTENSIONS = {".jpg", ".webp"};
+
+    private final DataSource dataSource;
+    private final ImageStore store;
+    private final Duration grace;
+    private final int batchSize;
+    private final int maxBatches;
+
+    ImageSweeper(DataSource dataSource, ImageStore store, Duration grace, int batchSize, int maxBatches) {
+        this.dataSource = dataSource;
+        this.store = store;
+        this.grace = grace;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /** Starts the grace period of a just-stored image that no pet refers to yet. */
+    void recordUpload(String name) {
+        String sql = "INSERT INTO image_refs (image_path, ref_count, unreferenced_since) " +
+                     "VALUES (?, 0, LOCALTIMESTAMP) " +
+                     "ON CONFLICT (image_path) DO UPDATE SET unreferenced_since = LOCALTIMESTAMP, deleted_at = NULL " +
+                     "WHERE image_refs.ref_count = 0";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, name);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            // The pet that is about to refer to it will count it; only an abandoned upload is missed,
+            // or a save is refused if the sweeper had deleted these bytes before.
+            LOGGER.log(Level.WARNING, "Could not record upload of " + name, e);
+        }
+    }
+
+    /** Runs batches until one comes back short or {@code maxBatches} have run. */
+    void sweep() {
+        long start = System.nanoTime();
+        int deleted = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int[] counts = sweepBatch();
+                deleted += counts[1];
+                if (counts[0] < batchSize) {
+                    break;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Image sweep failed", e);
+        }
+        if (deleted > 0) {
+            LOGGER.info("Deleted " + deleted + " unreferenced images in " + (System.nanoTime() - start) / 1_000_000
+                    + " ms");
+        }
+    }
+
+    /** Returns {claimed, deleted}. */
+    private int[] sweepBatch() throws SQLException {
+        // The database clock decides the grace period for rows, as it stamped them; file
+        // modification times are compared with this JVM's clock.
+        String claim = "SELECT image_path FROM image_refs " +
+                       "WHERE ref_count = 0 AND unreferenced_since < LOCALTIMESTAMP - ? * INTERVAL '1 second' " +
+                       "ORDER BY unreferenced_since LIMIT ? FOR UPDATE SKIP LOCKED";
+        Instant cutoff = Instant.now().minus(grace);
+        List<String> deleted = new ArrayList<>();
+        List<String> notStored = new ArrayList<>();
+        List<String> kept = new ArrayList<>();
+        List<Path> retired = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            int claimed = 0;
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement ps = conn.prepareStatement(claim)) {
+                    ps.setLong(1, grace.getSeconds());
+                    ps.setInt(2, batchSize);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            claimed++;
+                            String name = rs.getString(1);
+                            try {
+                                store.resolve(name);
+                            } catch (IllegalArgumentException e) {
+                                // Not a name this store produced (e.g. an imported URL); nothing to delete.
+                                notStored.add(name);
+                                continue;
+                            }
+                            List<Path> files = retire(name, cutoff);
+                            if (files == null) {
+                                kept.add(name);
+                            } else {
+                                deleted.add(name);
+                                retired.addAll(files);
+                            }
+                        }
+                    }
+                }
+                // The claimed rows stay locked until commit, so a pet write referring to one of
+                // these images waits and then finds deleted_at set, which its trigger rejects.
+                execute(conn, "UPDATE image_refs SET unreferenced_since = NULL, deleted_at = LOCALTIMESTAMP " +
+                              "WHERE image_path = ANY (?)", deleted);
+                execute(conn, "DELETE FROM image_refs WHERE image_path = ANY (?)", notStored);
+                execute(conn, "UPDATE image_refs SET unreferenced_since = LOCALTIMESTAMP WHERE image_path = ANY (?)",
+                        kept);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                restore(retired);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            purge(retired);
+            return new int[]{claimed, deleted.size()};
+        }
+    }
+
+    /**
+     * Moves the image and its variants aside, or returns null to keep them because the
+     * image was written again after {@code cutoff} or cannot be moved right now.
+     */
+    private List<Path> retire(String name, Instant cutoff) {
+        List<Path> files = new ArrayList<>();
+        try {
+            if (!store.retire(name, cutoff, files)) {
+                return null;
+            }
+            for (String variant : VARIANTS) {
+                for (String extension : VARIANT_EXTENSIONS) {
+                    store.retire(ImageStore.variantName(name, variant, extension), cutoff, files);
+                }
+            }
+            return files;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not move image " + name + " aside", e);
+            restore(files);
+            return null;
+        }
+    }
+
+    private void restore(List<Path> files) {
+        for (Path file : files) {
+            try {
+                store.restore(file);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not put back " + file, e);
+            }
+        }
+    }
+
+    private void purge(List<Path> files) {
+        for (Path file : files) {
+            try {
+                store.purge(file);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not delete " + file, e);
+            }
+        }
+    }
+
+    private static void execute(Connection conn, String sql, List<String> names) throws SQLException {
+        if (names.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            Array array = conn.createArrayOf("varchar", names.toArray());
+            ps.setArray(1, array);
+            ps.executeUpdate();
+            array.free();
+        }
+    }
+}
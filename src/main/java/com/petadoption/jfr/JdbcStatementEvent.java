@@ -0,0 +1,40 @@
+package com.petadoption.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Execution of one prepared statement. For queries the duration runs until the result
+ * set is closed, so it includes fetching the rows.
+ */
+@Name("com.petadoption.JdbcStatement")
+@Label("JDBC Statement")
+@Category({"Pet Adoption", "Database"})
+@Description("Prepared statement executed through the application connection pool")
+@Enabled(false)
+@StackTrace(false)
+public class JdbcStatementEvent extends Event {
+
+    @Label("SQL")
+    @Description("Statement text with ? placeholders, so equal shapes group together")
+    public String sql;
+
+    @Label("Kind")
+    @Description("query, update or batch")
+    public String kind;
+
+    @Label("Bind Count")
+    public int bindCount;
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Rows")
+    @Description("Rows read for queries, rows affected for updates and batches")
+    public long rows;
+}
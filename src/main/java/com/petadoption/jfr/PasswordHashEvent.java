@@ -0,0 +1,20 @@
+package com.petadoption.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One call to {@code PasswordUtil.hashPassword}, for registration or login checks. */
+@Name("com.petadoption.PasswordHash")
+@Label("Password Hash")
+@Category({"Pet Adoption", "Security"})
+@Enabled(false)
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+}
@@ -0,0 +1,38 @@
+package com.petadoption.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One request handled by a servlet, including forwards to its JSP. */
+@Name("com.petadoption.ServletRequest")
+@Label("Servlet Request")
+@Category({"Pet Adoption", "Web"})
+@Description("Request dispatched to an application servlet")
+@Enabled(false)
+@StackTrace(false)
+public class ServletRequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Servlet")
+    public String servlet;
+
+    @Label("URL Pattern")
+    public String urlPattern;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Query String")
+    @Description("Raw query string, i.e. the filter combination for listing pages")
+    public String queryString;
+
+    @Label("Status")
+    public int status;
+}
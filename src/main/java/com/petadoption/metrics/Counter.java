@@ -0,0 +1,27 @@
+package com.petadoption.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic event counter, registered through {@link Metrics#counter}. */
+public final class Counter {
+
+    private final String name;
+    private final String labels;
+    private final String help;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, String labels, String help) {
+        this.name = name;
+        this.labels = labels;
+        this.help = help;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    String name() { return name; }
+    String labels() { return labels; }
+    String help() { return help; }
+    long count() { return count.sum(); }
+}
@@ -0,0 +1,51 @@
+package com.petadoption.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram. Recording is a short bucket search plus two
+ * {@link LongAdder} increments: no locks and no allocation, so it is safe on every
+ * request path. Counts are per bucket; exporters accumulate them when writing.
+ */
+public final class LatencyHistogram {
+
+    /** Bucket upper bounds in nanoseconds, 100µs to 10s; a final unbounded bucket follows. */
+    static final long[] BOUNDS_NANOS = {
+            100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L,
+            10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L,
+            1_000_000_000L, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int i = 0;
+        while (i < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+    /** Per-bucket counts, one more than {@link #BOUNDS_NANOS} (the last is unbounded). */
+    long[] bucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    long sumNanos() {
+        return sumNanos.sum();
+    }
+}
@@ -0,0 +1,118 @@
+package com.petadoption.metrics;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide metric registry. Instruments are created once (normally into static
+ * fields) and recorded into without further lookups; {@link #writePrometheus} renders
+ * everything in the Prometheus text exposition format.
+ */
+public final class Metrics {
+
+    private static final String DAO_PREFIX = "petadoption_dao_query";
+    private static final String HTTP_PREFIX = "petadoption_http_request";
+
+    private static final Map<String, OperationMetrics> DAO_METHODS = new ConcurrentSkipListMap<>();
+    private static final Map<String, OperationMetrics> SERVLETS = new ConcurrentHashMap<>();
+    private static final List<Counter> COUNTERS = new CopyOnWriteArrayList<>();
+
+    public static final Counter LOGINS_SUCCEEDED =
+            counter("petadoption_logins_total", "result", "success", "Login attempts by outcome.");
+    public static final Counter LOGINS_FAILED =
+            counter("petadoption_logins_total", "result", "failure", "Login attempts by outcome.");
+    public static final Counter REGISTRATIONS =
+            counter("petadoption_registrations_total", null, null, "Adopter accounts created.");
+    public static final Counter ADOPTIONS_SUBMITTED =
+            counter("petadoption_adoption_submissions_total", "result", "accepted",
+                    "Adoption request submissions by outcome.");
+    public static final Counter ADOPTIONS_UNAVAILABLE =
+            counter("petadoption_adoption_submissions_total", "result", "pet_unavailable",
+                    "Adoption request submissions by outcome.");
+
+    private Metrics() {
+    }
+
+    /** Metrics for one DAO method; {@code dao} names the table or entity, e.g. "pets". */
+    public static OperationMetrics dao(String dao, String method) {
+        return DAO_METHODS.computeIfAbsent(dao + "." + method,
+                k -> new OperationMetrics("dao=\"" + dao + "\",method=\"" + method + "\""));
+    }
+
+    /** Metrics for one servlet, created on its first request. */
+    public static OperationMetrics servlet(String servletName) {
+        OperationMetrics metrics = SERVLETS.get(servletName);
+        if (metrics == null) {
+            metrics = SERVLETS.computeIfAbsent(servletName,
+                    k -> new OperationMetrics("servlet=\"" + escape(servletName) + "\""));
+        }
+        return metrics;
+    }
+
+    public static Counter counter(String name, String labelName, String labelValue, String help) {
+        String labels = labelName == null ? "" : labelName + "=\"" + escape(labelValue) + "\"";
+        Counter counter = new Counter(name, labels, help);
+        COUNTERS.add(counter);
+        return counter;
+    }
+
+    public static void writePrometheus(PrintWriter out) {
+        writeOperations(out, DAO_PREFIX, "DAO method", new ArrayList<>(DAO_METHODS.values()), true);
+        List<OperationMetrics> servlets = new ArrayList<>(new ConcurrentSkipListMap<>(SERVLETS).values());
+        writeOperations(out, HTTP_PREFIX, "Servlet request", servlets, false);
+
+        String previous = null;
+        for (Counter c : COUNTERS) {
+            if (!c.name().equals(previous)) {
+                PrometheusFormat.header(out, c.name(), "counter", c.help());
+                previous = c.name();
+            }
+            PrometheusFormat.sample(out, c.name(), c.labels(), c.count());
+        }
+    }
+
+    private static void writeOperations(PrintWriter out, String prefix, String what,
+                                        List<OperationMetrics> operations, boolean withRows) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        String duration = prefix + "_duration_seconds";
+        PrometheusFormat.header(out, duration, "histogram", what + " latency.");
+        for (OperationMetrics op : operations) {
+            writeHistogram(out, duration, op.labels(), op.latency());
+        }
+        PrometheusFormat.header(out, prefix + "_errors_total", "counter", what + " failures.");
+        for (OperationMetrics op : operations) {
+            PrometheusFormat.sample(out, prefix + "_errors_total", op.labels(), op.errors());
+        }
+        if (withRows) {
+            PrometheusFormat.header(out, prefix + "_rows_total", "counter", what + " rows returned or written.");
+            for (OperationMetrics op : operations) {
+                PrometheusFormat.sample(out, prefix + "_rows_total", op.labels(), op.rows());
+            }
+        }
+    }
+
+    private static void writeHistogram(PrintWriter out, String name, String labels, LatencyHistogram histogram) {
+        long[] counts = histogram.bucketCounts();
+        long cumulative = 0;
+        String sep = labels.isEmpty() ? "" : labels + ",";
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            String le = i < LatencyHistogram.BOUNDS_NANOS.length
+                    ? PrometheusFormat.seconds(LatencyHistogram.BOUNDS_NANOS[i]) : "+Inf";
+            PrometheusFormat.sample(out, name + "_bucket", sep + "le=\"" + le + "\"", cumulative);
+        }
+        PrometheusFormat.sample(out, name + "_sum", labels, histogram.sumNanos() / 1e9);
+        PrometheusFormat.sample(out, name + "_count", labels, cumulative);
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
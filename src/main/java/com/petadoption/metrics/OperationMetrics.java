@@ -0,0 +1,58 @@
+package com.petadoption.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, error and row counts for one instrumented operation (a DAO method or a
+ * servlet). Callers keep the instance in a static field and time each call:
+ *
+ * <pre>
+ * long start = System.nanoTime();
+ * long rows = OperationMetrics.FAILED;
+ * try {
+ *     ...
+ *     rows = n;
+ * } finally {
+ *     FIND_BY_ID.record(start, rows);
+ * }
+ * </pre>
+ */
+public final class OperationMetrics {
+
+    /** Row count meaning the call failed; counted as an error rather than as rows. */
+    public static final long FAILED = -1;
+
+    private final String labels;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    OperationMetrics(String labels) {
+        this.labels = labels;
+    }
+
+    public void record(long startNanos, long rowCount) {
+        latency.record(System.nanoTime() - startNanos);
+        if (rowCount == FAILED) {
+            errors.increment();
+        } else {
+            rows.add(rowCount);
+        }
+    }
+
+    String labels() {
+        return labels;
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long rows() {
+        return rows.sum();
+    }
+}
@@ -0,0 +1,55 @@
+package com.petadoption.metrics;
+
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+
+/** Helpers for writing the Prometheus text exposition format (version 0.0.4). */
+public final class PrometheusFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusFormat() {
+    }
+
+    public static void header(PrintWriter out, String name, String type, String help) {
+        out.print("# HELP ");
+        out.print(name);
+        out.print(' ');
+        out.println(help);
+        out.print("# TYPE ");
+        out.print(name);
+        out.print(' ');
+        out.println(type);
+    }
+
+    public static void sample(PrintWriter out, String name, String labels, long value) {
+        writeName(out, name, labels);
+        out.println(value);
+    }
+
+    public static void sample(PrintWriter out, String name, String labels, double value) {
+        writeName(out, name, labels);
+        out.println(Double.isFinite(value) ? Double.toString(value)
+                : Double.isNaN(value) ? "NaN" : value > 0 ? "+Inf" : "-Inf");
+    }
+
+    /** Label fragment such as {@code cache="pets"}, escaping the value. */
+    public static String label(String name, String value) {
+        return name + "=\"" + Metrics.escape(value) + "\"";
+    }
+
+    /** Formats a nanosecond duration as seconds without exponent notation, e.g. "0.00025". */
+    public static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+
+    private static void writeName(PrintWriter out, String name, String labels) {
+        out.print(name);
+        if (labels != null && !labels.isEmpty()) {
+            out.print('{');
+            out.print(labels);
+            out.print('}');
+        }
+        out.print(' ');
+    }
+}
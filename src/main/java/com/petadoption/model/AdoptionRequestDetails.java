@@ -0,0 +1,28 @@
+package com.petadoption.model;
+
+/**
+ * Adoption request together with the pet and adopter fields the admin
+ * dashboard displays, loaded in one joined query.
+ */
+public class AdoptionRequestDetails extends AdoptionRequest {
+    private String petName;
+    private PetType petType;
+    private PetStatus petStatus;
+    private String adopterName;
+    private String adopterEmail;
+
+    public String getPetName() { return petName; }
+    public void setPetName(String petName) { this.petName = petName; }
+
+    public PetType getPetType() { return petType; }
+    public void setPetType(PetType petType) { this.petType = petType; }
+
+    public PetStatus getPetStatus() { return petStatus; }
+    public void setPetStatus(PetStatus petStatus) { this.petStatus = petStatus; }
+
+    public String getAdopterName() { return adopterName; }
+    public void setAdopterName(String adopterName) { this.adopterName = adopterName; }
+
+    public String getAdopterEmail() { return adopterEmail; }
+    public void setAdopterEmail(String adopterEmail) { this.adopterEmail = adopterEmail; }
+}
@@ -0,0 +1,22 @@
+package com.petadoption.model;
+
+import java.util.List;
+
+/**
+ * Outcome of approving or rejecting a set of requests at once. {@code decided} holds the
+ * selected requests that received the requested decision; {@code autoRejected} the other
+ * pending requests (selected or not) rejected because their pet was adopted. Selected ids
+ * in neither list were no longer pending.
+ */
+public class BulkDecision {
+    private final List<Long> decided;
+    private final List<Long> autoRejected;
+
+    public BulkDecision(List<Long> decided, List<Long> autoRejected) {
+        this.decided = decided;
+        this.autoRejected = autoRejected;
+    }
+
+    public List<Long> getDecided() { return decided; }
+    public List<Long> getAutoRejected() { return autoRejected; }
+}
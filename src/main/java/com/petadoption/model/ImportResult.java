@@ -0,0 +1,53 @@
+package com.petadoption.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: the ids generated for the rows that were stored, in file
+ * order, and the rows that were rejected. Only the first {@link #MAX_ERRORS} errors are
+ * kept so a badly broken file cannot exhaust memory; {@link #getRejected()} counts them all.
+ */
+public class ImportResult {
+
+    public static final int MAX_ERRORS = 1000;
+
+    private final List<Long> ids = new ArrayList<>();
+    private final List<RowError> errors = new ArrayList<>();
+    private int rejected;
+    private String failure;
+
+    public void addIds(List<Long> generated) {
+        ids.addAll(generated);
+    }
+
+    public void reject(int line, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public List<Long> getIds() { return ids; }
+    public int getImported() { return ids.size(); }
+    public List<RowError> getErrors() { return errors; }
+    public int getRejected() { return rejected; }
+    public boolean isErrorsTruncated() { return rejected > errors.size(); }
+
+    /** Set when the import stopped early; rows before the failing batch are kept. */
+    public String getFailure() { return failure; }
+    public void setFailure(String failure) { this.failure = failure; }
+
+    public static class RowError {
+        private final int line;
+        private final String message;
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
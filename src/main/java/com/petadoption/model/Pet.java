@@ -1,6 +1,8 @@
 
 package com.petadoption.model;
 
+import java.time.LocalDateTime;
+
 public abstract class Pet {
     private Long id;
     private String name;
@@ -9,7 +11,11 @@ public abstract class Pet {
     private int ageYears;
     private String description;
     private String imagePath;
+    private String imageThumbPath;
+    private String imageMediumPath;
     private PetStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 
     protected Pet() { }
 
@@ -48,6 +54,25 @@ public abstract class Pet {
     public String getImagePath() { return imagePath; }
     public void setImagePath(String imagePath) { this.imagePath = imagePath; }
 
+    public String getImageThumbPath() { return imageThumbPath; }
+    public void setImageThumbPath(String imageThumbPath) { this.imageThumbPath = imageThumbPath; }
+
+    public String getImageMediumPath() { return imageMediumPath; }
+    public void setImageMediumPath(String imageMediumPath) { this.imageMediumPath = imageMediumPath; }
+
+    /** Image for list items: the thumbnail, or the original until the thumbnail exists. */
+    public String getListImagePath() { return imageThumbPath != null ? imageThumbPath : imagePath; }
+
+    /** Image for the details page: the medium variant, or the original until it exists. */
+    public String getDetailImagePath() { return imageMediumPath != null ? imageMediumPath : imagePath; }
+
     public PetStatus getStatus() { return status; }
     public void setStatus(PetStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    /** Time of the last write to this pet; null where the store does not track it. */
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
@@ -0,0 +1,78 @@
+package com.petadoption.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in the pet listing, ordered by {@code (created_at DESC, id DESC)}.
+ * The id breaks ties between pets created in the same instant so that keyset
+ * pages never overlap or skip rows. {@link #encode()} produces the opaque
+ * token used in {@code /pets} links.
+ */
+public final class PetCursor {
+
+    private static final String VERSION = "v1";
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public PetCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.id = id;
+    }
+
+    public static PetCursor of(Pet pet) {
+        if (pet == null || pet.getCreatedAt() == null || pet.getId() == null) {
+            return null;
+        }
+        return new PetCursor(pet.getCreatedAt(), pet.getId());
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public long getId() { return id; }
+
+    public String encode() {
+        long seconds = createdAt.toEpochSecond(ZoneOffset.UTC);
+        String raw = VERSION + ":" + seconds + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static PetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor token");
+            }
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Long.parseLong(parts[1]),
+                    Integer.parseInt(parts[2]), ZoneOffset.UTC);
+            return new PetCursor(createdAt, Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor token", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PetCursor)) return false;
+        PetCursor that = (PetCursor) o;
+        return id == that.id && createdAt.equals(that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id);
+    }
+
+    @Override
+    public String toString() {
+        return "PetCursor[" + createdAt + ", " + id + "]";
+    }
+}
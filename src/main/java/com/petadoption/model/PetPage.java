@@ -0,0 +1,26 @@
+package com.petadoption.model;
+
+import java.util.List;
+
+/**
+ * One keyset page of the pet listing plus the cursors needed to move to the
+ * neighbouring pages. A cursor is {@code null} when there is no page in that
+ * direction.
+ */
+public class PetPage {
+    private final List<Pet> pets;
+    private final PetCursor previous;
+    private final PetCursor next;
+
+    public PetPage(List<Pet> pets, PetCursor previous, PetCursor next) {
+        this.pets = pets;
+        this.previous = previous;
+        this.next = next;
+    }
+
+    public List<Pet> getPets() { return pets; }
+    public PetCursor getPrevious() { return previous; }
+    public PetCursor getNext() { return next; }
+    public boolean hasPrevious() { return previous != null; }
+    public boolean hasNext() { return next != null; }
+}
@@ -0,0 +1,22 @@
+package com.petadoption.model;
+
+/**
+ * Sort keys for the admin pet list. Each maps to a fixed column so that user
+ * input never reaches the ORDER BY clause.
+ */
+public enum PetSort {
+    CREATED("created_at"),
+    NAME("name"),
+    TYPE("type"),
+    BREED("breed"),
+    AGE("age_years"),
+    STATUS("status");
+
+    private final String column;
+
+    PetSort(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() { return column; }
+}
@@ -1,11 +1,14 @@
-
 package com.petadoption.service;
 
 import com.petadoption.dao.AdoptionRequestDAO;
-import com.petadoption.dao.PetDAO;
+import com.petadoption.dao.RowHandler;
 import com.petadoption.exception.ValidationException;
+import com.petadoption.metrics.Metrics;
 import com.petadoption.model.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -13,48 +16,77 @@ public class AdoptionService {
 
     private static final Logger LOGGER = Logger.getLogger(AdoptionService.class.getName());
     private final AdoptionRequestDAO requestDAO;
-    private final PetDAO petDAO;
 
-    public AdoptionService(AdoptionRequestDAO requestDAO, PetDAO petDAO) {
+    public AdoptionService(AdoptionRequestDAO requestDAO) {
         this.requestDAO = requestDAO;
-        this.petDAO = petDAO;
     }
 
     public void submitRequest(Long petId, Long adopterId, String message) throws ValidationException {
-        Pet pet = petDAO.findById(petId)
-                .orElseThrow(() -> new RuntimeException("Pet not found."));
-
-        if (pet.getStatus() != PetStatus.AVAILABLE) {
-            throw new ValidationException("Pet is not available for adoption.");
-        }
-
         AdoptionRequest req = new AdoptionRequest();
         req.setPetId(petId);
         req.setAdopterId(adopterId);
         req.setMessage(message);
         req.setStatus(AdoptionStatus.PENDING);
-        requestDAO.save(req);
-        petDAO.updateStatus(petId, PetStatus.PENDING);
+
+        // Claiming the pet and recording the request is one statement, so two adopters
+        // racing for the same pet cannot both get a PENDING request.
+        if (!requestDAO.submitIfPetAvailable(req)) {
+            Metrics.ADOPTIONS_UNAVAILABLE.increment();
+            LOGGER.info("Adoption request for pet " + petId + " by adopter " + adopterId + " lost: pet not available");
+            throw new ValidationException("Sorry, this pet has already been taken or is no longer available for adoption.");
+        }
+        Metrics.ADOPTIONS_SUBMITTED.increment();
         LOGGER.info("Adoption request submitted for pet " + petId + " by adopter " + adopterId);
     }
 
-    public void approveRequest(Long requestId) {
-        AdoptionRequest req = requestDAO.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Request not found"));
-        requestDAO.updateStatus(requestId, AdoptionStatus.APPROVED);
-        petDAO.updateStatus(req.getPetId(), PetStatus.ADOPTED);
-        LOGGER.info("Adoption request approved: " + requestId);
+    public void approveRequest(Long requestId) throws ValidationException {
+        Long petId = requestDAO.approvePending(requestId)
+                .orElseThrow(() -> new ValidationException("Request " + requestId + " is no longer pending."));
+        LOGGER.info("Adoption request approved: " + requestId + " (pet " + petId + ")");
+    }
+
+    public void rejectRequest(Long requestId) throws ValidationException {
+        Long petId = requestDAO.rejectPending(requestId)
+                .orElseThrow(() -> new ValidationException("Request " + requestId + " is no longer pending."));
+        LOGGER.info("Adoption request rejected: " + requestId + " (pet " + petId + ")");
     }
 
-    public void rejectRequest(Long requestId) {
-        AdoptionRequest req = requestDAO.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Request not found"));
-        requestDAO.updateStatus(requestId, AdoptionStatus.REJECTED);
-        petDAO.updateStatus(req.getPetId(), PetStatus.AVAILABLE);
-        LOGGER.info("Adoption request rejected: " + requestId);
+    public BulkDecision approveRequests(Collection<Long> requestIds) throws ValidationException {
+        requireSelection(requestIds);
+        BulkDecision decision = requestDAO.approvePendingAll(requestIds);
+        LOGGER.info("Bulk approved " + decision.getDecided().size() + " of " + requestIds.size()
+                + " adoption requests, auto-rejected " + decision.getAutoRejected().size());
+        return decision;
+    }
+
+    public BulkDecision rejectRequests(Collection<Long> requestIds) throws ValidationException {
+        requireSelection(requestIds);
+        BulkDecision decision = requestDAO.rejectPendingAll(requestIds);
+        LOGGER.info("Bulk rejected " + decision.getDecided().size() + " of " + requestIds.size()
+                + " adoption requests");
+        return decision;
+    }
+
+    private static void requireSelection(Collection<Long> requestIds) throws ValidationException {
+        if (requestIds == null || requestIds.isEmpty()) {
+            throw new ValidationException("Select at least one request.");
+        }
     }
 
     public List<AdoptionRequest> listPendingRequests() {
         return requestDAO.findByStatus(AdoptionStatus.PENDING);
     }
+
+    /**
+     * Pending requests with pet and adopter details for the admin dashboard, newest first,
+     * capped at {@code limit} rows.
+     */
+    public List<AdoptionRequestDetails> listPendingRequestDetails(int limit) {
+        return requestDAO.findPendingWithDetails(limit);
+    }
+
+    public void exportRequests(AdoptionStatus status, LocalDateTime from, LocalDateTime to,
+                               RowHandler<AdoptionRequest> handler) throws IOException {
+        requestDAO.streamRequests(status, from, to, handler);
+    }
 }
@@ -1,39 +1,349 @@
-
 package com.petadoption.service;
 
+import com.petadoption.cache.CacheStats;
+import com.petadoption.cache.TinyLfuCache;
+import com.petadoption.dao.CatalogVersion;
 import com.petadoption.dao.PetDAO;
+import com.petadoption.dao.RowHandler;
+import com.petadoption.exception.ValidationException;
+import com.petadoption.model.Cat;
+import com.petadoption.model.Dog;
+import com.petadoption.model.ImportResult;
 import com.petadoption.model.Pet;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetPage;
+import com.petadoption.model.PetSort;
 import com.petadoption.model.PetStatus;
 import com.petadoption.model.PetType;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.InputValidator;
+import com.petadoption.util.RecordReader;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.logging.Logger;
 
 public class PetService {
 
     private static final Logger LOGGER = Logger.getLogger(PetService.class.getName());
+    private static final int IMPORT_BATCH_SIZE = AppConfig.getInt("petadoption.import.batchSize", 5000);
     private final PetDAO petDAO;
+    private final TinyLfuCache<ListingKey, PetPage> listingCache;
 
     public PetService(PetDAO petDAO) {
+        this(petDAO, null);
+    }
+
+    /**
+     * @param listingCache cache for public listing pages, or {@code null} to always query.
+     *                     Entries are keyed by {@link CatalogVersion}, so any pet write makes
+     *                     every cached page unreachable.
+     */
+    public PetService(PetDAO petDAO, TinyLfuCache<ListingKey, PetPage> listingCache) {
         this.petDAO = petDAO;
+        this.listingCache = listingCache;
     }
 
     public List<Pet> getPetsPage(String typeStr, Integer ageMin, Integer ageMax,
                                  String breed, String nameQuery, int page, int size) {
 
-        PetType type = null;
+        PetType type = parseType(typeStr);
+        String breedFilter = normalize(breed);
+        String nameFilter = normalize(nameQuery);
+        int offset = page * size;
+
+        ListingKey key = listingCache == null ? null : new ListingKey(CatalogVersion.current(), type,
+                ageMin, ageMax, breedFilter, nameFilter, offset, null, false, false, size);
+        PetPage cached = key == null ? null : listingCache.getIfPresent(key);
+        if (cached != null) {
+            return cached.getPets();
+        }
+
+        List<Pet> pets = List.copyOf(petDAO.findPageFiltered(PetStatus.AVAILABLE, type, ageMin, ageMax,
+                breedFilter, nameFilter, offset, size));
+        if (key != null) {
+            listingCache.put(key, new PetPage(pets, null, null));
+        }
+        return pets;
+    }
+
+    /**
+     * Offset page of available pets matching {@code query}, most relevant first. Relevance
+     * order has no stable seek key, so this mode pages by offset.
+     */
+    public List<Pet> searchPetsPage(String typeStr, Integer ageMin, Integer ageMax,
+                                    String breed, String query, int page, int size) {
+
+        PetType type = parseType(typeStr);
+        String breedFilter = normalize(breed);
+        String queryFilter = normalize(query);
+        int offset = page * size;
+
+        ListingKey key = listingCache == null ? null : new ListingKey(CatalogVersion.current(), type,
+                ageMin, ageMax, breedFilter, queryFilter, offset, null, false, true, size);
+        PetPage cached = key == null ? null : listingCache.getIfPresent(key);
+        if (cached != null) {
+            return cached.getPets();
+        }
+
+        List<Pet> pets = List.copyOf(petDAO.searchRanked(PetStatus.AVAILABLE, type, ageMin, ageMax,
+                breedFilter, queryFilter, offset, size));
+        if (key != null) {
+            listingCache.put(key, new PetPage(pets, null, null));
+        }
+        return pets;
+    }
+
+    /**
+     * Keyset variant of {@link #getPetsPage}: latency does not depend on how deep the page is.
+     * {@code cursor} is the boundary pet of the page the user navigated from; {@code backward}
+     * selects the page before it rather than after.
+     */
+    public PetPage getPetsPageAfter(String typeStr, Integer ageMin, Integer ageMax, String breed,
+                                    String nameQuery, PetCursor cursor, boolean backward, int size) {
+
+        PetType type = parseType(typeStr);
+        String breedFilter = normalize(breed);
+        String nameFilter = normalize(nameQuery);
+
+        ListingKey key = listingCache == null ? null : new ListingKey(CatalogVersion.current(), type,
+                ageMin, ageMax, breedFilter, nameFilter, -1, cursor, backward, false, size);
+        PetPage cached = key == null ? null : listingCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        PetPage page = loadPageAfter(type, ageMin, ageMax, breedFilter, nameFilter, cursor, backward, size);
+        if (key != null) {
+            listingCache.put(key, page);
+        }
+        return page;
+    }
+
+    private PetPage loadPageAfter(PetType type, Integer ageMin, Integer ageMax, String breed,
+                                  String nameQuery, PetCursor cursor, boolean backward, int size) {
+        // One extra row tells us whether another page exists in the direction of travel.
+        List<Pet> rows = petDAO.findPageAfter(PetStatus.AVAILABLE, type, ageMin, ageMax, breed, nameQuery,
+                cursor, backward, size + 1);
+        if (backward && rows.isEmpty()) {
+            // Everything newer than the cursor has gone; land on the first page instead of an empty one.
+            return loadPageAfter(type, ageMin, ageMax, breed, nameQuery, null, false, size);
+        }
+        boolean more = rows.size() > size;
+        List<Pet> pets;
+        if (!more) {
+            pets = List.copyOf(rows);
+        } else if (backward) {
+            // Backward rows come back newest first, so the surplus row is the newest one.
+            pets = List.copyOf(rows.subList(1, rows.size()));
+        } else {
+            pets = List.copyOf(rows.subList(0, size));
+        }
+        if (pets.isEmpty()) {
+            return new PetPage(pets, null, null);
+        }
+
+        boolean hasPrevious = backward ? more : cursor != null;
+        boolean hasNext = backward ? cursor != null : more;
+        PetCursor previous = hasPrevious ? PetCursor.of(pets.get(0)) : null;
+        PetCursor next = hasNext ? PetCursor.of(pets.get(pets.size() - 1)) : null;
+        return new PetPage(pets, previous, next);
+    }
+
+    private PetType parseType(String typeStr) {
         if (typeStr != null && !typeStr.isBlank()) {
             try {
-                type = PetType.valueOf(typeStr);
+                return PetType.valueOf(typeStr);
             } catch (IllegalArgumentException e) {
                 LOGGER.warning("Invalid pet type filter: " + typeStr);
             }
         }
-        int offset = page * size;
-        return petDAO.findPageFiltered(PetStatus.AVAILABLE, type, ageMin, ageMax, breed, nameQuery, offset, size);
+        return null;
+    }
+
+    /** Text filters are matched case-insensitively, so "Lab ", "lab" and "LAB" share one cache entry. */
+    private static String normalize(String filter) {
+        if (filter == null || filter.isBlank()) {
+            return null;
+        }
+        return filter.trim().toLowerCase(Locale.ROOT);
     }
 
     public List<Pet> getAllPets() {
         return petDAO.findAll();
     }
+
+    /**
+     * Admin pet list page; {@code status} may be {@code null} for all statuses. Not cached,
+     * since admins expect to see their own edits immediately.
+     */
+    public List<Pet> getAdminPetsPage(PetStatus status, PetSort sort, boolean ascending, int page, int size) {
+        return petDAO.findAdminPage(status, sort, ascending, page * size, size);
+    }
+
+    /** Streams pets for export; bypasses both caches so it never evicts hot entries. */
+    public void exportPets(PetStatus status, LocalDateTime from, LocalDateTime to, RowHandler<Pet> handler)
+            throws IOException {
+        petDAO.streamPets(status, from, to, handler);
+    }
+
+    /**
+     * Validates each record from {@code reader} and stores the valid ones in batches of
+     * {@code petadoption.import.batchSize}, each its own transaction. Invalid rows are
+     * reported and skipped; a database failure stops the import, keeping earlier batches.
+     * Columns match the export: name, type, breed, age_years, description, image_path and
+     * status (default AVAILABLE). Any id or created_at column is ignored.
+     */
+    public ImportResult importPets(RecordReader reader) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Pet> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        while (true) {
+            Map<String, String> record;
+            try {
+                record = reader.next();
+                if (record == null) {
+                    break;
+                }
+                batch.add(toPet(record));
+            } catch (ValidationException | IllegalArgumentException e) {
+                result.reject(reader.getRecordLine(), e.getMessage());
+                continue;
+            }
+            if (batch.size() == IMPORT_BATCH_SIZE && !flushImportBatch(batch, result)) {
+                return result;
+            }
+        }
+        flushImportBatch(batch, result);
+        return result;
+    }
+
+    private boolean flushImportBatch(List<Pet> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            petDAO.insertAll(batch);
+        } catch (RuntimeException e) {
+            result.setFailure("Import stopped after " + result.getImported() + " pets: "
+                    + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            return false;
+        }
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Pet pet : batch) {
+            ids.add(pet.getId());
+        }
+        result.addIds(ids);
+        batch.clear();
+        return true;
+    }
+
+    private static Pet toPet(Map<String, String> record) throws ValidationException {
+        String name = trimToNull(record.get("name"));
+        InputValidator.requireNonEmpty(name, "Name");
+        InputValidator.requireMaxLength(name, "Name", 255);
+
+        String typeStr = trimToNull(record.get("type"));
+        InputValidator.requireNonEmpty(typeStr, "Type");
+        PetType type;
+        try {
+            type = PetType.valueOf(typeStr.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown type: " + typeStr + ".");
+        }
+
+        String breed = trimToNull(record.get("breed"));
+        InputValidator.requireMaxLength(breed, "Breed", 255);
+        int age = InputValidator.parsePositiveInt(trimToNull(record.get("age_years")), "Age", 0);
+        String description = trimToNull(record.get("description"));
+        String imagePath = trimToNull(record.get("image_path"));
+        InputValidator.requireMaxLength(imagePath, "Image path", 512);
+
+        String statusStr = trimToNull(record.get("status"));
+        PetStatus status = PetStatus.AVAILABLE;
+        if (statusStr != null) {
+            try {
+                status = PetStatus.valueOf(statusStr.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Unknown status: " + statusStr + ".");
+            }
+        }
+
+        switch (type) {
+            case DOG:
+                return new Dog(null, name, breed, age, description, imagePath, status);
+            case CAT:
+                return new Cat(null, name, breed, age, description, imagePath, status);
+            default:
+                return new Pet(null, name, type, breed, age, description, imagePath, status) {
+                    @Override
+                    public double getAdoptionFee() {
+                        return 1500.0;
+                    }
+                };
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public CacheStats getListingCacheStats() {
+        return listingCache == null ? null : listingCache.stats();
+    }
+
+    /**
+     * Normalised listing request. {@code offset} is -1 for keyset requests, which are
+     * identified by {@code cursor} and {@code backward} instead; {@code ranked} marks
+     * relevance-ordered search pages.
+     */
+    public static final class ListingKey {
+        private final long catalogVersion;
+        private final PetType type;
+        private final Integer ageMin;
+        private final Integer ageMax;
+        private final String breed;
+        private final String nameQuery;
+        private final int offset;
+        private final PetCursor cursor;
+        private final boolean backward;
+        private final boolean ranked;
+        private final int size;
+
+        ListingKey(long catalogVersion, PetType type, Integer ageMin, Integer ageMax, String breed,
+                   String nameQuery, int offset, PetCursor cursor, boolean backward, boolean ranked, int size) {
+            this.catalogVersion = catalogVersion;
+            this.type = type;
+            this.ageMin = ageMin;
+            this.ageMax = ageMax;
+            this.breed = breed;
+            this.nameQuery = nameQuery;
+            this.offset = offset;
+            this.cursor = cursor;
+            this.backward = backward;
+            this.ranked = ranked;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ListingKey)) return false;
+            ListingKey k = (ListingKey) o;
+            return catalogVersion == k.catalogVersion && offset == k.offset && backward == k.backward
+                    && ranked == k.ranked && size == k.size && type == k.type && Objects.equals(ageMin, k.ageMin)
+                    && Objects.equals(ageMax, k.ageMax) && Objects.equals(breed, k.breed)
+                    && Objects.equals(nameQuery, k.nameQuery) && Objects.equals(cursor, k.cursor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogVersion, type, ageMin, ageMax, breed, nameQuery, offset, cursor, backward,
+                    ranked, size);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.petadoption.service;
+
+import com.petadoption.cache.CacheStats;
+import com.petadoption.cache.TinyLfuCache;
+import com.petadoption.dao.DAOFactory;
+import com.petadoption.util.AppConfig;
+
+import java.time.Duration;
+
+/**
+ * Shared service instances built on {@link DAOFactory}. The public listing
+ * cache lives in the shared {@link PetService}, so it is hit by every request
+ * regardless of which servlet serves it.
+ */
+public class ServiceFactory {
+
+    private static final PetService PET_SERVICE = new PetService(DAOFactory.getPetDAO(),
+            new TinyLfuCache<>("pet-listings",
+                    AppConfig.getInt("petadoption.cache.listings.maxSize", 1_000),
+                    Duration.ofSeconds(AppConfig.getLong("petadoption.cache.listings.ttlSeconds", 60))));
+
+    private static final AdoptionService ADOPTION_SERVICE = new AdoptionService(DAOFactory.getAdoptionRequestDAO());
+
+    private static final UserService USER_SERVICE = new UserService(DAOFactory.getUserDAO());
+
+    public static PetService getPetService() {
+        return PET_SERVICE;
+    }
+
+    public static AdoptionService getAdoptionService() {
+        return ADOPTION_SERVICE;
+    }
+
+    public static UserService getUserService() {
+        return USER_SERVICE;
+    }
+
+    public static CacheStats getListingCacheStats() {
+        return PET_SERVICE.getListingCacheStats();
+    }
+}
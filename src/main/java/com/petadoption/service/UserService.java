@@ -3,6 +3,7 @@ package com.petadoption.service;
 
 import com.petadoption.dao.UserDAO;
 import com.petadoption.exception.ValidationException;
+import com.petadoption.metrics.Metrics;
 import com.petadoption.model.Adopter;
 import com.petadoption.model.User;
 import com.petadoption.util.InputValidator;
@@ -32,6 +33,7 @@ public class UserService {
         String hash = PasswordUtil.hashPassword(rawPassword);
         Adopter adopter = new Adopter(null, email, hash, fullName);
         userDAO.save(adopter);
+        Metrics.REGISTRATIONS.increment();
         LOGGER.info("Registered new adopter: " + email);
         return adopter;
     }
@@ -42,9 +44,11 @@ public class UserService {
 
         Optional<User> userOpt = userDAO.findByEmail(email);
         if (userOpt.isPresent() && userDAO.verifyPassword(userOpt.get(), password)) {
+            Metrics.LOGINS_SUCCEEDED.increment();
             LOGGER.info("User logged in: " + email);
             return userOpt;
         }
+        Metrics.LOGINS_FAILED.increment();
         LOGGER.warning("Failed login attempt for: " + email);
         return Optional.empty();
     }
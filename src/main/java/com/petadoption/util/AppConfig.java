@@ -0,0 +1,29 @@
+package com.petadoption.util;
+
+/**
+ * Application settings read from system properties, falling back to the
+ * matching environment variable ({@code petadoption.cache.pets.maxSize} is
+ * also read as {@code PETADOPTION_CACHE_PETS_MAXSIZE}).
+ */
+public class AppConfig {
+
+    public static String get(String property, String defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(property.toUpperCase().replace('.', '_'));
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String property, int defaultValue) {
+        return Integer.parseInt(get(property, String.valueOf(defaultValue)));
+    }
+
+    public static long getLong(String property, long defaultValue) {
+        return Long.parseLong(get(property, String.valueOf(defaultValue)));
+    }
+
+    public static boolean getBoolean(String property, boolean defaultValue) {
+        return Boolean.parseBoolean(get(property, String.valueOf(defaultValue)));
+    }
+}
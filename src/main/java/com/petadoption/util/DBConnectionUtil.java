@@ -1,8 +1,7 @@
-
 package com.petadoption.util;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnectionUtil {
@@ -11,6 +10,8 @@ public class DBConnectionUtil {
     private static final String USERNAME = "postgres";
     private static final String PASSWORD = "password";
 
+    private static volatile PooledDataSource dataSource;
+
     static {
         try {
             Class.forName("org.postgresql.Driver");
@@ -19,7 +20,40 @@ public class DBConnectionUtil {
         }
     }
 
+    /**
+     * Shared pooled data source, created on first use from {@link PoolConfig#fromEnvironment}.
+     */
+    public static DataSource getDataSource() {
+        return pool();
+    }
+
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        return pool().getConnection();
+    }
+
+    public static PoolStats getPoolStats() {
+        PooledDataSource ds = dataSource;
+        return ds == null ? null : ds.getStats();
+    }
+
+    public static synchronized void shutdown() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    private static PooledDataSource pool() {
+        PooledDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DBConnectionUtil.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = new PooledDataSource(PoolConfig.fromEnvironment(URL, USERNAME, PASSWORD));
+                    dataSource = ds;
+                }
+            }
+        }
+        return ds;
     }
 }
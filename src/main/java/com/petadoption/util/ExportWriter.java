@@ -0,0 +1,145 @@
+package com.petadoption.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes tabular rows as CSV (RFC 4180) or newline-delimited JSON. Nothing is buffered
+ * beyond the underlying {@link Writer}, so memory use does not grow with the row count.
+ */
+public abstract class ExportWriter {
+
+    protected final Writer out;
+    protected String[] columns;
+
+    protected ExportWriter(Writer out) {
+        this.out = out;
+    }
+
+    public static ExportWriter csv(Writer out) {
+        return new Csv(out);
+    }
+
+    public static ExportWriter ndjson(Writer out) {
+        return new NdJson(out);
+    }
+
+    public void begin(String... columns) throws IOException {
+        this.columns = columns;
+    }
+
+    /** Values are written in column order; {@code null} becomes an empty CSV field or JSON null. */
+    public abstract void row(Object... values) throws IOException;
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private static final class Csv extends ExportWriter {
+
+        Csv(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void begin(String... columns) throws IOException {
+            super.begin(columns);
+            row((Object[]) columns);
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i] instanceof Enum ? ((Enum<?>) values[i]).name() : values[i].toString());
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        }
+    }
+
+    private static final class NdJson extends ExportWriter {
+
+        NdJson(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeString(columns[i]);
+                out.write(':');
+                Object value = values[i];
+                if (value == null) {
+                    out.write("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    out.write(value.toString());
+                } else if (value instanceof Enum) {
+                    writeString(((Enum<?>) value).name());
+                } else {
+                    writeString(value.toString());
+                }
+            }
+            out.write("}\n");
+        }
+
+        private void writeString(String value) throws IOException {
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.write("\\\"");
+                        break;
+                    case '\\':
+                        out.write("\\\\");
+                        break;
+                    case '\n':
+                        out.write("\\n");
+                        break;
+                    case '\r':
+                        out.write("\\r");
+                        break;
+                    case '\t':
+                        out.write("\\t");
+                        break;
+                    default:
+                        if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                }
+            }
+            out.write('"');
+        }
+    }
+}
@@ -25,6 +25,12 @@ public class InputValidator {
         }
     }
 
+    public static void requireMaxLength(String value, String fieldName, int max) throws ValidationException {
+        if (value != null && value.length() > max) {
+            throw new ValidationException(fieldName + " must be at most " + max + " characters.");
+        }
+    }
+
     public static int parsePositiveInt(String value, String fieldName, int defaultVal) throws ValidationException {
         if (value == null || value.isEmpty()) return defaultVal;
         try {
@@ -1,6 +1,8 @@
 
 package com.petadoption.util;
 
+import com.petadoption.jfr.PasswordHashEvent;
+
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -8,6 +10,8 @@ import java.security.NoSuchAlgorithmException;
 public class PasswordUtil {
 
     public static String hashPassword(String raw) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
@@ -18,6 +22,12 @@ public class PasswordUtil {
             return sb.toString();
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("Unable to hash password", e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = "SHA-256";
+                event.commit();
+            }
         }
     }
 
@@ -0,0 +1,89 @@
+package com.petadoption.util;
+
+/**
+ * Settings for {@link PooledDataSource}. Every value can be overridden through
+ * {@link AppConfig}, e.g. {@code -Dpetadoption.db.pool.maxSize=30}.
+ */
+public class PoolConfig {
+
+    private String url;
+    private String username;
+    private String password;
+    private int minIdle = 2;
+    private int maxSize = 10;
+    private long acquireTimeoutMillis = 5_000;
+    private long idleTimeoutMillis = 600_000;
+    private long maxLifetimeMillis = 1_800_000;
+    private long validationIdleMillis = 1_000;
+    private int validationTimeoutSeconds = 2;
+    private long leakThresholdMillis = 30_000;
+    private long housekeepingIntervalMillis = 30_000;
+
+    public static PoolConfig fromEnvironment(String defaultUrl, String defaultUser, String defaultPassword) {
+        PoolConfig c = new PoolConfig();
+        c.url = AppConfig.get("petadoption.db.url", defaultUrl);
+        c.username = AppConfig.get("petadoption.db.username", defaultUser);
+        c.password = AppConfig.get("petadoption.db.password", defaultPassword);
+        c.minIdle = AppConfig.getInt("petadoption.db.pool.minIdle", c.minIdle);
+        c.maxSize = AppConfig.getInt("petadoption.db.pool.maxSize", c.maxSize);
+        c.acquireTimeoutMillis = AppConfig.getLong("petadoption.db.pool.acquireTimeoutMillis", c.acquireTimeoutMillis);
+        c.idleTimeoutMillis = AppConfig.getLong("petadoption.db.pool.idleTimeoutMillis", c.idleTimeoutMillis);
+        c.maxLifetimeMillis = AppConfig.getLong("petadoption.db.pool.maxLifetimeMillis", c.maxLifetimeMillis);
+        c.validationIdleMillis = AppConfig.getLong("petadoption.db.pool.validationIdleMillis", c.validationIdleMillis);
+        c.validationTimeoutSeconds = AppConfig.getInt("petadoption.db.pool.validationTimeoutSeconds",
+                c.validationTimeoutSeconds);
+        c.leakThresholdMillis = AppConfig.getLong("petadoption.db.pool.leakThresholdMillis", c.leakThresholdMillis);
+        c.housekeepingIntervalMillis = AppConfig.getLong("petadoption.db.pool.housekeepingIntervalMillis",
+                c.housekeepingIntervalMillis);
+        c.validate();
+        return c;
+    }
+
+    public void validate() {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool maxSize must be at least 1");
+        }
+        if (minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Pool minIdle must be between 0 and maxSize");
+        }
+        if (acquireTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Pool acquireTimeoutMillis must not be negative");
+        }
+    }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public int getMinIdle() { return minIdle; }
+    public void setMinIdle(int minIdle) { this.minIdle = minIdle; }
+
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+    public long getAcquireTimeoutMillis() { return acquireTimeoutMillis; }
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) { this.acquireTimeoutMillis = acquireTimeoutMillis; }
+
+    public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) { this.idleTimeoutMillis = idleTimeoutMillis; }
+
+    public long getMaxLifetimeMillis() { return maxLifetimeMillis; }
+    public void setMaxLifetimeMillis(long maxLifetimeMillis) { this.maxLifetimeMillis = maxLifetimeMillis; }
+
+    public long getValidationIdleMillis() { return validationIdleMillis; }
+    public void setValidationIdleMillis(long validationIdleMillis) { this.validationIdleMillis = validationIdleMillis; }
+
+    public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) { this.validationTimeoutSeconds = validationTimeoutSeconds; }
+
+    public long getLeakThresholdMillis() { return leakThresholdMillis; }
+    public void setLeakThresholdMillis(long leakThresholdMillis) { this.leakThresholdMillis = leakThresholdMillis; }
+
+    public long getHousekeepingIntervalMillis() { return housekeepingIntervalMillis; }
+    public void setHousekeepingIntervalMillis(long housekeepingIntervalMillis) { this.housekeepingIntervalMillis = housekeepingIntervalMillis; }
+}
@@ -0,0 +1,78 @@
+package com.petadoption.util;
+
+/**
+ * Point-in-time snapshot of {@link PooledDataSource} usage. Acquire times are
+ * bucketed cumulatively: {@code acquireBucketCounts[i]} counts acquisitions
+ * that took at most {@code ACQUIRE_BUCKET_BOUNDS_MICROS[i]} microseconds; the
+ * final bucket is unbounded.
+ */
+public class PoolStats {
+
+    public static final long[] ACQUIRE_BUCKET_BOUNDS_MICROS = {
+            100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000, 5_000_000, Long.MAX_VALUE
+    };
+
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int waiting;
+    private final int maxSize;
+    private final long acquireCount;
+    private final long acquireTimeouts;
+    private final long acquireTimeMicrosSum;
+    private final long[] acquireBucketCounts;
+    private final long connectionsCreated;
+    private final long connectionsClosed;
+    private final long leaksDetected;
+
+    PoolStats(int active, int idle, int total, int waiting, int maxSize, long acquireCount, long acquireTimeouts,
+              long acquireTimeMicrosSum, long[] acquireBucketCounts, long connectionsCreated,
+              long connectionsClosed, long leaksDetected) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.waiting = waiting;
+        this.maxSize = maxSize;
+        this.acquireCount = acquireCount;
+        this.acquireTimeouts = acquireTimeouts;
+        this.acquireTimeMicrosSum = acquireTimeMicrosSum;
+        this.acquireBucketCounts = acquireBucketCounts;
+        this.connectionsCreated = connectionsCreated;
+        this.connectionsClosed = connectionsClosed;
+        this.leaksDetected = leaksDetected;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getTotal() { return total; }
+    public int getWaiting() { return waiting; }
+    public int getMaxSize() { return maxSize; }
+    public long getAcquireCount() { return acquireCount; }
+    public long getAcquireTimeouts() { return acquireTimeouts; }
+    public long getAcquireTimeMicrosSum() { return acquireTimeMicrosSum; }
+    public long[] getAcquireBucketCounts() { return acquireBucketCounts.clone(); }
+    public long getConnectionsCreated() { return connectionsCreated; }
+    public long getConnectionsClosed() { return connectionsClosed; }
+    public long getLeaksDetected() { return leaksDetected; }
+
+    public double getMeanAcquireMillis() {
+        return acquireCount == 0 ? 0.0 : acquireTimeMicrosSum / 1000.0 / acquireCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("active=").append(active)
+          .append(" idle=").append(idle)
+          .append(" total=").append(total)
+          .append(" max=").append(maxSize)
+          .append(" waiting=").append(waiting)
+          .append(" acquired=").append(acquireCount)
+          .append(" timeouts=").append(acquireTimeouts)
+          .append(" created=").append(connectionsCreated)
+          .append(" closed=").append(connectionsClosed)
+          .append(" leaks=").append(leaksDetected)
+          .append(String.format(" meanAcquireMs=%.3f", getMeanAcquireMillis()));
+        return sb.toString();
+    }
+}
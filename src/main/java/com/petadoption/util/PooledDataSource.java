@@ -0,0 +1,413 @@
+package com.petadoption.util;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool.
+ *
+ * <p>At most {@code maxSize} connections are leased at once; callers beyond that
+ * wait up to {@code acquireTimeoutMillis} and then get a
+ * {@link SQLTransientConnectionException}. Idle connections are handed out
+ * most-recently-used first so that surplus ones age out and are evicted by the
+ * housekeeping task, which also tops the pool back up to {@code minIdle},
+ * retires connections past {@code maxLifetimeMillis} and reports leases held
+ * longer than {@code leakThresholdMillis}. A connection that has been idle for
+ * longer than {@code validationIdleMillis} is validated before it is handed out.
+ *
+ * <p>Callers get a proxy whose {@code close()} returns the physical connection
+ * to the pool; an open transaction is rolled back and auto-commit restored.
+ */
+public class PooledDataSource implements DataSource, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(PooledDataSource.class.getName());
+    private static final AtomicLong CONNECTION_IDS = new AtomicLong();
+
+    private final PoolConfig config;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> leased = ConcurrentHashMap.newKeySet();
+    private final Semaphore leasePermits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder acquireMicrosSum = new LongAdder();
+    private final LongAdder[] acquireBuckets;
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsClosed = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+    private volatile PrintWriter logWriter;
+
+    public PooledDataSource(PoolConfig config) {
+        config.validate();
+        this.config = config;
+        this.leasePermits = new Semaphore(config.getMaxSize(), true);
+        this.acquireBuckets = new LongAdder[PoolStats.ACQUIRE_BUCKET_BOUNDS_MICROS.length];
+        for (int i = 0; i < acquireBuckets.length; i++) {
+            acquireBuckets[i] = new LongAdder();
+        }
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = config.getHousekeepingIntervalMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+        housekeeper.execute(this::fillToMinimum);
+        LOGGER.info("Connection pool started: minIdle=" + config.getMinIdle() + " maxSize=" + config.getMaxSize()
+                + " acquireTimeoutMillis=" + config.getAcquireTimeoutMillis());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+        long start = System.nanoTime();
+        long timeoutMillis = config.getAcquireTimeoutMillis();
+        waiting.incrementAndGet();
+        try {
+            if (!leasePermits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw acquireTimeout(timeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pc = takeOrCreate(start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+            pc.leasedAt = System.currentTimeMillis();
+            pc.leakReported = false;
+            pc.acquiredAt = config.getLeakThresholdMillis() > 0
+                    ? new Exception("Connection " + pc.id + " acquired here") : null;
+            leased.add(pc);
+            recordAcquire(System.nanoTime() - start);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new LeaseHandler(pc));
+        } catch (SQLException | RuntimeException e) {
+            leasePermits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    public PoolStats getStats() {
+        long[] buckets = new long[acquireBuckets.length];
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += acquireBuckets[i].sum();
+            buckets[i] = cumulative;
+        }
+        return new PoolStats(leased.size(), idle.size(), totalConnections.get(), waiting.get(),
+                config.getMaxSize(), acquireCount.sum(), acquireTimeouts.sum(), acquireMicrosSum.sum(), buckets,
+                connectionsCreated.sum(), connectionsClosed.sum(), leaksDetected.sum());
+    }
+
+    @Override
+    public void close() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destroy(pc);
+        }
+        LOGGER.info("Connection pool shut down; " + leased.size() + " connection(s) still leased will be closed on return");
+    }
+
+    private PooledConnection takeOrCreate(long deadlineNanos) throws SQLException {
+        while (true) {
+            PooledConnection pc = idle.pollFirst();
+            if (pc == null) {
+                if (reserveSlot()) {
+                    return openConnection();
+                }
+                long remaining = deadlineNanos - System.nanoTime();
+                try {
+                    pc = remaining > 0 ? idle.pollFirst(remaining, TimeUnit.NANOSECONDS) : null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+                if (pc == null) {
+                    throw acquireTimeout(config.getAcquireTimeoutMillis());
+                }
+            }
+            if (isUsable(pc)) {
+                return pc;
+            }
+            destroy(pc);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        long now = System.currentTimeMillis();
+        if (now - pc.createdAt > config.getMaxLifetimeMillis()) {
+            return false;
+        }
+        if (now - pc.lastUsed <= config.getValidationIdleMillis()) {
+            return true;
+        }
+        try {
+            return pc.physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Connection " + pc.id + " failed validation", e);
+            return false;
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= config.getMaxSize()) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(config.getUrl(), config.getUsername(), config.getPassword());
+            connectionsCreated.increment();
+            return new PooledConnection(CONNECTION_IDS.incrementAndGet(), physical);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        leased.remove(pc);
+        boolean reusable = !pc.broken && !shutdown;
+        if (reusable) {
+            try {
+                if (pc.physical.isClosed()) {
+                    reusable = false;
+                } else {
+                    if (!pc.physical.getAutoCommit()) {
+                        pc.physical.rollback();
+                        pc.physical.setAutoCommit(true);
+                    }
+                    if (pc.physical.isReadOnly()) {
+                        pc.physical.setReadOnly(false);
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Discarding connection " + pc.id + " that could not be reset", e);
+                reusable = false;
+            }
+        }
+        if (reusable) {
+            pc.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(pc);
+        } else {
+            destroy(pc);
+        }
+        leasePermits.release();
+    }
+
+    private void destroy(PooledConnection pc) {
+        totalConnections.decrementAndGet();
+        connectionsClosed.increment();
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing connection " + pc.id, e);
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+            long leakThreshold = config.getLeakThresholdMillis();
+            if (leakThreshold > 0) {
+                for (PooledConnection pc : leased) {
+                    if (!pc.leakReported && now - pc.leasedAt > leakThreshold) {
+                        pc.leakReported = true;
+                        leaksDetected.increment();
+                        LOGGER.log(Level.WARNING, "Possible connection leak: connection " + pc.id
+                                + " leased for " + (now - pc.leasedAt) + "ms", pc.acquiredAt);
+                    }
+                }
+            }
+
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                boolean idleTooLong = now - pc.lastUsed > config.getIdleTimeoutMillis()
+                        && totalConnections.get() > config.getMinIdle();
+                boolean tooOld = now - pc.createdAt > config.getMaxLifetimeMillis();
+                if ((idleTooLong || tooOld) && idle.remove(pc)) {
+                    destroy(pc);
+                }
+            }
+
+            fillToMinimum();
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Connection pool stats: " + getStats());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!shutdown && idle.size() < config.getMinIdle() && totalConnections.get() < config.getMinIdle()
+                && reserveSlot()) {
+            try {
+                PooledConnection pc = openConnection();
+                idle.offerLast(pc);
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Could not open connection to fill pool: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void recordAcquire(long nanos) {
+        long micros = nanos / 1_000;
+        acquireCount.increment();
+        acquireMicrosSum.add(micros);
+        long[] bounds = PoolStats.ACQUIRE_BUCKET_BOUNDS_MICROS;
+        for (int i = 0; i < bounds.length; i++) {
+            if (micros <= bounds[i]) {
+                acquireBuckets[i].increment();
+                return;
+            }
+        }
+    }
+
+    private SQLTransientConnectionException acquireTimeout(long timeoutMillis) {
+        acquireTimeouts.increment();
+        return new SQLTransientConnectionException("Timed out after " + timeoutMillis
+                + "ms waiting for a database connection (" + getStats() + ")", "08001");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() { return logWriter; }
+
+    @Override
+    public void setLogWriter(PrintWriter out) { this.logWriter = out; }
+
+    @Override
+    public void setLoginTimeout(int seconds) { DriverManager.setLoginTimeout(seconds); }
+
+    @Override
+    public int getLoginTimeout() { return DriverManager.getLoginTimeout(); }
+
+    @Override
+    public Logger getParentLogger() { return LOGGER.getParent(); }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) { return iface.isInstance(this); }
+
+    private static final class PooledConnection {
+        final long id;
+        final Connection physical;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastUsed = createdAt;
+        volatile long leasedAt;
+        volatile boolean leakReported;
+        volatile boolean broken;
+        volatile Exception acquiredAt;
+
+        PooledConnection(long id, Connection physical) {
+            this.id = id;
+            this.physical = physical;
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean closed;
+
+        LeaseHandler(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pc.id + (closed ? ", closed]" : "]");
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                Object result = method.invoke(pc.physical, args);
+                return "prepareStatement".equals(method.getName())
+                        ? StatementTracer.wrapIfEnabled(result, args) : result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) {
+                        pc.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.petadoption.util;
+
+import com.petadoption.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an upload one record at a time as a column-name to value map: CSV with a header
+ * row (RFC 4180 quoting, so quoted values may span lines) or newline-delimited JSON with
+ * one flat object per line. The counterpart of {@link ExportWriter}, so exported files
+ * import unchanged.
+ */
+public abstract class RecordReader {
+
+    protected final Reader in;
+    protected int line = 1;
+    private int recordLine;
+    private int pushback = -2;
+
+    protected RecordReader(Reader in) {
+        this.in = in;
+    }
+
+    public static RecordReader csv(Reader in) {
+        return new Csv(in);
+    }
+
+    public static RecordReader ndjson(Reader in) {
+        return new NdJson(in);
+    }
+
+    /**
+     * @return the next record, or {@code null} at end of input
+     * @throws ValidationException if the record is malformed; the reader has skipped past it
+     *                             and the next call continues with the following record
+     */
+    public abstract Map<String, String> next() throws IOException, ValidationException;
+
+    /** Line on which the record last returned (or rejected) by {@link #next} started. */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    protected void startRecord() {
+        recordLine = line;
+    }
+
+    protected int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+        } else {
+            c = in.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    protected void unread(int c) {
+        if (c == '\n') {
+            line--;
+        }
+        pushback = c;
+    }
+
+    private static final class Csv extends RecordReader {
+
+        private List<String> header;
+
+        Csv(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException, ValidationException {
+            if (header == null) {
+                header = readFields();
+                if (header == null) {
+                    return null;
+                }
+                for (int i = 0; i < header.size(); i++) {
+                    header.set(i, header.get(i).trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            List<String> fields;
+            do {
+                fields = readFields();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+            if (fields.size() != header.size()) {
+                throw new ValidationException("Expected " + header.size() + " columns but found " + fields.size() + ".");
+            }
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                record.put(header.get(i), fields.get(i));
+            }
+            return record;
+        }
+
+        /** Reads one physical record; returns {@code null} at end of input. */
+        private List<String> readFields() throws IOException, ValidationException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            startRecord();
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new ValidationException("Unterminated quoted value.");
+                    }
+                    if (c == '"') {
+                        int n = read();
+                        if (n == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = n;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int n = read();
+                        if (n != '\n') {
+                            unread(n);
+                        }
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+    }
+
+    /** Accepts flat objects only: string, number, boolean and null values. */
+    private static final class NdJson extends RecordReader {
+
+        private final StringBuilder buffer = new StringBuilder();
+        private int pos;
+
+        NdJson(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException, ValidationException {
+            do {
+                buffer.setLength(0);
+                int c = read();
+                if (c == -1) {
+                    return null;
+                }
+                startRecord();
+                while (c != -1 && c != '\n') {
+                    buffer.append((char) c);
+                    c = read();
+                }
+            } while (buffer.toString().isBlank());
+
+            pos = 0;
+            Map<String, String> record = new HashMap<>();
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipWhitespace();
+                    String key = readString().toLowerCase(Locale.ROOT);
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    record.put(key, readValue());
+                    skipWhitespace();
+                    char c = take();
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw new ValidationException("Expected ',' or '}' at column " + pos + ".");
+                    }
+                }
+            }
+            skipWhitespace();
+            if (pos != buffer.length()) {
+                throw new ValidationException("Unexpected content after JSON object.");
+            }
+            return record;
+        }
+
+        private String readValue() throws ValidationException {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw new ValidationException("Nested objects and arrays are not supported.");
+            }
+            int start = pos;
+            while (pos < buffer.length() && ",} \t\r".indexOf(buffer.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = buffer.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw new ValidationException("Missing value at column " + start + ".");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String readString() throws ValidationException {
+            expect('"');
+            StringBuilder s = new StringBuilder();
+            while (true) {
+                char c = take();
+                if (c == '"') {
+                    return s.toString();
+                }
+                if (c != '\\') {
+                    s.append(c);
+                    continue;
+                }
+                char e = take();
+                switch (e) {
+                    case 'n': s.append('\n'); break;
+                    case 'r': s.append('\r'); break;
+                    case 't': s.append('\t'); break;
+                    case 'b': s.append('\b'); break;
+                    case 'f': s.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > buffer.length()) {
+                            throw new ValidationException("Truncated \\u escape.");
+                        }
+                        try {
+                            s.append((char) Integer.parseInt(buffer.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw new ValidationException("Invalid \\u escape.");
+                        }
+                        pos += 4;
+                        break;
+                    default: s.append(e); break;
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < buffer.length() && Character.isWhitespace(buffer.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() throws ValidationException {
+            if (pos >= buffer.length()) {
+                throw new ValidationException("Unexpected end of line.");
+            }
+            return buffer.charAt(pos);
+        }
+
+        private char take() throws ValidationException {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char expected) throws ValidationException {
+            if (take() != expected) {
+                throw new ValidationException("Expected '" + expected + "' at column " + pos + ".");
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.petadoption.util;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned SQL scripts under {@code db/migration/} on the classpath, in version
+ * order, recording each one in {@code schema_migrations}. Scripts already recorded are skipped,
+ * so running it on every startup is safe; a recorded script whose content has since changed
+ * fails the run instead of silently diverging.
+ *
+ * <p>Scripts are listed in {@code db/migration/migrations.list} because a WAR's classpath
+ * cannot be listed reliably. Each script runs in its own transaction unless its first line is
+ * {@code -- migration: no-transaction}, which is needed for {@code CREATE INDEX CONCURRENTLY}.
+ * A session-level advisory lock keeps two instances starting at once from racing.
+ */
+public class SchemaMigrator {
+
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+    private static final String LOCATION = "db/migration/";
+    private static final String INDEX = LOCATION + "migrations.list";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String NO_TRANSACTION = "-- migration: no-transaction";
+    // Arbitrary but fixed; shared by every instance migrating the same database.
+    private static final long LOCK_KEY = 0x70657461646f7074L;
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Brings the schema up to date and returns the number of migrations applied.
+     *
+     * @throws IllegalStateException if a script fails or an applied script was modified
+     */
+    public int migrate() {
+        List<Migration> migrations = loadMigrations();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(true);
+            execute(conn, "SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            try {
+                execute(conn, "CREATE TABLE IF NOT EXISTS schema_migrations ("
+                        + "version INT PRIMARY KEY, description VARCHAR(255) NOT NULL, "
+                        + "checksum VARCHAR(64) NOT NULL, applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                        + "execution_ms BIGINT NOT NULL)");
+                Map<Integer, String> applied = appliedChecksums(conn);
+                int count = 0;
+                for (Migration m : migrations) {
+                    String checksum = applied.remove(m.version);
+                    if (checksum == null) {
+                        apply(conn, m);
+                        count++;
+                    } else if (!checksum.equals(m.checksum)) {
+                        throw new IllegalStateException("Migration " + m + " was modified after it was applied"
+                                + " (recorded checksum " + checksum + ", found " + m.checksum + ")");
+                    }
+                }
+                if (!applied.isEmpty()) {
+                    LOGGER.warning("Database has migrations this build does not know about: versions "
+                            + applied.keySet());
+                }
+                LOGGER.info(count == 0 ? "Schema is up to date"
+                        : "Applied " + count + " schema migration(s)");
+                return count;
+            } finally {
+                execute(conn, "SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+    }
+
+    private void apply(Connection conn, Migration m) throws SQLException {
+        LOGGER.info("Applying migration " + m + (m.transactional ? "" : " (outside a transaction)"));
+        long start = System.nanoTime();
+        List<String> statements = splitStatements(m.script);
+        if (m.transactional) {
+            conn.setAutoCommit(false);
+        }
+        try {
+            for (String sql : statements) {
+                try {
+                    execute(conn, sql);
+                } catch (SQLException e) {
+                    throw new SQLException("Migration " + m + " failed at: " + sql, e.getSQLState(), e);
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            String insert = "INSERT INTO schema_migrations (version, description, checksum, execution_ms) "
+                    + "VALUES (?, ?, ?, ?)";
+            try (PreparedStatement ps = conn.prepareStatement(insert)) {
+                ps.setInt(1, m.version);
+                ps.setString(2, m.description);
+                ps.setString(3, m.checksum);
+                ps.setLong(4, elapsedMillis);
+                ps.executeUpdate();
+            }
+            if (m.transactional) {
+                conn.commit();
+            }
+            LOGGER.info("Applied migration " + m + " in " + elapsedMillis + " ms");
+        } catch (SQLException | RuntimeException e) {
+            if (m.transactional) {
+                conn.rollback();
+            }
+            throw e;
+        } finally {
+            if (m.transactional) {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private static List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        for (String line : readResource(INDEX).split("\n")) {
+            String fileName = line.trim();
+            if (fileName.isEmpty() || fileName.startsWith("#")) {
+                continue;
+            }
+            Matcher m = FILE_NAME.matcher(fileName);
+            if (!m.matches()) {
+                throw new IllegalStateException("Migration file name must look like V<n>__<description>.sql: "
+                        + fileName);
+            }
+            migrations.add(new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '),
+                    readResource(LOCATION + fileName)));
+        }
+        migrations.sort(Comparator.comparingInt(mig -> mig.version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version == migrations.get(i - 1).version) {
+                throw new IllegalStateException("Duplicate migration version " + migrations.get(i).version);
+            }
+        }
+        return migrations;
+    }
+
+    /** Reads a classpath resource with line endings normalised, so checksums match across checkouts. */
+    private static String readResource(String name) {
+        ClassLoader loader = SchemaMigrator.class.getClassLoader();
+        try (InputStream in = loader.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing migration resource: " + name);
+            }
+            StringBuilder sb = new StringBuilder();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+            return sb.toString();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read migration resource: " + name, e);
+        }
+    }
+
+    /**
+     * Splits a script on top-level semicolons, skipping those inside quotes, quoted
+     * identifiers, dollar-quoted bodies and comments.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean hasCode = false;
+        int i = 0;
+        int n = script.length();
+        while (i < n) {
+            char c = script.charAt(i);
+            int end;
+            if (c == '-' && i + 1 < n && script.charAt(i + 1) == '-') {
+                end = script.indexOf('\n', i);
+                end = end < 0 ? n : end;
+                i = end;
+                continue;
+            } else if (c == '/' && i + 1 < n && script.charAt(i + 1) == '*') {
+                end = script.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                current.append(' ');
+                continue;
+            } else if (c == '\'' || c == '"') {
+                end = i + 1;
+                while (end < n) {
+                    if (script.charAt(end) == c) {
+                        // A doubled quote is an escaped quote, not the end of the literal.
+                        if (end + 1 < n && script.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                end = Math.min(n, end + 1);
+            } else if (c == '$' && dollarTag(script, i) != null) {
+                String tag = dollarTag(script, i);
+                end = script.indexOf(tag, i + tag.length());
+                end = end < 0 ? n : end + tag.length();
+            } else if (c == ';') {
+                if (hasCode) {
+                    statements.add(current.toString().trim());
+                }
+                current.setLength(0);
+                hasCode = false;
+                i++;
+                continue;
+            } else {
+                if (!Character.isWhitespace(c)) {
+                    hasCode = true;
+                }
+                current.append(c);
+                i++;
+                continue;
+            }
+            current.append(script, i, end);
+            hasCode = true;
+            i = end;
+        }
+        if (hasCode) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    /** Returns the {@code $tag$} opening at {@code start}, or {@code null} if it is not one. */
+    private static String dollarTag(String script, int start) {
+        int i = start + 1;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '$') {
+                return script.substring(start, i + 1);
+            }
+            boolean valid = i == start + 1
+                    ? Character.isLetter(c) || c == '_'
+                    : Character.isLetterOrDigit(c) || c == '_';
+            if (!valid) {
+                return null;
+            }
+            i++;
+        }
+        return null;
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String script;
+        final String checksum;
+        final boolean transactional;
+
+        Migration(int version, String description, String script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.checksum = sha256(script);
+            this.transactional = !script.startsWith(NO_TRANSACTION);
+        }
+
+        @Override
+        public String toString() {
+            return "V" + version + " (" + description + ")";
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.petadoption.util;
+
+import com.petadoption.jfr.JdbcStatementEvent;
+import jdk.jfr.EventType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Emits a {@link JdbcStatementEvent} for each execution of a pooled prepared statement.
+ * Statements are only wrapped while a recording has the event enabled; otherwise the
+ * cost is one flag check per {@code prepareStatement}.
+ */
+final class StatementTracer implements InvocationHandler {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(JdbcStatementEvent.class);
+
+    private final PreparedStatement target;
+    private final String sql;
+    private int bindCount;
+    private int batchSize;
+    private JdbcStatementEvent openQuery;
+
+    private StatementTracer(PreparedStatement target, String sql) {
+        this.target = target;
+        this.sql = sql;
+    }
+
+    /** Returns {@code statement} itself, or a tracing proxy when the event is enabled. */
+    static Object wrapIfEnabled(Object statement, Object[] prepareArgs) {
+        if (!(statement instanceof PreparedStatement) || !EVENT_TYPE.isEnabled()) {
+            return statement;
+        }
+        String sql = prepareArgs != null && prepareArgs.length > 0 ? String.valueOf(prepareArgs[0]) : null;
+        return Proxy.newProxyInstance(StatementTracer.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new StatementTracer((PreparedStatement) statement, sql));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+            bindCount = Math.max(bindCount, (Integer) args[0]);
+        } else if ("clearParameters".equals(name)) {
+            bindCount = 0;
+        } else if ("addBatch".equals(name) && (args == null || args.length == 0)) {
+            batchSize++;
+        }
+
+        switch (name) {
+            case "executeQuery":
+                return traceQuery(method, args);
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "execute":
+                return traceUpdate(method, args);
+            case "executeBatch":
+            case "executeLargeBatch":
+                return traceBatch(method, args);
+            case "close":
+                commitOpenQuery(0);
+                return call(method, args);
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return call(method, args);
+        }
+    }
+
+    private Object traceQuery(Method method, Object[] args) throws Throwable {
+        commitOpenQuery(0);
+        JdbcStatementEvent event = newEvent("query", args);
+        event.begin();
+        ResultSet rs = (ResultSet) call(method, args);
+        openQuery = event;
+        return Proxy.newProxyInstance(StatementTracer.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                new RowCounter(rs));
+    }
+
+    private Object traceUpdate(Method method, Object[] args) throws Throwable {
+        JdbcStatementEvent event = newEvent("update", args);
+        event.begin();
+        Object result = call(method, args);
+        if (result instanceof Number) {
+            event.rows = ((Number) result).longValue();
+        } else if (Boolean.TRUE.equals(result)) {
+            event.kind = "query";
+        }
+        event.commit();
+        return result;
+    }
+
+    private Object traceBatch(Method method, Object[] args) throws Throwable {
+        JdbcStatementEvent event = newEvent("batch", args);
+        event.batchSize = batchSize;
+        batchSize = 0;
+        event.begin();
+        Object result = call(method, args);
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int n : (int[]) result) {
+                rows += Math.max(n, 0);
+            }
+        } else if (result instanceof long[]) {
+            for (long n : (long[]) result) {
+                rows += Math.max(n, 0);
+            }
+        }
+        event.rows = rows;
+        event.commit();
+        return result;
+    }
+
+    private JdbcStatementEvent newEvent(String kind, Object[] args) {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        // Statement.execute*(String) overloads carry their own SQL.
+        event.sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+        event.kind = kind;
+        event.bindCount = bindCount;
+        return event;
+    }
+
+    private void commitOpenQuery(long rows) {
+        if (openQuery != null) {
+            openQuery.rows += rows;
+            openQuery.commit();
+            openQuery = null;
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Counts rows as they are read; the query event ends when the result set is closed. */
+    private final class RowCounter implements InvocationHandler {
+        private final ResultSet rs;
+        private long rows;
+
+        RowCounter(ResultSet rs) {
+            this.rs = rs;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    Object more = invokeTarget(method, args);
+                    if (Boolean.TRUE.equals(more)) {
+                        rows++;
+                    }
+                    return more;
+                case "close":
+                    try {
+                        return invokeTarget(method, args);
+                    } finally {
+                        commitOpenQuery(rows);
+                        rows = 0;
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return invokeTarget(method, args);
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(rs, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
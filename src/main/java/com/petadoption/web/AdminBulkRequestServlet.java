@@ -0,0 +1,84 @@
+package com.petadoption.web;
+
+import com.petadoption.exception.ValidationException;
+import com.petadoption.model.BulkDecision;
+import com.petadoption.service.AdoptionService;
+import com.petadoption.service.ServiceFactory;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Approves or rejects the requests ticked on the admin dashboard in one transaction.
+ */
+public class AdminBulkRequestServlet extends HttpServlet {
+
+    private static final int MAX_IDS = 1000;
+
+    private AdoptionService adoptionService;
+
+    @Override
+    public void init() {
+        this.adoptionService = ServiceFactory.getAdoptionService();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        if (session == null || !"ADMIN".equals(session.getAttribute("role"))) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        String action = req.getParameter("action");
+        try {
+            Set<Long> ids = parseIds(req.getParameterValues("ids"));
+            if ("approve".equals(action)) {
+                BulkDecision decision = adoptionService.approveRequests(ids);
+                session.setAttribute("message", "Approved " + decision.getDecided().size() + " request(s); "
+                        + decision.getAutoRejected().size() + " other request(s) for the adopted pets were rejected."
+                        + skippedNote(ids, decision));
+            } else if ("reject".equals(action)) {
+                BulkDecision decision = adoptionService.rejectRequests(ids);
+                session.setAttribute("message", "Rejected " + decision.getDecided().size() + " request(s)."
+                        + skippedNote(ids, decision));
+            } else {
+                throw new ValidationException("Unknown action.");
+            }
+        } catch (ValidationException e) {
+            session.setAttribute("error", e.getMessage());
+        }
+        resp.sendRedirect(req.getContextPath() + "/admin");
+    }
+
+    private static Set<Long> parseIds(String[] values) throws ValidationException {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                try {
+                    ids.add(Long.valueOf(value));
+                } catch (NumberFormatException e) {
+                    throw new ValidationException("Invalid request id: " + value);
+                }
+            }
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new ValidationException("Select at most " + MAX_IDS + " requests at a time.");
+        }
+        return ids;
+    }
+
+    private static String skippedNote(Set<Long> selected, BulkDecision decision) {
+        Set<Long> handled = new HashSet<>(decision.getDecided());
+        handled.addAll(decision.getAutoRejected());
+        long skipped = selected.stream().filter(id -> !handled.contains(id)).count();
+        return skipped > 0 ? " " + skipped + " selected request(s) were no longer pending." : "";
+    }
+}
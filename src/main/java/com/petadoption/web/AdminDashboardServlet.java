@@ -1,12 +1,14 @@
-
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcAdoptionRequestDAO;
-import com.petadoption.dao.JdbcPetDAO;
-import com.petadoption.model.AdoptionRequest;
+import com.petadoption.model.AdoptionRequestDetails;
 import com.petadoption.model.Pet;
+import com.petadoption.model.PetSort;
+import com.petadoption.model.PetStatus;
 import com.petadoption.service.AdoptionService;
 import com.petadoption.service.PetService;
+import com.petadoption.service.ServiceFactory;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.InputValidator;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -15,17 +17,50 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class AdminDashboardServlet extends HttpServlet {
 
+    private static final Logger LOGGER = Logger.getLogger(AdminDashboardServlet.class.getName());
+    private static final int PENDING_LIMIT = 500;
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final long SECTION_TIMEOUT_SECONDS = 15;
+
     private AdoptionService adoptionService;
     private PetService petService;
+    private ThreadPoolExecutor sectionExecutor;
 
     @Override
     public void init() {
-        JdbcPetDAO petDAO = new JdbcPetDAO();
-        this.adoptionService = new AdoptionService(new JdbcAdoptionRequestDAO(), petDAO);
-        this.petService = new PetService(petDAO);
+        this.adoptionService = ServiceFactory.getAdoptionService();
+        this.petService = ServiceFactory.getPetService();
+
+        // Dashboard sections are independent queries, so they run side by side. The pool and
+        // its queue are bounded; when both are full the request thread runs the section
+        // itself, which degrades to the old sequential behaviour instead of failing.
+        int threads = AppConfig.getInt("petadoption.dashboard.threads", 4);
+        AtomicInteger counter = new AtomicInteger();
+        this.sectionExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 8), r -> {
+                    Thread t = new Thread(r, "admin-dashboard-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        sectionExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy() {
+        sectionExecutor.shutdownNow();
     }
 
     @Override
@@ -36,11 +71,73 @@ public class AdminDashboardServlet extends HttpServlet {
             return;
         }
 
-        List<AdoptionRequest> pending = adoptionService.listPendingRequests();
-        List<Pet> allPets = petService.getAllPets();
+        int page = 0;
+        int size = DEFAULT_PAGE_SIZE;
+        try {
+            page = InputValidator.parsePositiveInt(req.getParameter("page"), "page", 0);
+            size = Math.max(1, Math.min(MAX_PAGE_SIZE,
+                    InputValidator.parsePositiveInt(req.getParameter("size"), "size", DEFAULT_PAGE_SIZE)));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Invalid dashboard pagination parameters, using defaults", e);
+        }
+        PetStatus status = parseEnum(PetStatus.class, req.getParameter("petStatus"), null);
+        PetSort sort = parseEnum(PetSort.class, req.getParameter("sort"), PetSort.CREATED);
+        boolean ascending = "asc".equalsIgnoreCase(req.getParameter("dir"));
+
+        final int petPage = page;
+        final int petSize = size;
+        Future<List<AdoptionRequestDetails>> pendingFuture =
+                sectionExecutor.submit(() -> adoptionService.listPendingRequestDetails(PENDING_LIMIT));
+        // One extra row tells us whether there is a next page without a COUNT(*).
+        Future<List<Pet>> petsFuture =
+                sectionExecutor.submit(() -> petService.getAdminPetsPage(status, sort, ascending, petPage, petSize + 1));
+
+        List<AdoptionRequestDetails> pending = await(pendingFuture, "pending requests");
+        List<Pet> pets = await(petsFuture, "pets");
+        boolean hasNext = pets.size() > size;
+        if (hasNext) {
+            pets = pets.subList(0, size);
+        }
 
         req.setAttribute("pendingRequests", pending);
-        req.setAttribute("pets", allPets);
+        req.setAttribute("pets", pets);
+        req.setAttribute("page", page);
+        req.setAttribute("size", size);
+        req.setAttribute("hasNext", hasNext);
+        req.setAttribute("petStatus", status == null ? "" : status.name());
+        req.setAttribute("sort", sort.name());
+        req.setAttribute("dir", ascending ? "asc" : "desc");
         req.getRequestDispatcher("/WEB-INF/views/admin-dashboard.jsp").forward(req, resp);
     }
+
+    private <T> T await(Future<T> future, String section) throws ServletException {
+        try {
+            return future.get(SECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while loading dashboard " + section, e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServletException("Timed out loading dashboard " + section, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ServletException("Error loading dashboard " + section, cause);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Ignoring invalid " + type.getSimpleName() + " parameter: " + value);
+            return defaultValue;
+        }
+    }
 }
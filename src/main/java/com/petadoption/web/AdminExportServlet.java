@@ -0,0 +1,141 @@
+package com.petadoption.web;
+
+import com.petadoption.model.AdoptionStatus;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetStatus;
+import com.petadoption.service.AdoptionService;
+import com.petadoption.service.PetService;
+import com.petadoption.service.ServiceFactory;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.ExportWriter;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams pets or adoption requests as CSV or NDJSON:
+ * {@code /admin/export?entity=pets|requests&format=csv|ndjson&status=&from=yyyy-MM-dd&to=yyyy-MM-dd}.
+ *
+ * <p>Rows go from a database cursor straight to the response, so memory stays flat for any
+ * table size. Each export holds one pooled connection until the client has read the last
+ * row, so the number of concurrent exports is capped to keep the pool free for page views.
+ */
+public class AdminExportServlet extends HttpServlet {
+
+    private static final Logger LOGGER = Logger.getLogger(AdminExportServlet.class.getName());
+
+    private PetService petService;
+    private AdoptionService adoptionService;
+    private Semaphore exportPermits;
+
+    @Override
+    public void init() {
+        this.petService = ServiceFactory.getPetService();
+        this.adoptionService = ServiceFactory.getAdoptionService();
+        this.exportPermits = new Semaphore(AppConfig.getInt("petadoption.export.maxConcurrent", 2));
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        if (session == null || !"ADMIN".equals(session.getAttribute("role"))) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        String entity = req.getParameter("entity");
+        boolean pets = "pets".equals(entity);
+        if (!pets && !"requests".equals(entity)) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "entity must be pets or requests");
+            return;
+        }
+        String format = req.getParameter("format") == null ? "csv" : req.getParameter("format");
+        if (!"csv".equals(format) && !"ndjson".equals(format)) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "format must be csv or ndjson");
+            return;
+        }
+
+        String status = req.getParameter("status");
+        PetStatus petStatus = null;
+        AdoptionStatus requestStatus = null;
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            if (status != null && !status.isBlank()) {
+                if (pets) {
+                    petStatus = PetStatus.valueOf(status);
+                } else {
+                    requestStatus = AdoptionStatus.valueOf(status);
+                }
+            }
+            from = parseDate(req.getParameter("from"), 0);
+            // "to" names the last day included, so the bound is the start of the next day.
+            to = parseDate(req.getParameter("to"), 1);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid status or date filter");
+            return;
+        }
+
+        if (!exportPermits.tryAcquire()) {
+            resp.setHeader("Retry-After", "30");
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many exports in progress");
+            return;
+        }
+        try {
+            resp.setContentType("csv".equals(format) ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+            resp.setHeader("Content-Disposition", "attachment; filename=\"" + entity + "." + format + "\"");
+            resp.setHeader("Cache-Control", "no-store");
+
+            BufferedWriter writer = new BufferedWriter(
+                    new OutputStreamWriter(resp.getOutputStream(), StandardCharsets.UTF_8), 16 * 1024);
+            ExportWriter export = "csv".equals(format) ? ExportWriter.csv(writer) : ExportWriter.ndjson(writer);
+            if (pets) {
+                exportPets(export, petStatus, from, to);
+            } else {
+                exportRequests(export, requestStatus, from, to);
+            }
+            export.flush();
+        } catch (IOException e) {
+            // Usually the client went away; the cursor and connection are already released.
+            LOGGER.log(Level.INFO, "Export of " + entity + " aborted", e);
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    private void exportPets(ExportWriter export, PetStatus status, LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        export.begin("id", "name", "type", "breed", "age_years", "description", "image_path", "status",
+                "created_at");
+        petService.exportPets(status, from, to, (Pet p) -> export.row(p.getId(), p.getName(), p.getType(),
+                p.getBreed(), p.getAgeYears(), p.getDescription(), p.getImagePath(), p.getStatus(),
+                p.getCreatedAt()));
+    }
+
+    private void exportRequests(ExportWriter export, AdoptionStatus status, LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        export.begin("id", "pet_id", "adopter_id", "message", "status", "requested_at", "processed_at");
+        adoptionService.exportRequests(status, from, to, r -> export.row(r.getId(), r.getPetId(),
+                r.getAdopterId(), r.getMessage(), r.getStatus(), r.getRequestedAt(), r.getProcessedAt()));
+    }
+
+    private static LocalDateTime parseDate(String value, int plusDays) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return LocalDate.parse(value.trim()).plusDays(plusDays).atStartOfDay();
+    }
+}
@@ -0,0 +1,107 @@
+package com.petadoption.web;
+
+import com.petadoption.cache.CacheStats;
+import com.petadoption.dao.DAOFactory;
+import com.petadoption.metrics.Metrics;
+import com.petadoption.metrics.PrometheusFormat;
+import com.petadoption.service.ServiceFactory;
+import com.petadoption.util.DBConnectionUtil;
+import com.petadoption.util.PoolStats;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Application metrics in the Prometheus text format: per-DAO-method and per-servlet
+ * latency histograms, error and row counts, business event counters, and the connection
+ * pool and cache statistics also shown on {@code /admin/stats}.
+ */
+public class AdminMetricsServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        if (session == null || !"ADMIN".equals(session.getAttribute("role"))) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        resp.setContentType(PrometheusFormat.CONTENT_TYPE);
+        resp.setHeader("Cache-Control", "no-store");
+        PrintWriter out = resp.getWriter();
+        Metrics.writePrometheus(out);
+        writePoolStats(out, DBConnectionUtil.getPoolStats());
+        writeCacheStats(out, List.of(DAOFactory.getPetCacheStats(), ServiceFactory.getListingCacheStats(),
+                PageCache.getStats()));
+    }
+
+    private void writePoolStats(PrintWriter out, PoolStats stats) {
+        if (stats == null) {
+            return;
+        }
+        gauge(out, "petadoption_db_pool_active_connections", "Connections currently leased.", stats.getActive());
+        gauge(out, "petadoption_db_pool_idle_connections", "Open connections waiting in the pool.", stats.getIdle());
+        gauge(out, "petadoption_db_pool_max_connections", "Configured pool size limit.", stats.getMaxSize());
+        gauge(out, "petadoption_db_pool_waiting_threads", "Threads waiting for a connection.", stats.getWaiting());
+        counter(out, "petadoption_db_pool_acquire_timeouts_total", "Acquisitions that timed out.",
+                stats.getAcquireTimeouts());
+        counter(out, "petadoption_db_pool_connections_created_total", "Physical connections opened.",
+                stats.getConnectionsCreated());
+        counter(out, "petadoption_db_pool_connections_closed_total", "Physical connections closed.",
+                stats.getConnectionsClosed());
+        counter(out, "petadoption_db_pool_leaks_total", "Leases held past the leak threshold.",
+                stats.getLeaksDetected());
+
+        // PoolStats buckets are already cumulative.
+        String name = "petadoption_db_pool_acquire_seconds";
+        PrometheusFormat.header(out, name, "histogram", "Time to lease a connection.");
+        long[] bounds = PoolStats.ACQUIRE_BUCKET_BOUNDS_MICROS;
+        long[] counts = stats.getAcquireBucketCounts();
+        for (int i = 0; i < bounds.length; i++) {
+            String le = bounds[i] == Long.MAX_VALUE ? "+Inf" : PrometheusFormat.seconds(bounds[i] * 1_000);
+            PrometheusFormat.sample(out, name + "_bucket", PrometheusFormat.label("le", le), counts[i]);
+        }
+        PrometheusFormat.sample(out, name + "_sum", null, stats.getAcquireTimeMicrosSum() / 1e6);
+        PrometheusFormat.sample(out, name + "_count", null, stats.getAcquireCount());
+    }
+
+    private void writeCacheStats(PrintWriter out, List<CacheStats> caches) {
+        cacheSeries(out, caches, "petadoption_cache_size", "gauge", "Entries currently cached.",
+                CacheStats::getSize);
+        cacheSeries(out, caches, "petadoption_cache_hits_total", "counter", "Lookups that found an entry.",
+                CacheStats::getHits);
+        cacheSeries(out, caches, "petadoption_cache_misses_total", "counter", "Lookups that found nothing.",
+                CacheStats::getMisses);
+        cacheSeries(out, caches, "petadoption_cache_evictions_total", "counter", "Entries evicted for size.",
+                CacheStats::getEvictions);
+        cacheSeries(out, caches, "petadoption_cache_expirations_total", "counter", "Entries dropped after their TTL.",
+                CacheStats::getExpirations);
+        cacheSeries(out, caches, "petadoption_cache_invalidations_total", "counter", "Entries dropped after a write.",
+                CacheStats::getInvalidations);
+    }
+
+    private static void cacheSeries(PrintWriter out, List<CacheStats> caches, String name, String type, String help,
+                                    ToLongFunction<CacheStats> value) {
+        PrometheusFormat.header(out, name, type, help);
+        for (CacheStats c : caches) {
+            PrometheusFormat.sample(out, name, PrometheusFormat.label("cache", c.getName()), value.applyAsLong(c));
+        }
+    }
+
+    private static void gauge(PrintWriter out, String name, String help, long value) {
+        PrometheusFormat.header(out, name, "gauge", help);
+        PrometheusFormat.sample(out, name, null, value);
+    }
+
+    private static void counter(PrintWriter out, String name, String help, long value) {
+        PrometheusFormat.header(out, name, "counter", help);
+        PrometheusFormat.sample(out, name, null, value);
+    }
+}
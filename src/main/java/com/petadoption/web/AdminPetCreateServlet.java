@@ -1,8 +1,10 @@
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcPetDAO;
+import com.petadoption.dao.DAOFactory;
 import com.petadoption.dao.PetDAO;
 import com.petadoption.exception.ValidationException;
+import com.petadoption.image.ImagePipeline;
+import com.petadoption.image.ImageStore;
 import com.petadoption.model.*;
 import com.petadoption.util.InputValidator;
 
@@ -14,22 +16,22 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.Part;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-@MultipartConfig
+// Parts are streamed to a temporary file as they arrive; oversized uploads are cut off.
+@MultipartConfig(maxFileSize = ImageStore.MAX_UPLOAD_BYTES, maxRequestSize = ImageStore.MAX_REQUEST_BYTES)
 public class AdminPetCreateServlet extends HttpServlet {
 
     private static final Logger LOGGER = Logger.getLogger(AdminPetCreateServlet.class.getName());
     private PetDAO petDAO;
+    private ImagePipeline images;
 
     @Override
     public void init() {
-        this.petDAO = new JdbcPetDAO();
+        this.petDAO = DAOFactory.getPetDAO();
+        this.images = ImagePipeline.from(getServletContext());
         LOGGER.info("AdminPetCreateServlet initialized");
     }
 
@@ -53,6 +55,16 @@ public class AdminPetCreateServlet extends HttpServlet {
 
         req.setCharacterEncoding("UTF-8");
 
+        Part imagePart;
+        try {
+            imagePart = req.getPart("image");
+        } catch (IllegalStateException e) {
+            // The container rejects the whole multipart body once a limit is exceeded.
+            resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Images can be at most " + ImageStore.MAX_UPLOAD_BYTES / (1024 * 1024) + " MB.");
+            return;
+        }
+
         String name = req.getParameter("name");
         String typeStr = req.getParameter("type");
         String breed = req.getParameter("breed");
@@ -67,24 +79,9 @@ public class AdminPetCreateServlet extends HttpServlet {
             int age = InputValidator.parsePositiveInt(ageStr, "Age", 0);
             PetStatus status = PetStatus.valueOf(statusStr);
 
-            Part imagePart = req.getPart("image");
             String fileName = null;
-
             if (imagePart != null && imagePart.getSize() > 0) {
-                String uploadsDir = getServletContext().getRealPath("/uploads/pets");
-                File dir = new File(uploadsDir);
-                if (!dir.exists() && !dir.mkdirs()) {
-                    throw new IOException("Could not create uploads directory");
-                }
-
-                String submitted = imagePart.getSubmittedFileName();
-                String ext = "";
-                if (submitted != null && submitted.contains(".")) {
-                    ext = submitted.substring(submitted.lastIndexOf('.'));
-                }
-                fileName = UUID.randomUUID() + ext;
-                File target = new File(dir, fileName);
-                Files.copy(imagePart.getInputStream(), target.toPath());
+                fileName = images.save(imagePart);
             }
 
             Pet pet;
@@ -106,6 +103,9 @@ public class AdminPetCreateServlet extends HttpServlet {
 
             petDAO.save(pet);
             LOGGER.info("Admin created new pet id=" + pet.getId());
+            if (fileName != null) {
+                images.createVariants(pet.getId(), fileName);
+            }
             resp.sendRedirect(req.getContextPath() + "/admin");
         } catch (ValidationException | IllegalArgumentException e) {
             LOGGER.log(Level.WARNING, "Validation error creating pet", e);
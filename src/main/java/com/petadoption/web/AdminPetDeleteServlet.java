@@ -1,9 +1,9 @@
 
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcPetDAO;
-import com.petadoption.dao.PetDAO;
 
+import com.petadoption.dao.DAOFactory;
+import com.petadoption.dao.PetDAO;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,7 +17,7 @@ public class AdminPetDeleteServlet extends HttpServlet {
 
     @Override
     public void init() {
-        this.petDAO = new JdbcPetDAO();
+        this.petDAO = DAOFactory.getPetDAO();
     }
 
     @Override
@@ -1,9 +1,11 @@
 
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcPetDAO;
+import com.petadoption.dao.DAOFactory;
 import com.petadoption.dao.PetDAO;
 import com.petadoption.exception.ValidationException;
+import com.petadoption.image.ImagePipeline;
+import com.petadoption.image.ImageStore;
 import com.petadoption.model.*;
 import com.petadoption.util.InputValidator;
 
@@ -14,19 +16,22 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.Part;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-@MultipartConfig
+// Parts are streamed to a temporary file as they arrive; oversized uploads are cut off.
+@MultipartConfig(maxFileSize = ImageStore.MAX_UPLOAD_BYTES, maxRequestSize = ImageStore.MAX_REQUEST_BYTES)
 public class AdminPetEditServlet extends HttpServlet {
 
+    private static final Logger LOGGER = Logger.getLogger(AdminPetEditServlet.class.getName());
     private PetDAO petDAO;
+    private ImagePipeline images;
 
     @Override
     public void init() {
-        this.petDAO = new JdbcPetDAO();
+        this.petDAO = DAOFactory.getPetDAO();
+        this.images = ImagePipeline.from(getServletContext());
     }
 
     @Override
@@ -52,6 +57,16 @@ public class AdminPetEditServlet extends HttpServlet {
 
         req.setCharacterEncoding("UTF-8");
 
+        Part imagePart;
+        try {
+            imagePart = req.getPart("image");
+        } catch (IllegalStateException e) {
+            // The container rejects the whole multipart body once a limit is exceeded.
+            resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Images can be at most " + ImageStore.MAX_UPLOAD_BYTES / (1024 * 1024) + " MB.");
+            return;
+        }
+
         Long id = Long.valueOf(req.getParameter("id"));
         Pet existing = petDAO.findById(id).orElseThrow(() -> new RuntimeException("Pet not found"));
 
@@ -69,22 +84,9 @@ public class AdminPetEditServlet extends HttpServlet {
             PetStatus status = PetStatus.valueOf(statusStr);
 
             String imagePath = existing.getImagePath();
-            Part imagePart = req.getPart("image");
-            if (imagePart != null && imagePart.getSize() > 0) {
-                String uploadsDir = getServletContext().getRealPath("/uploads/pets");
-                File dir = new File(uploadsDir);
-                if (!dir.exists()) {
-                    dir.mkdirs();
-                }
-                String submitted = imagePart.getSubmittedFileName();
-                String ext = "";
-                if (submitted != null && submitted.contains(".")) {
-                    ext = submitted.substring(submitted.lastIndexOf('.'));
-                }
-                String fileName = UUID.randomUUID() + ext;
-                File file = new File(dir, fileName);
-                Files.copy(imagePart.getInputStream(), file.toPath());
-                imagePath = fileName;
+            boolean newImage = imagePart != null && imagePart.getSize() > 0;
+            if (newImage) {
+                imagePath = images.save(imagePart);
             }
 
             Pet updated;
@@ -102,11 +104,19 @@ public class AdminPetEditServlet extends HttpServlet {
                     };
             }
             petDAO.update(updated);
+            if (newImage) {
+                images.createVariants(id, imagePath);
+            }
             resp.sendRedirect(req.getContextPath() + "/admin");
         } catch (ValidationException | IllegalArgumentException e) {
             req.setAttribute("error", e.getMessage());
             req.setAttribute("pet", existing);
             req.getRequestDispatcher("/WEB-INF/views/admin-pet-form.jsp").forward(req, resp);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error saving uploaded image", e);
+            req.setAttribute("error", "Failed to upload image.");
+            req.setAttribute("pet", existing);
+            req.getRequestDispatcher("/WEB-INF/views/admin-pet-form.jsp").forward(req, resp);
         }
     }
 }
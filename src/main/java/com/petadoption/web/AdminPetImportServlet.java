@@ -0,0 +1,89 @@
+package com.petadoption.web;
+
+import com.petadoption.model.ImportResult;
+import com.petadoption.service.PetService;
+import com.petadoption.service.ServiceFactory;
+import com.petadoption.util.RecordReader;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.MultipartConfig;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.Part;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bulk pet import from a CSV or NDJSON upload (the same layout {@code /admin/export}
+ * produces). Uploads above one megabyte are spooled to disk by the container and the
+ * file is parsed as a stream, so memory is bounded by the import batch size.
+ */
+@MultipartConfig(fileSizeThreshold = 1024 * 1024)
+public class AdminPetImportServlet extends HttpServlet {
+
+    private static final Logger LOGGER = Logger.getLogger(AdminPetImportServlet.class.getName());
+    private PetService petService;
+
+    @Override
+    public void init() {
+        this.petService = ServiceFactory.getPetService();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        if (session == null || !"ADMIN".equals(session.getAttribute("role"))) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        req.getRequestDispatcher("/WEB-INF/views/admin-pet-import.jsp").forward(req, resp);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        if (session == null || !"ADMIN".equals(session.getAttribute("role"))) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        Part file = req.getPart("file");
+        if (file == null || file.getSize() == 0) {
+            req.setAttribute("error", "Please choose a CSV or NDJSON file to import.");
+            req.getRequestDispatcher("/WEB-INF/views/admin-pet-import.jsp").forward(req, resp);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (Reader in = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8),
+                64 * 1024)) {
+            RecordReader reader = isNdJson(req.getParameter("format"), file.getSubmittedFileName())
+                    ? RecordReader.ndjson(in) : RecordReader.csv(in);
+            ImportResult result = petService.importPets(reader);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            LOGGER.info("Imported " + result.getImported() + " pets (" + result.getRejected()
+                    + " rejected) from " + file.getSubmittedFileName() + " in " + millis + " ms");
+            req.setAttribute("result", result);
+            req.setAttribute("elapsedMillis", millis);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error reading pet import upload", e);
+            req.setAttribute("error", "Failed to read the uploaded file.");
+        }
+        req.getRequestDispatcher("/WEB-INF/views/admin-pet-import.jsp").forward(req, resp);
+    }
+
+    private static boolean isNdJson(String format, String fileName) {
+        if (format != null && !format.isBlank()) {
+            return "ndjson".equalsIgnoreCase(format);
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json");
+    }
+}
@@ -1,9 +1,9 @@
 
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcAdoptionRequestDAO;
-import com.petadoption.dao.JdbcPetDAO;
+import com.petadoption.exception.ValidationException;
 import com.petadoption.service.AdoptionService;
+import com.petadoption.service.ServiceFactory;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -18,7 +18,7 @@ public class AdminRejectRequestServlet extends HttpServlet {
 
     @Override
     public void init() {
-        this.adoptionService = new AdoptionService(new JdbcAdoptionRequestDAO(), new JdbcPetDAO());
+        this.adoptionService = ServiceFactory.getAdoptionService();
     }
 
     @Override
@@ -29,7 +29,11 @@ public class AdminRejectRequestServlet extends HttpServlet {
             return;
         }
         Long id = Long.valueOf(req.getParameter("id"));
-        adoptionService.rejectRequest(id);
+        try {
+            adoptionService.rejectRequest(id);
+        } catch (ValidationException e) {
+            session.setAttribute("error", e.getMessage());
+        }
         resp.sendRedirect(req.getContextPath() + "/admin");
     }
 }
@@ -0,0 +1,72 @@
+package com.petadoption.web;
+
+import com.petadoption.cache.CacheStats;
+import com.petadoption.dao.DAOFactory;
+import com.petadoption.service.ServiceFactory;
+import com.petadoption.util.DBConnectionUtil;
+import com.petadoption.util.PoolStats;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+public class AdminStatsServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        if (session == null || !"ADMIN".equals(session.getAttribute("role"))) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        resp.setContentType("text/plain;charset=UTF-8");
+        resp.setHeader("Cache-Control", "no-store");
+        PrintWriter out = resp.getWriter();
+        writePoolStats(out, DBConnectionUtil.getPoolStats());
+        writeCacheStats(out, DAOFactory.getPetCacheStats());
+        writeCacheStats(out, ServiceFactory.getListingCacheStats());
+    }
+
+    private void writePoolStats(PrintWriter out, PoolStats stats) {
+        out.println("# connection pool");
+        if (stats == null) {
+            out.println("Connection pool not started.");
+            return;
+        }
+        out.println("active " + stats.getActive());
+        out.println("idle " + stats.getIdle());
+        out.println("total " + stats.getTotal());
+        out.println("max " + stats.getMaxSize());
+        out.println("waiting " + stats.getWaiting());
+        out.println("acquired " + stats.getAcquireCount());
+        out.println("acquire_timeouts " + stats.getAcquireTimeouts());
+        out.println("connections_created " + stats.getConnectionsCreated());
+        out.println("connections_closed " + stats.getConnectionsClosed());
+        out.println("leaks_detected " + stats.getLeaksDetected());
+        out.printf("acquire_mean_ms %.3f%n", stats.getMeanAcquireMillis());
+
+        long[] bounds = PoolStats.ACQUIRE_BUCKET_BOUNDS_MICROS;
+        long[] counts = stats.getAcquireBucketCounts();
+        for (int i = 0; i < bounds.length; i++) {
+            String le = bounds[i] == Long.MAX_VALUE ? "+Inf" : String.valueOf(bounds[i]);
+            out.println("acquire_time_us{le=\"" + le + "\"} " + counts[i]);
+        }
+    }
+
+    private void writeCacheStats(PrintWriter out, CacheStats stats) {
+        out.println("# cache " + stats.getName());
+        out.println("size " + stats.getSize());
+        out.println("max_size " + stats.getMaximumSize());
+        out.println("hits " + stats.getHits());
+        out.println("misses " + stats.getMisses());
+        out.printf("hit_rate %.4f%n", stats.getHitRate());
+        out.println("evictions " + stats.getEvictions());
+        out.println("expirations " + stats.getExpirations());
+        out.println("invalidations " + stats.getInvalidations());
+    }
+}
@@ -0,0 +1,42 @@
+package com.petadoption.web;
+
+import com.petadoption.dao.QueryPlanVerifier;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.DBConnectionUtil;
+import com.petadoption.util.SchemaMigrator;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class DatabaseLifecycleListener implements ServletContextListener {
+
+    private static final Logger LOGGER = Logger.getLogger(DatabaseLifecycleListener.class.getName());
+
+    /**
+     * Applies pending schema migrations before any servlet serves a request. A failure is
+     * rethrown so the container refuses to start the application on a half-migrated schema.
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        if (AppConfig.getBoolean("petadoption.db.migrate", true)) {
+            new SchemaMigrator(DBConnectionUtil.getDataSource()).migrate();
+        } else {
+            LOGGER.info("Schema migrations disabled (petadoption.db.migrate=false)");
+        }
+        if (AppConfig.getBoolean("petadoption.db.verifyPlans", false)) {
+            List<String> findings = QueryPlanVerifier.verify(DBConnectionUtil.getDataSource());
+            if (findings.isEmpty()) {
+                LOGGER.info("Query plan check: every DAO query shape is index-backed");
+            }
+            findings.forEach(f -> LOGGER.warning("Query plan check: " + f));
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        LOGGER.info("Shutting down database connection pool");
+        DBConnectionUtil.shutdown();
+    }
+}
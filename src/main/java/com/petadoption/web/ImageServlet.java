@@ -0,0 +1,234 @@
+package com.petadoption.web;
+
+import com.petadoption.cache.TinyLfuCache;
+import com.petadoption.image.ImagePipeline;
+import com.petadoption.image.ImageStore;
+import com.petadoption.util.AppConfig;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serves pet photos and their variants from the {@link ImageStore} at /uploads/pets/*.
+ *
+ * <p>Stored images are never rewritten (names are content digests), so responses carry
+ * {@code Cache-Control: immutable} with a one-year max-age and a strong ETag, and
+ * revalidations are answered with 304 from file metadata alone. That metadata is cached
+ * (petadoption.images.metadataCacheSize, 1000 entries, for 60 seconds) so repeat requests
+ * do not touch the file system before the body is sent. Bodies go out through Tomcat's
+ * sendfile support when the connector offers it, and through {@link FileChannel#transferTo}
+ * otherwise, so image bytes are not copied through heap buffers. Single byte ranges are
+ * supported; multi-range requests get the whole file.
+ */
+public class ImageServlet extends HttpServlet {
+
+    private static final Logger LOGGER = Logger.getLogger(ImageServlet.class.getName());
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg", "jpeg", "image/jpeg", "png", "image/png", "gif", "image/gif", "webp", "image/webp");
+
+    private ImageStore store;
+    private TinyLfuCache<String, ImageFile> metadata;
+
+    @Override
+    public void init() {
+        this.store = ImagePipeline.from(getServletContext()).getStore();
+        this.metadata = new TinyLfuCache<>("image-metadata",
+                AppConfig.getInt("petadoption.images.metadataCacheSize", 1000), Duration.ofSeconds(60));
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        serve(req, resp, true);
+    }
+
+    @Override
+    protected void doHead(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        serve(req, resp, false);
+    }
+
+    private void serve(HttpServletRequest req, HttpServletResponse resp, boolean body) throws IOException {
+        ImageFile image = lookup(req.getPathInfo());
+        if (image == null) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        resp.setHeader("ETag", image.etag);
+        resp.setDateHeader("Last-Modified", image.lastModified);
+        resp.setHeader("Cache-Control", CACHE_CONTROL);
+        resp.setHeader("Accept-Ranges", "bytes");
+        if (notModified(req, image)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.setContentType(image.contentType);
+        resp.setHeader("X-Content-Type-Options", "nosniff");
+
+        long start = 0;
+        long end = image.length; // exclusive
+        long[] range = requestedRange(req, image);
+        if (range != null) {
+            if (range[0] >= image.length || range[0] > range[1]) {
+                resp.setHeader("Content-Range", "bytes */" + image.length);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range[0];
+            end = Math.min(range[1], image.length - 1) + 1;
+            resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            resp.setHeader("Content-Range", "bytes " + start + "-" + (end - 1) + "/" + image.length);
+        }
+        resp.setContentLengthLong(end - start);
+        if (!body || end == start) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORT))) {
+            // The connector writes the file straight from the page cache to the socket.
+            req.setAttribute(SENDFILE_FILENAME, image.path.toString());
+            req.setAttribute(SENDFILE_START, start);
+            req.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(image.path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(resp.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += file.transferTo(position, end - position, out);
+            }
+        } catch (NoSuchFileException e) {
+            // Removed since its metadata was cached; the headers are out already.
+            metadata.invalidate(image.name);
+            throw e;
+        }
+    }
+
+    private ImageFile lookup(String pathInfo) {
+        if (pathInfo == null || pathInfo.length() < 2 || pathInfo.indexOf('/', 1) >= 0) {
+            return null;
+        }
+        String name = pathInfo.substring(1);
+        ImageFile cached = metadata.getIfPresent(name);
+        if (cached != null) {
+            return cached;
+        }
+        String contentType = CONTENT_TYPES.get(name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT));
+        if (contentType == null || name.startsWith(".")) {
+            return null;
+        }
+        try {
+            Path path = store.resolve(name).toRealPath();
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+            ImageFile image = new ImageFile(name, path, contentType, attributes.size(),
+                    attributes.lastModifiedTime().toMillis());
+            metadata.put(name, image);
+            return image;
+        } catch (NoSuchFileException | IllegalArgumentException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot read image " + name, e);
+            return null;
+        }
+    }
+
+    /** If-None-Match takes precedence over If-Modified-Since, as RFC 9110 requires. */
+    static boolean notModified(HttpServletRequest req, ImageFile image) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, image.etag);
+        }
+        try {
+            long ifModifiedSince = req.getDateHeader("If-Modified-Since");
+            return ifModifiedSince >= 0 && image.lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    static boolean matches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The single range asked for as {first, last} (inclusive; last may exceed the file), or
+     * null to send the whole file: no Range header, an If-Range that no longer matches, a
+     * multi-range or a malformed header.
+     */
+    static long[] requestedRange(HttpServletRequest req, ImageFile image) {
+        String range = req.getHeader("Range");
+        if (range == null || !range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String ifRange = req.getHeader("If-Range");
+        if (ifRange != null && !ifRange.equals(image.etag)) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                return suffix <= 0 ? new long[]{image.length, image.length}
+                        : new long[]{Math.max(0, image.length - suffix), image.length - 1};
+            }
+            long first = Long.parseLong(spec.substring(0, dash));
+            long last = dash == spec.length() - 1 ? image.length - 1 : Long.parseLong(spec.substring(dash + 1));
+            return new long[]{first, last};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static final class ImageFile {
+        final String name;
+        final Path path;
+        final String contentType;
+        final long length;
+        final long lastModified;
+        final String etag;
+
+        ImageFile(String name, Path path, String contentType, long length, long lastModified) {
+            this.name = name;
+            this.path = path;
+            this.contentType = contentType;
+            this.length = length;
+            this.lastModified = lastModified;
+            // Names are content digests, so the name itself identifies the bytes. Not the
+            // modification time: ImageStore touches a file whenever the same image is uploaded again.
+            this.etag = "\"" + name + "\"";
+        }
+    }
+}
@@ -1,10 +1,9 @@
 
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcUserDAO;
-import com.petadoption.dao.UserDAO;
 import com.petadoption.exception.ValidationException;
 import com.petadoption.model.User;
+import com.petadoption.service.ServiceFactory;
 import com.petadoption.service.UserService;
 
 import jakarta.servlet.ServletException;
@@ -23,8 +22,7 @@ public class LoginServlet extends HttpServlet {
 
     @Override
     public void init() {
-        UserDAO userDAO = new JdbcUserDAO();
-        this.userService = new UserService(userDAO);
+        this.userService = ServiceFactory.getUserService();
     }
 
     @Override
@@ -0,0 +1,105 @@
+package com.petadoption.web;
+
+import com.petadoption.jfr.ServletRequestEvent;
+import com.petadoption.metrics.Metrics;
+import com.petadoption.metrics.OperationMetrics;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records latency and errors per target servlet. A request counts as an error when it
+ * throws or ends with a 5xx status. Asynchronous requests are timed until they complete.
+ * Also emits a {@link ServletRequestEvent} when a flight recording has it enabled.
+ */
+public class MetricsFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        HttpServletResponse resp = (HttpServletResponse) response;
+        HttpServletMapping mapping = req.getHttpServletMapping();
+        OperationMetrics metrics = Metrics.servlet(mapping.getServletName());
+
+        ServletRequestEvent event = new ServletRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new AsyncCompletion(metrics, start, event, req, resp));
+            } else {
+                metrics.record(start, failed || resp.getStatus() >= 500 ? OperationMetrics.FAILED : 0);
+                commit(event, req, resp, failed);
+            }
+        }
+    }
+
+    /** Fields are only filled in when the event will actually be recorded. */
+    private static void commit(ServletRequestEvent event, HttpServletRequest req, HttpServletResponse resp,
+                               boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            HttpServletMapping mapping = req.getHttpServletMapping();
+            event.method = req.getMethod();
+            event.servlet = mapping.getServletName();
+            event.urlPattern = mapping.getPattern();
+            event.path = req.getRequestURI();
+            event.queryString = req.getQueryString();
+            event.status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : resp.getStatus();
+            event.commit();
+        }
+    }
+
+    private static final class AsyncCompletion implements AsyncListener {
+        private final OperationMetrics metrics;
+        private final long start;
+        private final ServletRequestEvent jfrEvent;
+        private final HttpServletRequest req;
+        private final HttpServletResponse resp;
+        private boolean failed;
+
+        AsyncCompletion(OperationMetrics metrics, long start, ServletRequestEvent jfrEvent,
+                        HttpServletRequest req, HttpServletResponse resp) {
+            this.metrics = metrics;
+            this.start = start;
+            this.jfrEvent = jfrEvent;
+            this.req = req;
+            this.resp = resp;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            metrics.record(start, failed || resp.getStatus() >= 500 ? OperationMetrics.FAILED : 0);
+            commit(jfrEvent, req, resp, failed);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
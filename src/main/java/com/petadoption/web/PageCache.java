@@ -0,0 +1,289 @@
+package com.petadoption.web;
+
+import com.petadoption.cache.CacheStats;
+import com.petadoption.cache.TinyLfuCache;
+import com.petadoption.dao.CatalogVersion;
+import com.petadoption.util.AppConfig;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rendered HTML of the public catalog pages (/pets, /pet) as anonymous visitors see them.
+ * A hit is one buffer write, gzip-compressed when the client accepts it, with no query and
+ * no JSP. Keys are the page, its parameters in a fixed order and the {@link CatalogVersion},
+ * so any pet write makes every entry unreachable. Parameter values are not normalised, since
+ * the page echoes them into the search form, but they are URL-encoded so that no value can
+ * pass for another parameter. Logged-in sessions and sessions holding a {@code success} or
+ * {@code error} flash always render, and every cached page goes out with
+ * {@code Vary: Cookie, Accept-Encoding}.
+ *
+ * <p>A miss renders as usual through {@link RequestExecutor}, in either execution mode,
+ * and {@link #render} keeps a copy of the body as it is written; a complete 200 page is
+ * stored once the request ends. Settings: petadoption.cache.pages.maxSize (1000),
+ * petadoption.cache.pages.ttlSeconds (60) and petadoption.cache.pages.maxEntryBytes
+ * (262144, larger pages are not stored).
+ */
+final class PageCache {
+
+    private static final PageCache SHARED = new PageCache(new TinyLfuCache<>("rendered-pages",
+            AppConfig.getInt("petadoption.cache.pages.maxSize", 1_000),
+            Duration.ofSeconds(AppConfig.getLong("petadoption.cache.pages.ttlSeconds", 60))),
+            AppConfig.getInt("petadoption.cache.pages.maxEntryBytes", 256 * 1024));
+
+    /** Response headers stored with the page; the validators must go out with a hit too. */
+    private static final String[] KEPT_HEADERS = {"ETag", "Last-Modified", "Cache-Control"};
+
+    private final TinyLfuCache<String, Page> pages;
+    private final int maxEntryBytes;
+
+    private PageCache(TinyLfuCache<String, Page> pages, int maxEntryBytes) {
+        this.pages = pages;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    static PageCache shared() {
+        return SHARED;
+    }
+
+    static CacheStats getStats() {
+        return SHARED.pages.stats();
+    }
+
+    /**
+     * The cache key for this request, or null when the page must be rendered for this session.
+     * {@code version} is the {@link CatalogVersion} the request read for its validators too.
+     */
+    String key(HttpServletRequest req, long version, String... parameterNames) {
+        if (!"anon".equals(PageValidators.viewer(req))) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder().append(version).append(' ')
+                .append(req.getServletPath());
+        for (String name : parameterNames) {
+            String value = req.getParameter(name);
+            if (value != null) {
+                key.append('&').append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return key.toString();
+    }
+
+    /** Writes the cached page for {@code key}, if there is one, and returns whether it did. */
+    boolean serve(String key, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        Page page = key == null ? null : pages.getIfPresent(key);
+        if (page == null) {
+            return false;
+        }
+        boolean gzip = acceptsGzip(req);
+        byte[] body = gzip ? page.gzip : page.plain;
+        resp.setContentType(page.contentType);
+        for (int i = 0; i < KEPT_HEADERS.length; i++) {
+            if (page.headers[i] != null) {
+                resp.setHeader(KEPT_HEADERS[i], page.headers[i]);
+            }
+        }
+        PageValidators.vary(resp, "Cookie");
+        PageValidators.vary(resp, "Accept-Encoding");
+        if (gzip) {
+            resp.setHeader("Content-Encoding", "gzip");
+        }
+        resp.setContentLength(body.length);
+        resp.getOutputStream().write(body);
+        return true;
+    }
+
+    /**
+     * Runs {@code handler} through {@code executor} and stores the rendered page under
+     * {@code key}; without a key it just runs it.
+     */
+    void render(String key, HttpServletRequest req, HttpServletResponse resp, RequestExecutor executor,
+                RequestExecutor.Handler handler) throws ServletException, IOException {
+        if (key == null) {
+            executor.execute(req, resp, handler);
+            return;
+        }
+        PageValidators.vary(resp, "Cookie");
+        PageValidators.vary(resp, "Accept-Encoding");
+        Capture capture = new Capture(key, resp);
+        executor.execute(req, capture, handler);
+        if (req.isAsyncStarted()) {
+            // Async dispatches are held until this thread returns, so the listener is in time.
+            req.getAsyncContext().addListener(capture);
+        } else {
+            capture.store();
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest req) {
+        String accept = req.getHeader("Accept-Encoding");
+        if (accept == null) {
+            return false;
+        }
+        for (String coding : accept.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] plain) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(plain);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Page {
+        final String contentType;
+        final String[] headers;
+        final byte[] plain;
+        final byte[] gzip;
+
+        Page(String contentType, String[] headers, byte[] plain, byte[] gzip) {
+            this.contentType = contentType;
+            this.headers = headers;
+            this.plain = plain;
+            this.gzip = gzip;
+        }
+    }
+
+    /**
+     * Passes the body through to the client while keeping a copy. Only the writer is
+     * captured, which is what JSPs use; a response written as bytes is not stored.
+     */
+    private final class Capture extends HttpServletResponseWrapper implements AsyncListener {
+        private final String key;
+        private final CharArrayWriter copy = new CharArrayWriter(8 * 1024);
+        private PrintWriter writer;
+        private boolean uncacheable;
+
+        Capture(String key, HttpServletResponse response) {
+            super(response);
+            this.key = key;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new Tee(super.getWriter()));
+            }
+            return writer;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            uncacheable = true;
+            return super.getOutputStream();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            copy.reset();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            copy.reset();
+        }
+
+        /** Whether {@code length} more characters still fit; drops the copy once the page is too big. */
+        private boolean keep(int length) {
+            if (!uncacheable && copy.size() + length > maxEntryBytes) {
+                uncacheable = true;
+                copy.reset();
+            }
+            return !uncacheable;
+        }
+
+        void store() {
+            if (uncacheable || getStatus() != HttpServletResponse.SC_OK || copy.size() == 0
+                    || getContentType() == null) {
+                return;
+            }
+            byte[] plain = copy.toString().getBytes(Charset.forName(getCharacterEncoding()));
+            String[] headers = new String[KEPT_HEADERS.length];
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = getHeader(KEPT_HEADERS[i]);
+            }
+            pages.put(key, new Page(getContentType(), headers, plain, gzip(plain)));
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            store();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            uncacheable = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            uncacheable = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private final class Tee extends Writer {
+            private final Writer out;
+
+            Tee(Writer out) {
+                this.out = out;
+            }
+
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                out.write(buffer, offset, length);
+                if (keep(length)) {
+                    copy.write(buffer, offset, length);
+                }
+            }
+
+            @Override
+            public void write(String text, int offset, int length) throws IOException {
+                out.write(text, offset, length);
+                if (keep(length)) {
+                    copy.write(text, offset, length);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        }
+    }
+}
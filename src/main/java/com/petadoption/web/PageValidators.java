@@ -0,0 +1,115 @@
+package com.petadoption.web;
+
+import com.petadoption.dao.CatalogVersion;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.util.Locale;
+
+/**
+ * ETag and Last-Modified validators for the public catalog pages, /pets and /pet, so a
+ * browser or CDN that already holds the page gets a 304 instead of a fresh render.
+ *
+ * <p>The pages differ by viewer (the header links, the adoption form for adopters), so
+ * responses carry {@code Vary: Cookie} and the ETag names the viewer: anonymous, or the
+ * logged-in role. Logged-in pages are {@code private}; anonymous ones may be stored by
+ * shared caches. Every response must be revalidated ({@code no-cache}). A session holding
+ * a {@code success} or {@code error} flash gets no validators at all, as the message is
+ * shown once. ETags include the process start time ({@link CatalogVersion#started()}):
+ * catalog versions restart at zero and a redeploy may change the markup.
+ */
+final class PageValidators {
+
+    private static final String EPOCH = Long.toString(CatalogVersion.started(), 36);
+
+    private PageValidators() {
+    }
+
+    /** Who the page is rendered for, or null when it must not be revalidated. */
+    static String viewer(HttpServletRequest req) {
+        HttpSession session = req.getSession(false);
+        if (session == null) {
+            return "anon";
+        }
+        if (session.getAttribute("success") != null || session.getAttribute("error") != null) {
+            return null;
+        }
+        if (session.getAttribute("loggedInUser") == null) {
+            return "anon";
+        }
+        Object role = session.getAttribute("role");
+        return role == null ? "user" : role.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Validators for the /pets listing: the catalog version and the time of the last change.
+     * Read {@code lastChanged} before {@code version}, so that a write in between can only
+     * make Last-Modified older than the page.
+     */
+    static boolean checkListing(HttpServletRequest req, HttpServletResponse resp, String viewer, long version,
+                                long lastChanged) {
+        return check(req, resp, viewer, "l" + version, lastChanged);
+    }
+
+    /** Validators for one pet's page, from its updated_at (epoch millis). */
+    static boolean checkPet(HttpServletRequest req, HttpServletResponse resp, String viewer, Long id, long updatedAt) {
+        return check(req, resp, viewer, "p" + id + "." + Long.toString(updatedAt, 36),
+                Math.max(updatedAt, CatalogVersion.started()));
+    }
+
+    /**
+     * Sets the caching headers for {@code viewer} and, when the request's validators still
+     * match, the 304 status. Returns true if the 304 was set and nothing else should be sent.
+     */
+    private static boolean check(HttpServletRequest req, HttpServletResponse resp, String viewer, String version,
+                                 long lastModified) {
+        vary(resp, "Cookie");
+        if (viewer == null) {
+            resp.setHeader("Cache-Control", "private, no-cache");
+            return false;
+        }
+        String etag = "W/\"" + EPOCH + "-" + version + "-" + viewer + "\"";
+        resp.setHeader("Cache-Control", "anon".equals(viewer) ? "no-cache" : "private, no-cache");
+        resp.setHeader("ETag", etag);
+        resp.setDateHeader("Last-Modified", lastModified);
+        if (notModified(req, etag, lastModified)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /** Adds {@code field} to the response's Vary header unless it is already listed there. */
+    static void vary(HttpServletResponse resp, String field) {
+        for (String value : resp.getHeaders("Vary")) {
+            for (String listed : value.split(",")) {
+                if (listed.trim().equalsIgnoreCase(field)) {
+                    return;
+                }
+            }
+        }
+        resp.addHeader("Vary", field);
+    }
+
+    /** If-None-Match (weak comparison) takes precedence over If-Modified-Since, as RFC 9110 requires. */
+    private static boolean notModified(HttpServletRequest req, String etag, long lastModified) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            String opaque = etag.substring(2);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(opaque) || (tag.startsWith("W/") && tag.substring(2).equals(opaque))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = req.getDateHeader("If-Modified-Since");
+            return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -1,23 +1,55 @@
 
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcPetDAO;
+import com.petadoption.cache.TinyLfuCache;
+import com.petadoption.dao.CatalogVersion;
+import com.petadoption.dao.DAOFactory;
 import com.petadoption.dao.PetDAO;
 import com.petadoption.model.Pet;
+import com.petadoption.util.AppConfig;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
 
 public class PetDetailsServlet extends HttpServlet {
 
     private PetDAO petDAO;
+    private RequestExecutor requestExecutor;
+    private PageCache pageCache;
+    /**
+     * Pet id to its updated_at (epoch millis), so revalidations are answered without a
+     * lookup. Kept like the pet cache (petadoption.cache.pets.*) and dropped on the same
+     * {@link CatalogVersion} events.
+     */
+    private TinyLfuCache<Long, Long> updatedAt;
+    private CatalogVersion.Listener invalidator;
 
     @Override
     public void init() {
-        this.petDAO = new JdbcPetDAO();
+        this.petDAO = DAOFactory.getPetDAO();
+        this.requestExecutor = RequestExecutor.from(getServletContext());
+        this.pageCache = PageCache.shared();
+        this.updatedAt = new TinyLfuCache<>("pet-validators",
+                AppConfig.getInt("petadoption.cache.pets.maxSize", 10_000),
+                Duration.ofSeconds(AppConfig.getLong("petadoption.cache.pets.ttlSeconds", 300)));
+        this.invalidator = id -> {
+            if (id == null) {
+                updatedAt.invalidateAll();
+            } else {
+                updatedAt.invalidate(id);
+            }
+        };
+        CatalogVersion.addListener(invalidator);
+    }
+
+    @Override
+    public void destroy() {
+        CatalogVersion.removeListener(invalidator);
     }
 
     @Override
@@ -28,8 +60,27 @@ public class PetDetailsServlet extends HttpServlet {
             return;
         }
         Long id = Long.valueOf(idParam);
-        Pet pet = petDAO.findById(id).orElseThrow(() -> new RuntimeException("Pet not found"));
-        req.setAttribute("pet", pet);
-        req.getRequestDispatcher("/WEB-INF/views/pet-details.jsp").forward(req, resp);
+        String viewer = PageValidators.viewer(req);
+        Long known = viewer == null ? null : updatedAt.getIfPresent(id);
+        if (known != null && PageValidators.checkPet(req, resp, viewer, id, known)) {
+            return;
+        }
+        String key = pageCache.key(req, CatalogVersion.current(), "id");
+        if (pageCache.serve(key, req, resp)) {
+            return;
+        }
+        long stamp = updatedAt.invalidationStamp();
+        pageCache.render(key, req, resp, requestExecutor, () -> {
+            Pet pet = petDAO.findById(id).orElseThrow(() -> new RuntimeException("Pet not found"));
+            long millis = pet.getUpdatedAt() == null ? 0
+                    : pet.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            updatedAt.putIfNotInvalidatedSince(id, millis, stamp);
+            // Still answers with 304 when this node had not seen the pet since the client did.
+            if (PageValidators.checkPet(req, resp, viewer, id, millis)) {
+                return null;
+            }
+            req.setAttribute("pet", pet);
+            return "/WEB-INF/views/pet-details.jsp";
+        });
     }
 }
@@ -1,8 +1,11 @@
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcPetDAO;
+import com.petadoption.dao.CatalogVersion;
 import com.petadoption.model.Pet;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetPage;
 import com.petadoption.service.PetService;
+import com.petadoption.service.ServiceFactory;
 import com.petadoption.util.InputValidator;
 
 import jakarta.servlet.ServletException;
@@ -17,16 +20,40 @@ import java.util.logging.Logger;
 public class PetListServlet extends HttpServlet {
 
     private static final Logger LOGGER = Logger.getLogger(PetListServlet.class.getName());
+    /** Every parameter the page reads or echoes back. */
+    private static final String[] PAGE_PARAMETERS = {
+            "q", "type", "breed", "ageMin", "ageMax", "page", "size", "after", "before", "sort", "success"};
+    private static final int DEFAULT_PAGE_SIZE = 5;
+    private static final int MAX_PAGE_SIZE = 100;
     private PetService petService;
+    private RequestExecutor requestExecutor;
+    private PageCache pageCache;
 
     @Override
     public void init() {
         LOGGER.info("Initializing PetListServlet");
-        this.petService = new PetService(new JdbcPetDAO());
+        this.petService = ServiceFactory.getPetService();
+        this.requestExecutor = RequestExecutor.from(getServletContext());
+        this.pageCache = PageCache.shared();
     }
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        // Validators come from the catalog version alone, so a 304 needs no query at all. The
+        // same version keys the cached page, so a stored page always carries its own validators.
+        long lastChanged = CatalogVersion.lastChanged();
+        long version = CatalogVersion.current();
+        if (PageValidators.checkListing(req, resp, PageValidators.viewer(req), version, lastChanged)) {
+            return;
+        }
+        String key = pageCache.key(req, version, PAGE_PARAMETERS);
+        if (pageCache.serve(key, req, resp)) {
+            return;
+        }
+        pageCache.render(key, req, resp, requestExecutor, () -> listPets(req));
+    }
+
+    private String listPets(HttpServletRequest req) {
         String q = req.getParameter("q");
         String type = req.getParameter("type");
         String breed = req.getParameter("breed");
@@ -34,15 +61,20 @@ public class PetListServlet extends HttpServlet {
         String ageMaxStr = req.getParameter("ageMax");
         String pageStr = req.getParameter("page");
         String sizeStr = req.getParameter("size");
+        String afterToken = req.getParameter("after");
+        String beforeToken = req.getParameter("before");
+        String sort = req.getParameter("sort");
 
         int page = 0;
-        int size = 5;
+        int size = DEFAULT_PAGE_SIZE;
 
         try {
-            page = InputValidator.parsePositiveInt(pageStr, "page", 0);
-            size = InputValidator.parsePositiveInt(sizeStr, "size", 5);
+            size = Math.max(1, Math.min(MAX_PAGE_SIZE,
+                    InputValidator.parsePositiveInt(sizeStr, "size", DEFAULT_PAGE_SIZE)));
+            // Beyond this the offset would overflow; such a page is empty anyway.
+            page = Math.min(Integer.MAX_VALUE / size, InputValidator.parsePositiveInt(pageStr, "page", 0));
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Invalid pagination parameters, defaulting to page=0,size=5", e);
+            LOGGER.log(Level.WARNING, "Invalid pagination parameters, using defaults", e);
         }
 
         Integer ageMin = null;
@@ -58,17 +90,58 @@ public class PetListServlet extends HttpServlet {
             LOGGER.log(Level.WARNING, "Invalid age filters", e);
         }
 
-        LOGGER.info(String.format("Listing pets page=%d size=%d type=%s breed=%s ageMin=%s ageMax=%s q=%s",
-                page, size, type, breed, ageMin, ageMax, q));
+        // Relevance order needs a search term and pages by offset; old bookmarks (?page=N)
+        // also use offset paging. Everything else uses keyset cursors.
+        boolean relevanceMode = "relevance".equals(sort) && q != null && !q.isBlank();
+        boolean offsetMode = pageStr != null && !pageStr.isBlank();
+        if (relevanceMode) {
+            LOGGER.info(String.format("Searching pets by relevance page=%d size=%d type=%s breed=%s ageMin=%s ageMax=%s q=%s",
+                    page, size, type, breed, ageMin, ageMax, q));
 
-        List<Pet> pets = petService.getPetsPage(type, ageMin, ageMax, breed, q, page, size);
-        boolean hasNext = pets.size() == size;
+            List<Pet> pets = petService.searchPetsPage(type, ageMin, ageMax, breed, q, page, size);
+            req.setAttribute("pets", pets);
+            req.setAttribute("page", page);
+            req.setAttribute("hasNext", pets.size() == size);
+        } else if (offsetMode) {
+            LOGGER.info(String.format("Listing pets page=%d size=%d type=%s breed=%s ageMin=%s ageMax=%s q=%s",
+                    page, size, type, breed, ageMin, ageMax, q));
 
-        req.setAttribute("pets", pets);
-        req.setAttribute("page", page);
+            List<Pet> pets = petService.getPetsPage(type, ageMin, ageMax, breed, q, page, size);
+            boolean hasNext = !pets.isEmpty() && pets.size() == size;
+            req.setAttribute("pets", pets);
+            req.setAttribute("page", page);
+            req.setAttribute("hasNext", hasNext);
+            if (hasNext) {
+                PetCursor next = PetCursor.of(pets.get(pets.size() - 1));
+                req.setAttribute("nextCursor", next == null ? null : next.encode());
+            }
+        } else {
+            PetCursor cursor = null;
+            boolean backward = false;
+            try {
+                if (afterToken != null && !afterToken.isBlank()) {
+                    cursor = PetCursor.decode(afterToken);
+                } else if (beforeToken != null && !beforeToken.isBlank()) {
+                    cursor = PetCursor.decode(beforeToken);
+                    backward = true;
+                }
+            } catch (IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Ignoring invalid pagination cursor", e);
+                cursor = null;
+                backward = false;
+            }
+
+            LOGGER.info(String.format("Listing pets cursor=%s backward=%s size=%d type=%s breed=%s ageMin=%s ageMax=%s q=%s",
+                    cursor, backward, size, type, breed, ageMin, ageMax, q));
+
+            PetPage petPage = petService.getPetsPageAfter(type, ageMin, ageMax, breed, q, cursor, backward, size);
+            req.setAttribute("pets", petPage.getPets());
+            req.setAttribute("hasNext", petPage.hasNext());
+            req.setAttribute("nextCursor", petPage.hasNext() ? petPage.getNext().encode() : null);
+            req.setAttribute("prevCursor", petPage.hasPrevious() ? petPage.getPrevious().encode() : null);
+        }
         req.setAttribute("size", size);
-        req.setAttribute("hasNext", hasNext);
 
-        req.getRequestDispatcher("/WEB-INF/views/pets.jsp").forward(req, resp);
+        return "/WEB-INF/views/pets.jsp";
     }
 }
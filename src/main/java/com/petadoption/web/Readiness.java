@@ -0,0 +1,36 @@
+package com.petadoption.web;
+
+/**
+ * Whether this node should receive traffic. Held in the servlet context under
+ * {@link #ATTRIBUTE} by {@link WarmUpListener} and reported by {@link ReadinessServlet}.
+ */
+public class Readiness {
+
+    public static final String ATTRIBUTE = Readiness.class.getName();
+
+    private volatile boolean ready;
+    private volatile String state = "starting";
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    void warmingUp() {
+        this.ready = false;
+        this.state = "warming up";
+    }
+
+    void ready() {
+        this.state = "ready";
+        this.ready = true;
+    }
+
+    void stopping() {
+        this.ready = false;
+        this.state = "stopping";
+    }
+}
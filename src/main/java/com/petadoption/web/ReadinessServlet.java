@@ -0,0 +1,28 @@
+package com.petadoption.web;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Load balancer readiness probe: 200 once warm-up has finished, 503 before that and while
+ * shutting down. Deliberately unauthenticated and free of database calls.
+ */
+public class ReadinessServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        Readiness readiness = (Readiness) getServletContext().getAttribute(Readiness.ATTRIBUTE);
+        boolean ready = readiness != null && readiness.isReady();
+
+        resp.setStatus(ready ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        resp.setContentType("text/plain;charset=UTF-8");
+        resp.setHeader("Cache-Control", "no-store");
+        if (!ready) {
+            resp.setHeader("Retry-After", "5");
+        }
+        resp.getWriter().println(readiness == null ? "starting" : readiness.getState());
+    }
+}
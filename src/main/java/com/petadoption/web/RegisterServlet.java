@@ -1,10 +1,9 @@
 
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcUserDAO;
-import com.petadoption.dao.UserDAO;
 import com.petadoption.exception.ValidationException;
 import com.petadoption.model.User;
+import com.petadoption.service.ServiceFactory;
 import com.petadoption.service.UserService;
 
 import jakarta.servlet.ServletException;
@@ -22,8 +21,7 @@ public class RegisterServlet extends HttpServlet {
 
     @Override
     public void init() {
-        UserDAO userDAO = new JdbcUserDAO();
-        this.userService = new UserService(userDAO);
+        this.userService = ServiceFactory.getUserService();
     }
 
     @Override
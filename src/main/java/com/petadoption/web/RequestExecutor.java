@@ -0,0 +1,225 @@
+package com.petadoption.web;
+
+import com.petadoption.util.AppConfig;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the blocking database work of a request, either on the container's request thread
+ * ({@code container}, the default) or, with {@code petadoption.web.execution=async}, on a
+ * separate executor while the request is suspended with {@code startAsync}. In async mode the
+ * container threads stay free for static assets and logins while queries wait on PostgreSQL,
+ * and database concurrency is bounded by the connection pool rather than by maxThreads.
+ *
+ * <p>The executor uses virtual threads when the JVM has them (Java 21+) and otherwise a
+ * fixed pool of petadoption.web.async.threads (256) platform threads;
+ * petadoption.web.async.virtualThreads=false forces the pool. At most
+ * petadoption.web.async.maxInFlight (10000) requests wait for the executor at once, later
+ * ones get 503. Requests not finished within petadoption.web.async.timeoutMillis (30000)
+ * end with 503. Created by {@link RequestExecutorListener} and held in the servlet context
+ * under {@link #ATTRIBUTE}.
+ */
+public class RequestExecutor {
+
+    public static final String ATTRIBUTE = RequestExecutor.class.getName();
+
+    private static final Logger LOGGER = Logger.getLogger(RequestExecutor.class.getName());
+    private static final RequestExecutor CONTAINER = new RequestExecutor(null, "container", 0, 0);
+
+    /**
+     * The blocking part of a request. Returns the view to render, or null when the response
+     * has already been written (a redirect or an error).
+     */
+    @FunctionalInterface
+    public interface Handler {
+        String handle() throws ServletException, IOException;
+    }
+
+    private final ExecutorService executor;
+    private final String mode;
+    private final Semaphore inFlight;
+    private final long timeoutMillis;
+
+    private RequestExecutor(ExecutorService executor, String mode, int maxInFlight, long timeoutMillis) {
+        this.executor = executor;
+        this.mode = mode;
+        this.inFlight = executor == null ? null : new Semaphore(maxInFlight);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    static RequestExecutor create() {
+        String execution = AppConfig.get("petadoption.web.execution", "container");
+        if ("container".equals(execution)) {
+            return CONTAINER;
+        }
+        if (!"async".equals(execution)) {
+            throw new IllegalArgumentException("petadoption.web.execution must be container or async: " + execution);
+        }
+        int maxInFlight = AppConfig.getInt("petadoption.web.async.maxInFlight", 10_000);
+        long timeoutMillis = AppConfig.getLong("petadoption.web.async.timeoutMillis", 30_000);
+        ExecutorService executor = AppConfig.getBoolean("petadoption.web.async.virtualThreads", true)
+                ? newVirtualThreadExecutor() : null;
+        if (executor != null) {
+            return new RequestExecutor(executor, "async (virtual threads)", maxInFlight, timeoutMillis);
+        }
+        int threads = AppConfig.getInt("petadoption.web.async.threads", 256);
+        return new RequestExecutor(Executors.newFixedThreadPool(threads, new RequestThreadFactory()),
+                "async (" + threads + " platform threads)", maxInFlight, timeoutMillis);
+    }
+
+    /** The executor configured for this application, or container execution if there is none. */
+    public static RequestExecutor from(ServletContext context) {
+        RequestExecutor executor = (RequestExecutor) context.getAttribute(ATTRIBUTE);
+        return executor == null ? CONTAINER : executor;
+    }
+
+    /**
+     * Looked up reflectively so the application still builds and runs on Java 17, where
+     * the method does not exist (and on 19/20, where it needs --enable-preview).
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.info("Virtual threads not available on Java " + Runtime.version() + "; using platform threads");
+            return null;
+        }
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Runs {@code handler} for this request and forwards to the view it returns. Exceptions
+     * reach the container's error handling in either mode.
+     */
+    public void execute(HttpServletRequest req, HttpServletResponse resp, Handler handler)
+            throws ServletException, IOException {
+        if (executor == null || !req.isAsyncSupported()) {
+            String view = handler.handle();
+            if (view != null) {
+                req.getRequestDispatcher(view).forward(req, resp);
+            }
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            LOGGER.warning("Rejecting " + req.getRequestURI() + ": too many requests waiting for the database");
+            resp.setHeader("Retry-After", "1");
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        // With these arguments the dispatch to the view goes through resp even when it wraps the original.
+        AsyncContext async = req.startAsync(req, resp);
+        async.setTimeout(timeoutMillis);
+        async.addListener(new TimeoutHandler());
+        try {
+            executor.execute(() -> run(async, req, resp, handler));
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            async.complete();
+        }
+    }
+
+    private void run(AsyncContext async, HttpServletRequest req, HttpServletResponse resp, Handler handler) {
+        try {
+            String view = handler.handle();
+            if (view != null) {
+                async.dispatch(view);
+            } else {
+                async.complete();
+            }
+        } catch (IllegalStateException e) {
+            // Timed out meanwhile: the container has already answered the request.
+            LOGGER.log(Level.FINE, "Request finished after its async timeout", e);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error processing " + req.getRequestURI(), e);
+            fail(async, req, resp, e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /** Hands the failure to the container's error page, as an exception on the request thread would. */
+    private static void fail(AsyncContext async, HttpServletRequest req, HttpServletResponse resp, Exception e) {
+        try {
+            req.setAttribute(RequestDispatcher.ERROR_EXCEPTION, e);
+            if (!resp.isCommitted()) {
+                resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+            async.complete();
+        } catch (IOException | IllegalStateException ex) {
+            LOGGER.log(Level.FINE, "Could not report request failure", ex);
+        }
+    }
+
+    void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TimeoutHandler implements AsyncListener {
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            HttpServletResponse resp = (HttpServletResponse) event.getAsyncContext().getResponse();
+            LOGGER.warning("Async request timed out waiting for the database");
+            if (!resp.isCommitted()) {
+                resp.setHeader("Retry-After", "1");
+                resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+            event.getAsyncContext().complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private static final class RequestThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "request-db-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
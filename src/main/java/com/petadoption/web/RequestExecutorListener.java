@@ -0,0 +1,27 @@
+package com.petadoption.web;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import java.util.logging.Logger;
+
+/** Creates the {@link RequestExecutor} servlets run their database work on, and stops it on undeploy. */
+public class RequestExecutorListener implements ServletContextListener {
+
+    private static final Logger LOGGER = Logger.getLogger(RequestExecutorListener.class.getName());
+
+    private RequestExecutor executor;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        executor = RequestExecutor.create();
+        sce.getServletContext().setAttribute(RequestExecutor.ATTRIBUTE, executor);
+        LOGGER.info("Request execution: " + executor.getMode());
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,12 +1,12 @@
 
 package com.petadoption.web;
 
-import com.petadoption.dao.JdbcAdoptionRequestDAO;
-import com.petadoption.dao.JdbcPetDAO;
+import com.petadoption.dao.DAOFactory;
 import com.petadoption.dao.PetDAO;
 import com.petadoption.exception.ValidationException;
 import com.petadoption.model.User;
 import com.petadoption.service.AdoptionService;
+import com.petadoption.service.ServiceFactory;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -19,11 +19,13 @@ public class SubmitAdoptionRequestServlet extends HttpServlet {
 
     private AdoptionService adoptionService;
     private PetDAO petDAO;
+    private RequestExecutor requestExecutor;
 
     @Override
     public void init() {
-        this.petDAO = new JdbcPetDAO();
-        this.adoptionService = new AdoptionService(new JdbcAdoptionRequestDAO(), petDAO);
+        this.petDAO = DAOFactory.getPetDAO();
+        this.adoptionService = ServiceFactory.getAdoptionService();
+        this.requestExecutor = RequestExecutor.from(getServletContext());
     }
 
     @Override
@@ -44,13 +46,16 @@ public class SubmitAdoptionRequestServlet extends HttpServlet {
         Long petId = Long.valueOf(req.getParameter("petId"));
         String message = req.getParameter("message");
 
-        try {
-            adoptionService.submitRequest(petId, user.getId(), message);
-            resp.sendRedirect(req.getContextPath() + "/pets?success=1");
-        } catch (ValidationException e) {
-            req.setAttribute("error", e.getMessage());
-            req.setAttribute("pet", petDAO.findById(petId).orElse(null));
-            req.getRequestDispatcher("/WEB-INF/views/pet-details.jsp").forward(req, resp);
-        }
+        requestExecutor.execute(req, resp, () -> {
+            try {
+                adoptionService.submitRequest(petId, user.getId(), message);
+                resp.sendRedirect(req.getContextPath() + "/pets?success=1");
+                return null;
+            } catch (ValidationException e) {
+                req.setAttribute("error", e.getMessage());
+                req.setAttribute("pet", petDAO.findById(petId).orElse(null));
+                return "/WEB-INF/views/pet-details.jsp";
+            }
+        });
     }
 }
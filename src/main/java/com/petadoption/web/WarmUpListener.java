@@ -0,0 +1,218 @@
+package com.petadoption.web;
+
+import com.petadoption.dao.DAOFactory;
+import com.petadoption.dao.PetDAO;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetPage;
+import com.petadoption.model.PetSort;
+import com.petadoption.model.PetType;
+import com.petadoption.service.AdoptionService;
+import com.petadoption.service.PetService;
+import com.petadoption.service.ServiceFactory;
+import com.petadoption.util.AppConfig;
+import com.petadoption.util.DBConnectionUtil;
+import com.petadoption.util.InputValidator;
+import com.petadoption.util.PasswordUtil;
+import com.petadoption.util.PoolStats;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.ServletRegistration;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Gets a freshly deployed node hot before {@link ReadinessServlet} lets traffic in.
+ *
+ * <p>JSPs are registered as load-on-startup servlets, so the container compiles them while
+ * the application starts rather than on their first request. Once the context is up a
+ * background thread builds the shared service graph, opens the pool's connections, runs the
+ * public listing and admin queries (which also fills the listing and pet caches) and repeats
+ * the hot request paths so the JIT has compiled them. Only then is the node marked ready.
+ * Warm-up failures are logged and do not keep the node out of service.
+ */
+public class WarmUpListener implements ServletContextListener {
+
+    private static final Logger LOGGER = Logger.getLogger(WarmUpListener.class.getName());
+    private static final String VIEWS = "/WEB-INF/views/";
+    // Same page size as the /pets default, so warm-up fills the cache entries real requests use.
+    private static final int LISTING_SIZE = 5;
+    private static final int LISTING_PAGES = 3;
+
+    private final Readiness readiness = new Readiness();
+    private Thread warmUpThread;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ServletContext context = sce.getServletContext();
+        context.setAttribute(Readiness.ATTRIBUTE, readiness);
+        if (AppConfig.getBoolean("petadoption.warmup.precompileJsp", true)) {
+            registerJspPrecompilation(context);
+        }
+        if (!AppConfig.getBoolean("petadoption.warmup.enabled", true)) {
+            LOGGER.info("Warm-up disabled; ready immediately");
+            readiness.ready();
+            return;
+        }
+        readiness.warmingUp();
+        warmUpThread = new Thread(this::warmUp, "warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        readiness.stopping();
+        if (warmUpThread != null) {
+            warmUpThread.interrupt();
+        }
+    }
+
+    private void registerJspPrecompilation(ServletContext context) {
+        Set<String> paths = context.getResourcePaths(VIEWS);
+        if (paths == null) {
+            return;
+        }
+        int count = 0;
+        for (String path : new TreeSet<>(paths)) {
+            if (!path.endsWith(".jsp")) {
+                continue;
+            }
+            // The name ends up in a JMX ObjectName, which rejects ':' and '/'.
+            String name = "jsp-" + path.substring(VIEWS.length(), path.length() - ".jsp".length());
+            ServletRegistration.Dynamic jsp = context.addJspFile(name, path);
+            if (jsp != null) {
+                jsp.setLoadOnStartup(1);
+                count++;
+            }
+        }
+        LOGGER.info("Compiling " + count + " JSP(s) at startup");
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        step("service graph", () -> ServiceFactory.getPetService());
+        if (DAOFactory.isJdbc()) {
+            step("connection pool", this::primePool);
+        }
+        List<Pet> pets = new ArrayList<>();
+        step("listing queries and caches", () -> pets.addAll(primeListings()));
+        step("pet cache", () -> primePets(pets));
+        step("admin queries", this::primeAdmin);
+        step("hot paths", () -> exerciseHotPaths(pets));
+
+        if (!Thread.currentThread().isInterrupted()) {
+            readiness.ready();
+            LOGGER.info("Warm-up finished in " + (System.nanoTime() - start) / 1_000_000 + " ms; ready for traffic");
+        }
+    }
+
+    private void step(String name, Runnable task) {
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            task.run();
+            LOGGER.info("Warm-up: " + name + " took " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Warm-up step failed: " + name, e);
+        }
+    }
+
+    /** Opens every connection the pool may hold, so no request pays for a TCP and auth handshake. */
+    private void primePool() {
+        DBConnectionUtil.getDataSource();
+        PoolStats stats = DBConnectionUtil.getPoolStats();
+        int target = AppConfig.getInt("petadoption.warmup.connections", stats == null ? 1 : stats.getMaxSize());
+        List<Connection> leased = new ArrayList<>();
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection conn = DBConnectionUtil.getConnection();
+                leased.add(conn);
+                conn.isValid(2);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error priming connection pool after " + leased.size() + " connection(s)", e);
+        } finally {
+            for (Connection conn : leased) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINE, "Error returning warm-up connection", e);
+                }
+            }
+        }
+    }
+
+    /** First pages of the public listing, unfiltered and per type: the most requested pages. */
+    private List<Pet> primeListings() {
+        PetService petService = ServiceFactory.getPetService();
+        List<Pet> seen = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        types.add(null);
+        for (PetType type : PetType.values()) {
+            types.add(type.name());
+        }
+        for (String type : types) {
+            PetCursor cursor = null;
+            for (int page = 0; page < LISTING_PAGES; page++) {
+                PetPage petPage = petService.getPetsPageAfter(type, null, null, null, null, cursor, false, LISTING_SIZE);
+                seen.addAll(petPage.getPets());
+                if (!petPage.hasNext()) {
+                    break;
+                }
+                cursor = petPage.getNext();
+            }
+        }
+        return seen;
+    }
+
+    private void primePets(List<Pet> pets) {
+        PetDAO petDAO = DAOFactory.getPetDAO();
+        for (Pet pet : pets) {
+            petDAO.findById(pet.getId());
+        }
+    }
+
+    /** The admin dashboard's two sections with their default parameters, plus a login lookup. */
+    private void primeAdmin() {
+        AdoptionService adoptionService = ServiceFactory.getAdoptionService();
+        adoptionService.listPendingRequestDetails(500);
+        ServiceFactory.getPetService().getAdminPetsPage(null, PetSort.CREATED, false, 0, 26);
+        DAOFactory.getUserDAO().findByEmail("warm-up@invalid");
+    }
+
+    /**
+     * Repeats the request-path work whose first executions run interpreted: cached listing
+     * lookups, pet lookups, cursor and parameter parsing, password hashing.
+     */
+    private void exerciseHotPaths(List<Pet> pets) {
+        int iterations = AppConfig.getInt("petadoption.warmup.iterations", 2_000);
+        PetService petService = ServiceFactory.getPetService();
+        PetDAO petDAO = DAOFactory.getPetDAO();
+        for (int i = 0; i < iterations && !Thread.currentThread().isInterrupted(); i++) {
+            PetPage page = petService.getPetsPageAfter(null, null, null, null, null, null, false, LISTING_SIZE);
+            if (page.hasNext()) {
+                PetCursor.decode(page.getNext().encode());
+            }
+            if (!pets.isEmpty()) {
+                petDAO.findById(pets.get(i % pets.size()).getId());
+            }
+            try {
+                InputValidator.parsePositiveInt(Integer.toString(i), "page", 0);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            PasswordUtil.matches("warm-up-" + i, PasswordUtil.hashPassword("warm-up"));
+        }
+    }
+}
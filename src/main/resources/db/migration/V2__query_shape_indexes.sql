@@ -0,0 +1,24 @@
+-- migration: no-transaction
+--
+-- Indexes for query shapes the baseline left to sequential scans. Built CONCURRENTLY so
+-- that applying this to a populated database does not block writes; a build interrupted
+-- half way leaves an INVALID index behind, which the DROP clears on the next attempt.
+
+-- /pets filtered by type: the public listing only ever shows AVAILABLE pets, so a partial
+-- index seeks straight to the type and reads it already in (created_at DESC, id DESC) order.
+DROP INDEX CONCURRENTLY IF EXISTS idx_pets_available_type_created_id;
+CREATE INDEX CONCURRENTLY idx_pets_available_type_created_id
+    ON pets (type, created_at DESC, id DESC) WHERE status = 'AVAILABLE';
+
+-- Admin pet list without a status filter (default sort), findAll and the created_at ranges
+-- of the CSV export. Scanned backwards for newest-first order.
+DROP INDEX CONCURRENTLY IF EXISTS idx_pets_created_id;
+CREATE INDEX CONCURRENTLY idx_pets_created_id ON pets (created_at, id);
+
+-- Foreign keys from adoption_requests. Without an index every user or pet delete (ON DELETE
+-- CASCADE) scans the whole table. (pet_id, status) also serves the other pending requests
+-- for a pet (auto-reject on approval, releasing a pet on rejection).
+DROP INDEX CONCURRENTLY IF EXISTS idx_adoption_requests_adopter;
+CREATE INDEX CONCURRENTLY idx_adoption_requests_adopter ON adoption_requests (adopter_id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_adoption_requests_pet_status;
+CREATE INDEX CONCURRENTLY idx_adoption_requests_pet_status ON adoption_requests (pet_id, status);
@@ -0,0 +1,4 @@
+-- Resized copies of the uploaded photo, written by the image pipeline after the pet is
+-- saved. NULL until they exist; pages fall back to image_path meanwhile.
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS image_thumb_path VARCHAR(512);
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS image_medium_path VARCHAR(512);
@@ -0,0 +1,40 @@
+-- Reference counts for stored pet images, kept by a trigger on pets.image_path so every
+-- write path (servlets, bulk import, COPY) is covered. Rows that drop to zero are stamped
+-- with unreferenced_since; ImageSweeper deletes their files in batches after a grace period.
+CREATE TABLE IF NOT EXISTS image_refs (
+  image_path         VARCHAR(512) PRIMARY KEY,
+  ref_count          INT NOT NULL,
+  unreferenced_since TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_image_refs_unreferenced ON image_refs (unreferenced_since) WHERE ref_count = 0;
+
+CREATE OR REPLACE FUNCTION pets_image_refs() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'UPDATE' AND OLD.image_path IS NOT DISTINCT FROM NEW.image_path THEN
+    RETURN NULL;
+  END IF;
+  IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.image_path IS NOT NULL THEN
+    UPDATE image_refs
+       SET ref_count = ref_count - 1,
+           unreferenced_since = CASE WHEN ref_count = 1 THEN now()::timestamp END
+     WHERE image_path = OLD.image_path;
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.image_path IS NOT NULL THEN
+    INSERT INTO image_refs (image_path, ref_count) VALUES (NEW.image_path, 1)
+    ON CONFLICT (image_path) DO UPDATE
+      SET ref_count = image_refs.ref_count + 1, unreferenced_since = NULL;
+  END IF;
+  RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS pets_image_refs ON pets;
+CREATE TRIGGER pets_image_refs
+  AFTER INSERT OR DELETE OR UPDATE OF image_path ON pets
+  FOR EACH ROW EXECUTE FUNCTION pets_image_refs();
+
+-- Count the references that existed before the trigger.
+INSERT INTO image_refs (image_path, ref_count)
+SELECT image_path, count(*) FROM pets WHERE image_path IS NOT NULL GROUP BY image_path
+ON CONFLICT (image_path) DO NOTHING;
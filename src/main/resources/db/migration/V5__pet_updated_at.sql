@@ -0,0 +1,4 @@
+-- Last change to a pet, for the ETag/Last-Modified validators on /pet. Every UPDATE of
+-- pets sets it. Existing rows get the migration time; CURRENT_TIMESTAMP is not
+-- volatile, so PostgreSQL stores it once instead of rewriting the table.
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
@@ -0,0 +1,17 @@
+-- Columns the application has relied on since keyset pagination and search were
+-- introduced, brought to databases created from the original script. Their indexes are
+-- built concurrently by V7. Adding the generated column rewrites pets, so this takes its
+-- lock while it runs.
+
+-- Keyset cursors compare (created_at, id); a NULL created_at cannot be paged past.
+UPDATE pets SET created_at = now() WHERE created_at IS NULL;
+ALTER TABLE pets ALTER COLUMN created_at SET NOT NULL;
+
+-- Search on /pets: full-text match and ranking over name/breed/description, plus trigram
+-- matching for partial names and breeds (ILIKE '%x%').
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(breed, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')
+) STORED;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,19 @@
+-- migration: no-transaction
+--
+-- Indexes for keyset pagination, search and the admin request queue. Built CONCURRENTLY so
+-- that applying this to a populated database does not block writes. IF NOT EXISTS leaves
+-- alone the ones a database created from docs/schema-postgres.sql already has; it would
+-- also keep an INVALID index left by an interrupted build, so drop that one
+-- (DROP INDEX CONCURRENTLY) before starting again.
+
+-- Keyset pagination on /pets seeks on (created_at, id) within a status.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pets_status_created_id ON pets (status, created_at DESC, id DESC);
+
+-- Search on /pets, over the columns added by V6.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pets_search_vector ON pets USING GIN (search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pets_name_trgm ON pets USING GIN (name gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pets_breed_trgm ON pets USING GIN (breed gin_trgm_ops);
+
+-- Admin dashboard: pending requests, newest first. Requests by pet are indexed by V2.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_adoption_requests_status_requested
+    ON adoption_requests (status, requested_at DESC);
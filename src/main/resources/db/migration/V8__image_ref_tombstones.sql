@@ -0,0 +1,32 @@
+-- ImageSweeper keeps the row of an image it deleted, stamped with deleted_at, instead of
+-- dropping it. A pet write that was waiting on the sweeper's row lock, or comes later,
+-- then fails instead of counting a fresh reference to a file that is gone. Uploading the
+-- same bytes again stores the file and clears deleted_at (ImageSweeper.recordUpload).
+ALTER TABLE image_refs ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
+CREATE OR REPLACE FUNCTION pets_image_refs() RETURNS trigger AS $$
+DECLARE
+  deleted TIMESTAMP;
+BEGIN
+  IF TG_OP = 'UPDATE' AND OLD.image_path IS NOT DISTINCT FROM NEW.image_path THEN
+    RETURN NULL;
+  END IF;
+  IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.image_path IS NOT NULL THEN
+    UPDATE image_refs
+       SET ref_count = ref_count - 1,
+           unreferenced_since = CASE WHEN ref_count = 1 THEN now()::timestamp END
+     WHERE image_path = OLD.image_path;
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.image_path IS NOT NULL THEN
+    INSERT INTO image_refs (image_path, ref_count) VALUES (NEW.image_path, 1)
+    ON CONFLICT (image_path) DO UPDATE
+      SET ref_count = image_refs.ref_count + 1, unreferenced_since = NULL
+    RETURNING deleted_at INTO deleted;
+    IF deleted IS NOT NULL THEN
+      RAISE EXCEPTION 'Image % was deleted at %; upload it again', NEW.image_path, deleted
+        USING ERRCODE = 'foreign_key_violation';
+    END IF;
+  END IF;
+  RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
@@ -3,18 +3,37 @@
 <%@ taglib prefix="c" uri="jakarta.tags.core" %>
 <%@ include file="includes/header.jsp" %>
 <h2>Admin Dashboard</h2>
-<p><a href="${pageContext.request.contextPath}/admin/pets/new">Add New Pet</a></p>
+<c:if test="${not empty sessionScope.error}">
+    <div class="error">${sessionScope.error}</div>
+    <c:remove var="error" scope="session"/>
+</c:if>
+<c:if test="${not empty sessionScope.message}">
+    <div class="success">${sessionScope.message}</div>
+    <c:remove var="message" scope="session"/>
+</c:if>
+<p><a href="${pageContext.request.contextPath}/admin/pets/new">Add New Pet</a> |
+    <a href="${pageContext.request.contextPath}/admin/pets/import">Import Pets</a></p>
+<p>Export:
+    <a href="${pageContext.request.contextPath}/admin/export?entity=pets&amp;format=csv">Pets (CSV)</a> |
+    <a href="${pageContext.request.contextPath}/admin/export?entity=pets&amp;format=ndjson">Pets (NDJSON)</a> |
+    <a href="${pageContext.request.contextPath}/admin/export?entity=requests&amp;format=csv">Requests (CSV)</a> |
+    <a href="${pageContext.request.contextPath}/admin/export?entity=requests&amp;format=ndjson">Requests (NDJSON)</a>
+</p>
 <h3>Pending Adoption Requests</h3>
 <c:if test="${empty pendingRequests}">
     <p>No pending requests.</p>
 </c:if>
 <c:if test="${not empty pendingRequests}">
+    <form method="post" action="${pageContext.request.contextPath}/admin/requests/bulk">
     <table>
         <thead>
         <tr>
+            <th><input type="checkbox" title="Select all"
+                       onclick="document.querySelectorAll('input[name=ids]').forEach(function (b) { b.checked = this.checked; }, this)" /></th>
             <th>ID</th>
-            <th>Pet ID</th>
-            <th>Adopter ID</th>
+            <th>Pet</th>
+            <th>Pet Status</th>
+            <th>Adopter</th>
             <th>Message</th>
             <th>Requested At</th>
             <th>Actions</th>
@@ -23,9 +42,11 @@
         <tbody>
         <c:forEach var="req" items="${pendingRequests}">
             <tr>
+                <td><input type="checkbox" name="ids" value="${req.id}" /></td>
                 <td>${req.id}</td>
-                <td>${req.petId}</td>
-                <td>${req.adopterId}</td>
+                <td><a href="${pageContext.request.contextPath}/pet?id=${req.petId}">${req.petName}</a> (${req.petType})</td>
+                <td>${req.petStatus}</td>
+                <td>${req.adopterName} &lt;${req.adopterEmail}&gt;</td>
                 <td>${req.message}</td>
                 <td>${req.requestedAt}</td>
                 <td>
@@ -36,8 +57,41 @@
         </c:forEach>
         </tbody>
     </table>
+    <p>With selected:
+        <button type="submit" name="action" value="approve">Approve</button>
+        <button type="submit" name="action" value="reject">Reject</button>
+    </p>
+    </form>
 </c:if>
 <h3>Manage Pets</h3>
+<form method="get" action="${pageContext.request.contextPath}/admin">
+    <label>Status:
+        <select name="petStatus">
+            <option value="">All</option>
+            <option value="AVAILABLE" ${petStatus == 'AVAILABLE' ? 'selected' : ''}>Available</option>
+            <option value="PENDING" ${petStatus == 'PENDING' ? 'selected' : ''}>Pending</option>
+            <option value="ADOPTED" ${petStatus == 'ADOPTED' ? 'selected' : ''}>Adopted</option>
+        </select>
+    </label>
+    <label>Sort by:
+        <select name="sort">
+            <option value="CREATED" ${sort == 'CREATED' ? 'selected' : ''}>Date added</option>
+            <option value="NAME" ${sort == 'NAME' ? 'selected' : ''}>Name</option>
+            <option value="TYPE" ${sort == 'TYPE' ? 'selected' : ''}>Type</option>
+            <option value="BREED" ${sort == 'BREED' ? 'selected' : ''}>Breed</option>
+            <option value="AGE" ${sort == 'AGE' ? 'selected' : ''}>Age</option>
+            <option value="STATUS" ${sort == 'STATUS' ? 'selected' : ''}>Status</option>
+        </select>
+    </label>
+    <label>Order:
+        <select name="dir">
+            <option value="desc" ${dir == 'desc' ? 'selected' : ''}>Descending</option>
+            <option value="asc" ${dir == 'asc' ? 'selected' : ''}>Ascending</option>
+        </select>
+    </label>
+    <input type="hidden" name="size" value="${size}" />
+    <button type="submit">Apply</button>
+</form>
 <c:if test="${empty pets}">
     <p>No pets in system.</p>
 </c:if>
@@ -70,4 +124,27 @@
         </tbody>
     </table>
 </c:if>
+<div class="pagination">
+    <c:if test="${page > 0}">
+        <c:url var="prevUrl" value="/admin">
+            <c:param name="page" value="${page - 1}"/>
+            <c:param name="size" value="${size}"/>
+            <c:param name="petStatus" value="${petStatus}"/>
+            <c:param name="sort" value="${sort}"/>
+            <c:param name="dir" value="${dir}"/>
+        </c:url>
+        <a href="${prevUrl}">Previous</a>
+    </c:if>
+    <span>Page ${page + 1}</span>
+    <c:if test="${hasNext}">
+        <c:url var="nextUrl" value="/admin">
+            <c:param name="page" value="${page + 1}"/>
+            <c:param name="size" value="${size}"/>
+            <c:param name="petStatus" value="${petStatus}"/>
+            <c:param name="sort" value="${sort}"/>
+            <c:param name="dir" value="${dir}"/>
+        </c:url>
+        <a href="${nextUrl}">Next</a>
+    </c:if>
+</div>
 <%@ include file="includes/footer.jsp" %>
@@ -27,7 +27,7 @@
     <label>Image:
         <input type="file" name="image" />
         <c:if test="${not empty pet.imagePath}">
-            <br/>Current: <img src="${pageContext.request.contextPath}/uploads/pets/${pet.imagePath}" height="80"/>
+            <br/>Current: <img src="${pageContext.request.contextPath}/uploads/pets/${pet.listImagePath}" height="80"/>
         </c:if>
     </label>
     <label>Status:
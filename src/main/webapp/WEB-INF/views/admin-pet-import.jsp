@@ -0,0 +1,51 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="jakarta.tags.core" %>
+<%@ include file="includes/header.jsp" %>
+<h2>Import Pets</h2>
+<c:if test="${not empty error}">
+    <div class="error">${error}</div>
+</c:if>
+<p>Upload a CSV file with a header row, or an NDJSON file with one object per line. Columns:
+    name, type (DOG, CAT or OTHER), breed, age_years, description, image_path and status
+    (defaults to AVAILABLE). Files produced by the export can be imported as they are.</p>
+<form method="post" enctype="multipart/form-data" action="${pageContext.request.contextPath}/admin/pets/import">
+    <label>File: <input type="file" name="file" accept=".csv,.ndjson,.jsonl,.json" required /></label>
+    <label>Format:
+        <select name="format">
+            <option value="">Detect from file name</option>
+            <option value="csv">CSV</option>
+            <option value="ndjson">NDJSON</option>
+        </select>
+    </label>
+    <button type="submit">Import</button>
+</form>
+
+<c:if test="${not empty result}">
+    <h3>Result</h3>
+    <p>Imported ${result.imported} pets, rejected ${result.rejected} rows in ${elapsedMillis} ms.</p>
+    <c:if test="${not empty result.failure}">
+        <div class="error">${result.failure}</div>
+    </c:if>
+    <c:if test="${result.imported > 0}">
+        <label>Generated ids (in file order):
+            <textarea rows="4" cols="80" readonly><c:forEach var="id" items="${result.ids}" varStatus="s">${id}${s.last ? '' : ','}</c:forEach></textarea>
+        </label>
+    </c:if>
+    <c:if test="${not empty result.errors}">
+        <table border="1" cellpadding="5">
+            <thead>
+            <tr><th>Line</th><th>Error</th></tr>
+            </thead>
+            <tbody>
+            <c:forEach var="err" items="${result.errors}">
+                <tr><td>${err.line}</td><td><c:out value="${err.message}"/></td></tr>
+            </c:forEach>
+            </tbody>
+        </table>
+        <c:if test="${result.errorsTruncated}">
+            <p>Only the first ${result.errors.size()} errors are shown.</p>
+        </c:if>
+    </c:if>
+</c:if>
+<p><a href="${pageContext.request.contextPath}/admin">Back to dashboard</a></p>
+<%@ include file="includes/footer.jsp" %>
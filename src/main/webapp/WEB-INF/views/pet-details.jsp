@@ -8,7 +8,7 @@
 <p>Age: ${pet.ageYears}</p>
 <p>${pet.description}</p>
 <c:if test="${not empty pet.imagePath}">
-    <img src="${pageContext.request.contextPath}/uploads/pets/${pet.imagePath}" alt="${pet.name}" height="200"/>
+    <img src="${pageContext.request.contextPath}/uploads/pets/${pet.detailImagePath}" alt="${pet.name}" height="200"/>
 </c:if>
 <c:if test="${not empty error}">
     <div class="error">${error}</div>
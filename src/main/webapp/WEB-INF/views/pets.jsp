@@ -19,6 +19,12 @@
     <label>Breed: <input type="text" name="breed" value="${param.breed}" /></label>
     <label>Age Min: <input type="number" name="ageMin" value="${param.ageMin}" /></label>
     <label>Age Max: <input type="number" name="ageMax" value="${param.ageMax}" /></label>
+    <label>Sort:
+        <select name="sort">
+            <option value="">Newest</option>
+            <option value="relevance" ${param.sort == 'relevance' ? 'selected' : ''}>Best match</option>
+        </select>
+    </label>
     <button type="submit">Apply Filters</button>
 </form>
 <c:if test="${empty pets}">
@@ -30,7 +36,7 @@
             <strong>${pet.name}</strong> (${pet.type}) - ${pet.breed} - ${pet.ageYears} years
             <c:if test="${not empty pet.imagePath}">
                 <br/>
-                <img src="${pageContext.request.contextPath}/uploads/pets/${pet.imagePath}" alt="${pet.name}" height="80"/>
+                <img src="${pageContext.request.contextPath}/uploads/pets/${pet.listImagePath}" alt="${pet.name}" height="80" loading="lazy"/>
             </c:if>
             <br/>
             <a href="${pageContext.request.contextPath}/pet?id=${pet.id}">View details</a>
@@ -38,12 +44,63 @@
     </c:forEach>
 </ul>
 <div class="pagination">
-    <c:if test="${page > 0}">
-        <a href="${pageContext.request.contextPath}/pets?page=${page-1}&size=${size}&q=${param.q}&type=${param.type}&breed=${param.breed}&ageMin=${param.ageMin}&ageMax=${param.ageMax}">Previous</a>
-    </c:if>
-    <span>Page ${page + 1}</span>
-    <c:if test="${hasNext}">
-        <a href="${pageContext.request.contextPath}/pets?page=${page+1}&size=${size}&q=${param.q}&type=${param.type}&breed=${param.breed}&ageMin=${param.ageMin}&ageMax=${param.ageMax}">Next</a>
+    <c:choose>
+        <c:when test="${not empty prevCursor}">
+            <c:url var="prevUrl" value="/pets">
+                <c:param name="before" value="${prevCursor}"/>
+                <c:param name="size" value="${size}"/>
+                <c:param name="q" value="${param.q}"/>
+                <c:param name="type" value="${param.type}"/>
+                <c:param name="breed" value="${param.breed}"/>
+                <c:param name="ageMin" value="${param.ageMin}"/>
+                <c:param name="ageMax" value="${param.ageMax}"/>
+                <c:param name="sort" value="${param.sort}"/>
+            </c:url>
+            <a href="${prevUrl}">Previous</a>
+        </c:when>
+        <c:when test="${not empty page and page > 0}">
+            <c:url var="prevUrl" value="/pets">
+                <c:param name="page" value="${page - 1}"/>
+                <c:param name="size" value="${size}"/>
+                <c:param name="q" value="${param.q}"/>
+                <c:param name="type" value="${param.type}"/>
+                <c:param name="breed" value="${param.breed}"/>
+                <c:param name="ageMin" value="${param.ageMin}"/>
+                <c:param name="ageMax" value="${param.ageMax}"/>
+                <c:param name="sort" value="${param.sort}"/>
+            </c:url>
+            <a href="${prevUrl}">Previous</a>
+        </c:when>
+    </c:choose>
+    <c:if test="${not empty page}">
+        <span>Page ${page + 1}</span>
     </c:if>
+    <c:choose>
+        <c:when test="${hasNext and not empty nextCursor}">
+            <c:url var="nextUrl" value="/pets">
+                <c:param name="after" value="${nextCursor}"/>
+                <c:param name="size" value="${size}"/>
+                <c:param name="q" value="${param.q}"/>
+                <c:param name="type" value="${param.type}"/>
+                <c:param name="breed" value="${param.breed}"/>
+                <c:param name="ageMin" value="${param.ageMin}"/>
+                <c:param name="ageMax" value="${param.ageMax}"/>
+            </c:url>
+            <a href="${nextUrl}">Next</a>
+        </c:when>
+        <c:when test="${hasNext and not empty page}">
+            <c:url var="nextUrl" value="/pets">
+                <c:param name="page" value="${page + 1}"/>
+                <c:param name="size" value="${size}"/>
+                <c:param name="q" value="${param.q}"/>
+                <c:param name="type" value="${param.type}"/>
+                <c:param name="breed" value="${param.breed}"/>
+                <c:param name="ageMin" value="${param.ageMin}"/>
+                <c:param name="ageMax" value="${param.ageMax}"/>
+                <c:param name="sort" value="${param.sort}"/>
+            </c:url>
+            <a href="${nextUrl}">Next</a>
+        </c:when>
+    </c:choose>
 </div>
 <%@ include file="includes/footer.jsp" %>
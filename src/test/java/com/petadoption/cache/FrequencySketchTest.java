@@ -0,0 +1,66 @@
+package com.petadoption.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsIncrementsUpToFifteen() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("a");
+        }
+        assertEquals(5, sketch.frequency("a"));
+
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("a");
+        }
+        assertEquals(15, sketch.frequency("a"));
+    }
+
+    @Test
+    void unseenKeysAreRare() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 500; i++) {
+            sketch.increment(i);
+        }
+        int overestimated = 0;
+        for (int i = 1000; i < 2000; i++) {
+            if (sketch.frequency(i) > 0) {
+                overestimated++;
+            }
+        }
+        assertTrue(overestimated < 50, overestimated + " of 1000 unseen keys look seen");
+    }
+
+    @Test
+    void halvesEveryCounterOnceTheSampleIsFull() {
+        // Wide enough that "hot" is the only key whose counters all reach the cap.
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment("hot");
+        }
+        int additions = 15;
+        while (sketch.frequency("hot") == 15 && additions < 20_000) {
+            sketch.increment(additions++);
+        }
+
+        // The sample for this size is 10240 additions.
+        assertEquals(7, sketch.frequency("hot"));
+        assertTrue(additions >= 10_240 && additions < 10_300, additions + " additions before aging");
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        sketch.increment("a");
+        sketch.increment("a");
+
+        sketch.clear();
+
+        assertEquals(0, sketch.frequency("a"));
+    }
+}
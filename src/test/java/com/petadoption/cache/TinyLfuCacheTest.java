@@ -0,0 +1,115 @@
+package com.petadoption.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void neverHoldsMoreThanItsMaximumSize() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>("test", 50, null);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        assertEquals(50, cache.size());
+        assertEquals(950, cache.stats().getEvictions());
+    }
+
+    @Test
+    void popularEntriesSurviveAScanOfOneOffKeys() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>("test", 100, null);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "hot");
+        }
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 100; i++) {
+                cache.getIfPresent(i);
+            }
+        }
+
+        // A crawler walking ids the cache has never seen: each is looked up once and stored.
+        for (int i = 1000; i < 1300; i++) {
+            if (cache.getIfPresent(i) == null) {
+                cache.put(i, "cold");
+            }
+        }
+
+        int survivors = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.getIfPresent(i) != null) {
+                survivors++;
+            }
+        }
+        // Plain LRU would have kept none of them.
+        assertTrue(survivors >= 75, survivors + " of 100 popular entries survived");
+    }
+
+    @Test
+    void reusedEntriesMoveToTheProtectedRegion() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>("test", 10, null);
+        cache.put(1, "one");
+        cache.getIfPresent(1);
+        cache.getIfPresent(1);
+        for (int i = 100; i < 200; i++) {
+            cache.put(i, "other");
+        }
+
+        assertEquals("one", cache.getIfPresent(1));
+    }
+
+    @Test
+    void entriesExpireAfterTheirTtl() throws InterruptedException {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 10, Duration.ofMillis(20));
+        cache.put("a", "1");
+        assertEquals("1", cache.getIfPresent("a"));
+
+        Thread.sleep(40);
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(1, cache.stats().getExpirations());
+    }
+
+    @Test
+    void invalidateAllEmptiesTheCache() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 10, null);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(2, cache.stats().getInvalidations());
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotStored() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 10, null);
+        long stamp = cache.invalidationStamp();
+        cache.invalidate("a");
+
+        assertFalse(cache.putIfNotInvalidatedSince("a", "stale", stamp));
+        assertNull(cache.getIfPresent("a"));
+        assertTrue(cache.putIfNotInvalidatedSince("a", "fresh", cache.invalidationStamp()));
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>("test", 10, null);
+        cache.getIfPresent("a");
+        cache.put("a", "1");
+        cache.getIfPresent("a");
+        cache.getIfPresent("a");
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+}
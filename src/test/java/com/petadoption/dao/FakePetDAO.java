@@ -0,0 +1,139 @@
+package com.petadoption.dao;
+
+import com.petadoption.model.Dog;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetCursor;
+import com.petadoption.model.PetSort;
+import com.petadoption.model.PetStatus;
+import com.petadoption.model.PetType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Listing queries over a fixed list of pets, ordered as the SQL ones are. Filters are
+ * ignored; the limit and offset of the last query are kept for assertions.
+ */
+public class FakePetDAO implements PetDAO {
+
+    private static final Comparator<Pet> NEWEST_FIRST = Comparator.comparing(Pet::getCreatedAt)
+            .thenComparing(Pet::getId).reversed();
+
+    private final List<Pet> pets;
+    public int lastOffset = -1;
+    public int lastLimit = -1;
+
+    public FakePetDAO(List<Pet> pets) {
+        this.pets = new ArrayList<>(pets);
+        this.pets.sort(NEWEST_FIRST);
+    }
+
+    /** {@code count} available dogs with ids 1..count, pet 1 the oldest, a minute apart. */
+    public static List<Pet> dogs(int count) {
+        List<Pet> pets = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Pet pet = new Dog(id, "Dog " + id, "Mutt", 2, null, null, PetStatus.AVAILABLE);
+            pet.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+            pets.add(pet);
+        }
+        return pets;
+    }
+
+    @Override
+    public List<Pet> findPageFiltered(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                      String breed, String nameQuery, int offset, int limit) {
+        lastOffset = offset;
+        lastLimit = limit;
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("OFFSET and LIMIT must not be negative");
+        }
+        return List.copyOf(pets.subList(Math.min(offset, pets.size()), (int) Math.min((long) offset + limit, pets.size())));
+    }
+
+    @Override
+    public List<Pet> findPageAfter(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                   String breed, String nameQuery, PetCursor cursor, boolean backward, int limit) {
+        lastLimit = limit;
+        List<Pet> ordered = new ArrayList<>();
+        for (Pet pet : pets) {
+            int position = cursor == null ? (backward ? -1 : 1) : compare(pet, cursor);
+            if (backward ? position < 0 : position > 0) {
+                ordered.add(pet);
+            }
+        }
+        if (backward) {
+            // Walk away from the cursor, then hand the page back newest first.
+            Collections.reverse(ordered);
+            List<Pet> page = new ArrayList<>(ordered.subList(0, Math.min(limit, ordered.size())));
+            Collections.reverse(page);
+            return page;
+        }
+        return new ArrayList<>(ordered.subList(0, Math.min(limit, ordered.size())));
+    }
+
+    /** Negative when {@code pet} comes before the cursor in listing order. */
+    private static int compare(Pet pet, PetCursor cursor) {
+        int byTime = cursor.getCreatedAt().compareTo(pet.getCreatedAt());
+        return byTime != 0 ? byTime : Long.compare(cursor.getId(), pet.getId());
+    }
+
+    @Override
+    public List<Pet> searchRanked(PetStatus status, PetType type, Integer ageMin, Integer ageMax,
+                                  String breed, String query, int offset, int limit) {
+        return findPageFiltered(status, type, ageMin, ageMax, breed, query, offset, limit);
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        return pets.stream().filter(p -> p.getId().equals(id)).findFirst();
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return List.copyOf(pets);
+    }
+
+    @Override
+    public List<Pet> findAdminPage(PetStatus status, PetSort sort, boolean ascending, int offset, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void streamPets(PetStatus status, LocalDateTime from, LocalDateTime to, RowHandler<Pet> handler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void save(Pet pet) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void insertAll(List<Pet> pets) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void update(Pet pet) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean updateImageVariants(Long id, String imagePath, String thumbPath, String mediumPath) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updateStatus(Long id, PetStatus status) {
+        throw new UnsupportedOperationException();
+    }
+}
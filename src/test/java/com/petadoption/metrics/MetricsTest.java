@@ -0,0 +1,86 @@
+package com.petadoption.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    private static final OperationMetrics FIND = Metrics.dao("metrics_test", "find");
+
+    @Test
+    void histogramBucketsAreCumulative() {
+        long now = System.nanoTime();
+        FIND.record(now - 3_000_000, 2);      // 3 ms: the 5 ms bucket
+        FIND.record(now - 20_000_000_000L, 1); // 20 s: only +Inf
+        FIND.record(now - 3_000_000, OperationMetrics.FAILED);
+
+        List<String> lines = lines();
+        String labels = "dao=\"metrics_test\",method=\"find\"";
+        String bucket = "petadoption_dao_query_duration_seconds_bucket{" + labels;
+        assertTrue(lines.contains(bucket + ",le=\"0.0025\"} 0"), lines::toString);
+        assertTrue(lines.contains(bucket + ",le=\"0.005\"} 2"), lines::toString);
+        assertTrue(lines.contains(bucket + ",le=\"10\"} 2"), lines::toString);
+        assertTrue(lines.contains(bucket + ",le=\"+Inf\"} 3"), lines::toString);
+        assertTrue(lines.contains("petadoption_dao_query_duration_seconds_count{" + labels + "} 3"), lines::toString);
+        assertTrue(lines.contains("petadoption_dao_query_errors_total{" + labels + "} 1"), lines::toString);
+        assertTrue(lines.contains("petadoption_dao_query_rows_total{" + labels + "} 3"), lines::toString);
+    }
+
+    @Test
+    void everySampleFollowsItsFamilysTypeLineExactlyOnce() {
+        Metrics.dao("metrics_test", "save").record(System.nanoTime(), 1);
+        Metrics.servlet("Metrics \"test\"").record(System.nanoTime(), 0);
+        Metrics.LOGINS_FAILED.increment();
+
+        Set<String> typed = new HashSet<>();
+        String family = null;
+        for (String line : lines()) {
+            if (line.startsWith("# TYPE ")) {
+                family = line.split(" ")[2];
+                assertTrue(typed.add(family), "second TYPE line for " + family);
+            } else if (!line.startsWith("#")) {
+                String name = line.substring(0, line.indexOf(line.contains("{") ? '{' : ' '));
+                String base = name.replaceFirst("_(bucket|sum|count)$", "");
+                assertTrue(name.equals(family) || base.equals(family), line + " outside " + family);
+                assertTrue(line.matches("[a-z_]+(\\{.*})? [-+0-9.eE]+|.* [+-]Inf|.* NaN"), line);
+            }
+        }
+        assertTrue(typed.contains("petadoption_http_request_duration_seconds"));
+        assertTrue(typed.contains("petadoption_logins_total"));
+    }
+
+    @Test
+    void countersShareOneHeaderPerName() {
+        long before = count("petadoption_logins_total{result=\"success\"}");
+        Metrics.LOGINS_SUCCEEDED.increment();
+
+        assertEquals(before + 1, count("petadoption_logins_total{result=\"success\"}"));
+        assertEquals(1, lines().stream().filter(l -> l.equals("# TYPE petadoption_logins_total counter")).count());
+    }
+
+    private static long count(String series) {
+        for (String line : lines()) {
+            if (line.startsWith(series + " ")) {
+                return Long.parseLong(line.substring(series.length() + 1));
+            }
+        }
+        throw new AssertionError("No sample for " + series);
+    }
+
+    private static List<String> lines() {
+        StringWriter text = new StringWriter();
+        try (PrintWriter out = new PrintWriter(text)) {
+            Metrics.writePrometheus(out);
+        }
+        return new ArrayList<>(List.of(text.toString().split("\\R")));
+    }
+}
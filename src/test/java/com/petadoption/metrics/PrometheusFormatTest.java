@@ -0,0 +1,54 @@
+package com.petadoption.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrometheusFormatTest {
+
+    @Test
+    void headerWritesHelpThenType() {
+        assertEquals("# HELP petadoption_logins_total Login attempts.\n# TYPE petadoption_logins_total counter\n",
+                write(out -> PrometheusFormat.header(out, "petadoption_logins_total", "counter", "Login attempts.")));
+    }
+
+    @Test
+    void samplesWithAndWithoutLabels() {
+        assertEquals("up 1\n", write(out -> PrometheusFormat.sample(out, "up", null, 1L)));
+        assertEquals("up 1\n", write(out -> PrometheusFormat.sample(out, "up", "", 1L)));
+        assertEquals("x{a=\"b\"} 0.5\n", write(out -> PrometheusFormat.sample(out, "x", "a=\"b\"", 0.5)));
+    }
+
+    @Test
+    void nonFiniteValuesUseTheExpositionSpelling() {
+        assertEquals("x +Inf\n", write(out -> PrometheusFormat.sample(out, "x", null, Double.POSITIVE_INFINITY)));
+        assertEquals("x -Inf\n", write(out -> PrometheusFormat.sample(out, "x", null, Double.NEGATIVE_INFINITY)));
+        assertEquals("x NaN\n", write(out -> PrometheusFormat.sample(out, "x", null, Double.NaN)));
+    }
+
+    @Test
+    void labelValuesAreEscaped() {
+        assertEquals("servlet=\"a\\\\b \\\"c\\\"\\nd\"", PrometheusFormat.label("servlet", "a\\b \"c\"\nd"));
+    }
+
+    @Test
+    void secondsNeverUseExponentNotation() {
+        assertEquals("0.0001", PrometheusFormat.seconds(100_000));
+        assertEquals("0.00025", PrometheusFormat.seconds(250_000));
+        assertEquals("1", PrometheusFormat.seconds(1_000_000_000));
+        assertEquals("10", PrometheusFormat.seconds(10_000_000_000L));
+        assertEquals("0.000000001", PrometheusFormat.seconds(1));
+    }
+
+    private static String write(Consumer<PrintWriter> writes) {
+        StringWriter text = new StringWriter();
+        try (PrintWriter out = new PrintWriter(text)) {
+            writes.accept(out);
+        }
+        return text.toString().replace(System.lineSeparator(), "\n");
+    }
+}
@@ -0,0 +1,52 @@
+package com.petadoption.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PetCursorTest {
+
+    @Test
+    void decodeReturnsTheEncodedPosition() {
+        PetCursor cursor = new PetCursor(LocalDateTime.of(2024, 3, 9, 14, 30, 5, 123_456_789), 42);
+
+        assertEquals(cursor, PetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodeIsUrlSafe() {
+        String token = new PetCursor(LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_999), Long.MAX_VALUE).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void ofNeedsIdAndCreationTime() {
+        Pet pet = new Dog(7L, "Rex", "Mutt", 3, null, null, PetStatus.AVAILABLE);
+        assertNull(PetCursor.of(pet));
+
+        pet.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        assertEquals(new PetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 7), PetCursor.of(pet));
+        assertNull(PetCursor.of(null));
+    }
+
+    @Test
+    void decodeRejectsForeignTokens() {
+        assertThrows(IllegalArgumentException.class, () -> PetCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> PetCursor.decode(token("v2:0:0:1")));
+        assertThrows(IllegalArgumentException.class, () -> PetCursor.decode(token("v1:0:0")));
+        assertThrows(IllegalArgumentException.class, () -> PetCursor.decode(token("v1:x:0:1")));
+        assertThrows(IllegalArgumentException.class, () -> PetCursor.decode(token("v1:0:1000000000:1")));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
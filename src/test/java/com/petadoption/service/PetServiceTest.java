@@ -0,0 +1,70 @@
+package com.petadoption.service;
+
+import com.petadoption.dao.FakePetDAO;
+import com.petadoption.model.Pet;
+import com.petadoption.model.PetPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PetServiceTest {
+
+    private final PetService service = new PetService(new FakePetDAO(FakePetDAO.dogs(7)));
+
+    @Test
+    void firstKeysetPageHasOnlyANextCursor() {
+        PetPage page = forward(null);
+
+        assertEquals(List.of(7L, 6L, 5L), ids(page));
+        assertFalse(page.hasPrevious());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void forwardPagesNeitherOverlapNorSkip() {
+        PetPage second = forward(forward(null));
+        PetPage last = forward(second);
+
+        assertEquals(List.of(4L, 3L, 2L), ids(second));
+        assertTrue(second.hasPrevious());
+        assertEquals(List.of(1L), ids(last));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void backwardReturnsThePreviousPageNewestFirst() {
+        PetPage last = forward(forward(forward(null)));
+        PetPage back = backward(last);
+        PetPage first = backward(back);
+
+        assertEquals(List.of(4L, 3L, 2L), ids(back));
+        assertTrue(back.hasNext());
+        assertTrue(back.hasPrevious());
+        assertEquals(List.of(7L, 6L, 5L), ids(first));
+        assertFalse(first.hasPrevious());
+    }
+
+    @Test
+    void offsetPagesAreShortPastTheEnd() {
+        assertEquals(3, service.getPetsPage(null, null, null, null, null, 1, 3).size());
+        assertEquals(1, service.getPetsPage(null, null, null, null, null, 2, 3).size());
+        assertTrue(service.getPetsPage(null, null, null, null, null, 3, 3).isEmpty());
+    }
+
+    private PetPage forward(PetPage from) {
+        return service.getPetsPageAfter(null, null, null, null, null, from == null ? null : from.getNext(), false, 3);
+    }
+
+    private PetPage backward(PetPage from) {
+        assertTrue(from.hasPrevious());
+        return service.getPetsPageAfter(null, null, null, null, null, from.getPrevious(), true, 3);
+    }
+
+    private static List<Long> ids(PetPage page) {
+        return page.getPets().stream().map(Pet::getId).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.petadoption.util;
+
+import com.petadoption.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordReaderTest {
+
+    @Test
+    void csvMapsFieldsToLowerCaseHeaderNames() throws Exception {
+        RecordReader reader = RecordReader.csv(new StringReader("Name, Type\nRex,DOG\r\nTom,CAT"));
+
+        assertEquals(Map.of("name", "Rex", "type", "DOG"), reader.next());
+        assertEquals(Map.of("name", "Tom", "type", "CAT"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csvQuotedValuesKeepCommasQuotesAndLineBreaks() throws Exception {
+        RecordReader reader = RecordReader.csv(new StringReader(
+                "name,description\n\"Rex, Jr.\",\"Says \"\"hi\"\"\nand sits\"\nTom,x\n"));
+
+        assertEquals(Map.of("name", "Rex, Jr.", "description", "Says \"hi\"\nand sits"), reader.next());
+        assertEquals(Map.of("name", "Tom", "description", "x"), reader.next());
+        assertEquals(4, reader.getRecordLine());
+    }
+
+    @Test
+    void csvSkipsBlankLines() throws Exception {
+        RecordReader reader = RecordReader.csv(new StringReader("name\n\nRex\n\n"));
+
+        assertEquals(Map.of("name", "Rex"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csvRejectsAWrongColumnCountAndCarriesOn() throws Exception {
+        RecordReader reader = RecordReader.csv(new StringReader("name,type\nRex\nTom,CAT\n"));
+
+        ValidationException e = assertThrows(ValidationException.class, reader::next);
+        assertEquals("Expected 2 columns but found 1.", e.getMessage());
+        assertEquals(2, reader.getRecordLine());
+        assertEquals(Map.of("name", "Tom", "type", "CAT"), reader.next());
+    }
+
+    @Test
+    void csvRejectsAnUnterminatedQuote() throws Exception {
+        RecordReader reader = RecordReader.csv(new StringReader("name\n\"Rex\n"));
+
+        assertThrows(ValidationException.class, reader::next);
+    }
+
+    @Test
+    void ndjsonReadsFlatObjects() throws Exception {
+        RecordReader reader = RecordReader.ndjson(new StringReader(
+                "{\"Name\": \"Rex\", \"age\": 3, \"adopted\": false, \"image\": null}\n\n"
+                        + "{ \"name\" : \"T\\u00f6m \\\"the\\\" cat\\n\" }\n{}"));
+
+        Map<String, String> rex = new HashMap<>();
+        rex.put("name", "Rex");
+        rex.put("age", "3");
+        rex.put("adopted", "false");
+        rex.put("image", null);
+        assertEquals(rex, reader.next());
+        assertEquals(Map.of("name", "Töm \"the\" cat\n"), reader.next());
+        assertEquals(3, reader.getRecordLine());
+        assertEquals(Map.of(), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void ndjsonRejectsMalformedLinesAndCarriesOn() throws Exception {
+        RecordReader reader = RecordReader.ndjson(new StringReader(String.join("\n",
+                "{\"name\": {\"first\": \"Rex\"}}",
+                "{\"name\": [1]}",
+                "{\"name\": \"Rex\"",
+                "{\"name\": \"Rex\"} trailing",
+                "{\"name\": }",
+                "{\"name\": \"\\u12\"}",
+                "{\"name\": \"Tom\"}")));
+
+        for (int line = 1; line <= 6; line++) {
+            assertThrows(ValidationException.class, reader::next, "line " + line);
+            assertEquals(line, reader.getRecordLine());
+        }
+        assertEquals(Map.of("name", "Tom"), reader.next());
+    }
+
+    @Test
+    void readsWhatExportWriterWrites() throws Exception {
+        Map<String, String> expected = Map.of("name", "Rex, \"Jr.\"", "description", "line one\nline two", "age", "4");
+
+        assertEquals(expected, roundTrip(true));
+        assertEquals(expected, roundTrip(false));
+    }
+
+    private static Map<String, String> roundTrip(boolean csv) throws IOException, ValidationException {
+        StringWriter out = new StringWriter();
+        ExportWriter writer = csv ? ExportWriter.csv(out) : ExportWriter.ndjson(out);
+        writer.begin("name", "description", "age");
+        writer.row("Rex, \"Jr.\"", "line one\nline two", 4);
+        writer.flush();
+        RecordReader reader = csv ? RecordReader.csv(new StringReader(out.toString()))
+                : RecordReader.ndjson(new StringReader(out.toString()));
+        Map<String, String> record = reader.next();
+        assertNull(reader.next());
+        return record;
+    }
+}
@@ -0,0 +1,75 @@
+package com.petadoption.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigratorTest {
+
+    @Test
+    void splitsOnSemicolonsAndDropsEmptyStatements() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), SchemaMigrator.splitStatements("SELECT 1;;\n  ;SELECT 2;\n"));
+        assertEquals(List.of("SELECT 1", "SELECT 2"), SchemaMigrator.splitStatements("SELECT 1; SELECT 2"));
+        assertTrue(SchemaMigrator.splitStatements(" ;\n-- nothing here;\n").isEmpty());
+    }
+
+    @Test
+    void semicolonsInsideQuotesDoNotSplit() {
+        assertEquals(List.of("INSERT INTO t VALUES ('a;b', 'it''s; fine')", "SELECT 2"),
+                SchemaMigrator.splitStatements("INSERT INTO t VALUES ('a;b', 'it''s; fine'); SELECT 2;"));
+        assertEquals(List.of("SELECT 1 AS \"odd;\"\"name\""),
+                SchemaMigrator.splitStatements("SELECT 1 AS \"odd;\"\"name\";"));
+    }
+
+    @Test
+    void dollarQuotedBodiesStayWhole() {
+        String function = "CREATE FUNCTION f() RETURNS trigger AS $$\nBEGIN\n  RETURN NEW;\nEND;\n$$ LANGUAGE plpgsql";
+        String tagged = "DO $body$ BEGIN PERFORM 1; RAISE NOTICE '$$'; END $body$";
+        assertEquals(List.of(function, tagged), SchemaMigrator.splitStatements(function + ";\n" + tagged + ";"));
+    }
+
+    @Test
+    void positionalParametersAreNotDollarQuotes() {
+        assertEquals(List.of("PREPARE p AS SELECT $1", "SELECT 2"),
+                SchemaMigrator.splitStatements("PREPARE p AS SELECT $1; SELECT 2;"));
+    }
+
+    @Test
+    void commentsAreDroppedWithTheirSemicolons() {
+        assertEquals(List.of("SELECT 1", "SELECT   2"),
+                SchemaMigrator.splitStatements("-- first; still a comment\nSELECT 1; /* a; b */\nSELECT /* ; */ 2;"));
+    }
+
+    @Test
+    void shippedMigrationsSplitIntoStatements() throws IOException {
+        for (String line : resource("db/migration/migrations.list").split("\\R")) {
+            String name = line.trim();
+            if (name.isEmpty() || name.startsWith("#")) {
+                continue;
+            }
+            String script = resource("db/migration/" + name);
+            List<String> statements = SchemaMigrator.splitStatements(script);
+            assertFalse(statements.isEmpty(), name);
+            boolean transactional = !script.startsWith("-- migration: no-transaction");
+            for (String statement : statements) {
+                assertFalse(transactional && statement.contains("CONCURRENTLY"),
+                        name + " builds an index concurrently inside a transaction");
+            }
+        }
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = SchemaMigratorTest.class.getClassLoader().getResourceAsStream(name)) {
+            assertNotNull(in, name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.petadoption.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageServletTest {
+
+    private static final long MODIFIED = Instant.parse("2024-05-01T10:00:00.750Z").toEpochMilli();
+    private static final ImageServlet.ImageFile IMAGE = new ImageServlet.ImageFile(
+            "ab12.jpg", Path.of("ab12.jpg"), "image/jpeg", 100, MODIFIED);
+
+    @Test
+    void singleRanges() {
+        assertArrayEquals(new long[]{0, 9}, range("bytes=0-9"));
+        assertArrayEquals(new long[]{5, 99}, range("bytes=5-"));
+        assertArrayEquals(new long[]{97, 99}, range("bytes=-3"));
+        assertArrayEquals(new long[]{0, 99}, range("bytes=-500"));
+        assertArrayEquals(new long[]{90, 500}, range("bytes=90-500"));
+    }
+
+    @Test
+    void unsatisfiableRangesAreLeftForTheCallerToReject() {
+        long[] empty = range("bytes=-0");
+        assertTrue(empty[0] >= IMAGE.length);
+        long[] reversed = range("bytes=9-5");
+        assertTrue(reversed[0] > reversed[1]);
+    }
+
+    @Test
+    void wholeFileForMissingMultipleOrMalformedRanges() {
+        assertNull(ImageServlet.requestedRange(request(Map.of()), IMAGE));
+        assertNull(range("bytes=0-1,5-6"));
+        assertNull(range("items=0-9"));
+        assertNull(range("bytes=9"));
+        assertNull(range("bytes=a-9"));
+        assertNull(range("bytes=0-z"));
+    }
+
+    @Test
+    void ifRangeMustNameTheCurrentTag() {
+        assertArrayEquals(new long[]{0, 9},
+                ImageServlet.requestedRange(request(Map.of("Range", "bytes=0-9", "If-Range", "\"ab12.jpg\"")), IMAGE));
+        assertNull(ImageServlet.requestedRange(request(Map.of("Range", "bytes=0-9", "If-Range", "\"old.jpg\"")), IMAGE));
+    }
+
+    @Test
+    void ifNoneMatch() {
+        assertTrue(notModified(Map.of("If-None-Match", "\"ab12.jpg\"")));
+        assertTrue(notModified(Map.of("If-None-Match", "W/\"ab12.jpg\"")));
+        assertTrue(notModified(Map.of("If-None-Match", "*")));
+        assertTrue(notModified(Map.of("If-None-Match", "\"x\", \"ab12.jpg\"")));
+        assertFalse(notModified(Map.of("If-None-Match", "\"x\"")));
+        assertFalse(notModified(Map.of("If-None-Match", "ab12.jpg")));
+    }
+
+    @Test
+    void ifNoneMatchOverridesIfModifiedSince() {
+        assertFalse(notModified(Map.of("If-None-Match", "\"x\"", "If-Modified-Since", httpDate(MODIFIED + 60_000))));
+    }
+
+    @Test
+    void ifModifiedSinceComparesWholeSeconds() {
+        assertTrue(notModified(Map.of("If-Modified-Since", httpDate(MODIFIED))));
+        assertTrue(notModified(Map.of("If-Modified-Since", httpDate(MODIFIED + 60_000))));
+        assertFalse(notModified(Map.of("If-Modified-Since", httpDate(MODIFIED - 1_000))));
+        assertFalse(notModified(Map.of()));
+    }
+
+    private static long[] range(String header) {
+        return ImageServlet.requestedRange(request(Map.of("Range", header)), IMAGE);
+    }
+
+    private static boolean notModified(Map<String, String> headers) {
+        return ImageServlet.notModified(request(headers), IMAGE);
+    }
+
+    private static HttpServletRequest request(Map<String, String> headers) {
+        return ServletStubs.request("/images", Map.of(), headers);
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
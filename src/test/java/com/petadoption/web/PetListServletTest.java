@@ -0,0 +1,111 @@
+package com.petadoption.web;
+
+import com.petadoption.dao.AdoptionRequestDAO;
+import com.petadoption.dao.DAOProvider;
+import com.petadoption.dao.FakePetDAO;
+import com.petadoption.dao.PetDAO;
+import com.petadoption.dao.UserDAO;
+import com.petadoption.model.Pet;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs the /pets listing against {@link FakePetDAO}, selected through {@link DAOProvider}. */
+class PetListServletTest {
+
+    private static final FakePetDAO PETS = new FakePetDAO(FakePetDAO.dogs(12));
+    private static PetListServlet servlet;
+
+    public static final class Provider implements DAOProvider {
+        @Override
+        public PetDAO createPetDAO() {
+            return PETS;
+        }
+
+        @Override
+        public UserDAO createUserDAO() {
+            return null;
+        }
+
+        @Override
+        public AdoptionRequestDAO createAdoptionRequestDAO() {
+            return null;
+        }
+    }
+
+    @BeforeAll
+    static void start() throws Exception {
+        System.setProperty("petadoption.dao.provider", Provider.class.getName());
+        servlet = new PetListServlet();
+        servlet.init(ServletStubs.config());
+    }
+
+    @Test
+    void emptyOffsetPageRendersInsteadOfFailing() throws Exception {
+        HttpServletRequest req = get(Map.of("page", "0", "size", "0"));
+
+        assertEquals("/WEB-INF/views/pets.jsp", req.getAttribute(ServletStubs.FORWARDED_TO));
+        assertEquals(1, req.getAttribute("size"));
+    }
+
+    @Test
+    void offsetPastTheEndHasNoNextPage() throws Exception {
+        HttpServletRequest req = get(Map.of("page", "4", "size", "3"));
+
+        assertTrue(((List<?>) req.getAttribute("pets")).isEmpty());
+        assertFalse((Boolean) req.getAttribute("hasNext"));
+    }
+
+    @Test
+    void pageSizeIsCapped() throws Exception {
+        HttpServletRequest req = get(Map.of("page", "1", "size", "2147483647"));
+
+        assertEquals(100, req.getAttribute("size"));
+        assertEquals(100, PETS.lastLimit);
+        assertEquals(100, PETS.lastOffset);
+    }
+
+    @Test
+    void hugePageNumberDoesNotOverflowTheOffset() throws Exception {
+        HttpServletRequest req = get(Map.of("page", "2147483647", "size", "7"));
+
+        assertTrue(PETS.lastOffset >= 0);
+        assertTrue(((List<?>) req.getAttribute("pets")).isEmpty());
+    }
+
+    @Test
+    void keysetPagesLinkToEachOther() throws Exception {
+        HttpServletRequest first = get(Map.of("size", "5"));
+        String next = (String) first.getAttribute("nextCursor");
+        assertNotNull(next);
+
+        HttpServletRequest second = get(Map.of("size", "5", "after", next));
+        @SuppressWarnings("unchecked")
+        List<Pet> pets = (List<Pet>) second.getAttribute("pets");
+        assertEquals(7L, pets.get(0).getId());
+        assertNotNull(second.getAttribute("prevCursor"));
+    }
+
+    @Test
+    void invalidCursorFallsBackToTheFirstPage() throws Exception {
+        HttpServletRequest req = get(Map.of("size", "5", "after", "bogus"));
+
+        @SuppressWarnings("unchecked")
+        List<Pet> pets = (List<Pet>) req.getAttribute("pets");
+        assertEquals(12L, pets.get(0).getId());
+    }
+
+    private static HttpServletRequest get(Map<String, String> parameters) throws Exception {
+        HttpServletRequest req = ServletStubs.request("/pets", parameters, Map.of());
+        servlet.doGet(req, new ServletStubs.Response().proxy);
+        return req;
+    }
+}
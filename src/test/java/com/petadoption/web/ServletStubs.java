@@ -0,0 +1,169 @@
+package com.petadoption.web;
+
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.CharArrayWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Just enough of the Servlet API to drive servlets and their helpers without a container.
+ * Methods a stub does not know return null, false or zero.
+ */
+final class ServletStubs {
+
+    /** Request attribute holding the view a request was forwarded to. */
+    static final String FORWARDED_TO = ServletStubs.class.getName() + ".forwardedTo";
+
+    private ServletStubs() {
+    }
+
+    static HttpServletRequest request(String servletPath, Map<String, String> parameters, Map<String, String> headers) {
+        Map<String, Object> attributes = new HashMap<>();
+        Map<String, String> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        byName.putAll(headers);
+        return proxy(HttpServletRequest.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getServletPath":
+                case "getRequestURI":
+                    return servletPath;
+                case "getParameter":
+                    return parameters.get((String) args[0]);
+                case "getHeader":
+                    return byName.get((String) args[0]);
+                case "getDateHeader":
+                    String date = byName.get((String) args[0]);
+                    return date == null ? -1L
+                            : ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                case "getAttribute":
+                    return attributes.get((String) args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                case "getRequestDispatcher":
+                    return proxy(RequestDispatcher.class, (forward, forwardArgs) -> {
+                        attributes.put(FORWARDED_TO, args[0]);
+                        return null;
+                    });
+                default:
+                    return null;
+            }
+        });
+    }
+
+    static ServletConfig config() {
+        ServletContext context = proxy(ServletContext.class, (method, args) -> null);
+        return proxy(ServletConfig.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getServletContext":
+                    return context;
+                case "getServletName":
+                    return "test";
+                default:
+                    return null;
+            }
+        });
+    }
+
+    /** Records what a servlet sets on its response. */
+    static final class Response {
+        int status = HttpServletResponse.SC_OK;
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        final CharArrayWriter body = new CharArrayWriter();
+        final HttpServletResponse proxy = proxy(HttpServletResponse.class, this::handle);
+
+        String header(String name) {
+            List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+            return values == null ? null : values.get(0);
+        }
+
+        private Object handle(Method method, Object[] args) {
+            switch (method.getName()) {
+                case "setStatus":
+                    status = (Integer) args[0];
+                    return null;
+                case "sendError":
+                    status = (Integer) args[0];
+                    return null;
+                case "getStatus":
+                    return status;
+                case "setHeader":
+                case "setDateHeader":
+                    headers.put(((String) args[0]).toLowerCase(Locale.ROOT), new ArrayList<>(List.of(value(args[1]))));
+                    return null;
+                case "addHeader":
+                    headers.computeIfAbsent(((String) args[0]).toLowerCase(Locale.ROOT), k -> new ArrayList<>())
+                            .add(value(args[1]));
+                    return null;
+                case "getHeader":
+                    return header((String) args[0]);
+                case "getHeaders":
+                    return headers.getOrDefault(((String) args[0]).toLowerCase(Locale.ROOT), Collections.emptyList());
+                case "containsHeader":
+                    return headers.containsKey(((String) args[0]).toLowerCase(Locale.ROOT));
+                case "getCharacterEncoding":
+                    return "UTF-8";
+                case "getWriter":
+                    return new PrintWriter(body);
+                default:
+                    return null;
+            }
+        }
+
+        private static String value(Object value) {
+            return value instanceof Long ? DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                    ZonedDateTime.ofInstant(Instant.ofEpochMilli((Long) value), ZoneOffset.UTC))
+                    : value.toString();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(ServletStubs.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "hashCode":
+                                return System.identityHashCode(self);
+                            case "equals":
+                                return self == args[0];
+                            default:
+                                return type.getSimpleName() + " stub";
+                        }
+                    }
+                    Object result = handler.invoke(method, args);
+                    return result != null ? result : defaultValue(method.getReturnType());
+                }));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}